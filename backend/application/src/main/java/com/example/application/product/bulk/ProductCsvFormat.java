@@ -0,0 +1,104 @@
+package com.example.application.product.bulk;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Column layout of the CSV bulk format, shared by imports and exports. Timestamps are
+ * epoch milliseconds, like in the JSON API.
+ */
+public final class ProductCsvFormat {
+
+    public static final List<String> COLUMNS = List.of(
+        "id", "code", "name", "description", "category", "price", "quantity",
+        "internalReference", "shellId", "inventoryStatus", "rating", "createdAt", "updatedAt"
+    );
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+        "code", "name", "category", "price", "quantity", "internalReference", "inventoryStatus"
+    );
+
+    private final Map<String, Integer> positions;
+
+    private ProductCsvFormat(Map<String, Integer> positions) {
+        this.positions = positions;
+    }
+
+    /** Resolves column positions from a header record; columns may come in any order. */
+    public static ProductCsvFormat fromHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+            positions.put(column, i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!positions.containsKey(column)) {
+                throw new IllegalArgumentException("Missing CSV column: " + column);
+            }
+        }
+        return new ProductCsvFormat(positions);
+    }
+
+    /** Code of a record, if present, for error reporting. */
+    public String code(List<String> record) {
+        return value(record, "code");
+    }
+
+    /**
+     * Builds a product from a record. Construction runs the domain validation, so any
+     * invalid record fails here with an {@link IllegalArgumentException}.
+     */
+    public Product toProduct(List<String> record, long defaultTimestamp) {
+        if (record.size() != positions.size()) {
+            throw new IllegalArgumentException("Expected " + positions.size() + " fields but found " + record.size());
+        }
+        String id = value(record, "id");
+        String createdAt = value(record, "createdAt");
+        String updatedAt = value(record, "updatedAt");
+        String shellId = value(record, "shellId");
+        String rating = value(record, "rating");
+        return new Product(
+            id != null ? ProductId.of(id) : ProductId.newId(),
+            value(record, "code"),
+            value(record, "name"),
+            value(record, "description"),
+            null,
+            value(record, "category"),
+            Double.parseDouble(required(record, "price")),
+            Integer.parseInt(required(record, "quantity")),
+            value(record, "internalReference"),
+            shellId != null ? Integer.parseInt(shellId) : 0,
+            Product.InventoryStatus.parse(required(record, "inventoryStatus")),
+            rating != null ? Integer.parseInt(rating) : 0,
+            createdAt != null ? Long.parseLong(createdAt) : defaultTimestamp,
+            updatedAt != null ? Long.parseLong(updatedAt) : defaultTimestamp
+        );
+    }
+
+    private String value(List<String> record, String column) {
+        Integer position = positions.get(column);
+        if (position == null || position >= record.size()) {
+            return null;
+        }
+        String value = record.get(position);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String required(List<String> record, String column) {
+        String value = value(record, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Product " + column + " cannot be empty");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.application.product.dto;
+
+/**
+ * Outcome of one entry of a bulk write, reported at the same index as the operation.
+ */
+public record ProductBatchItemResult(int index, String id, Outcome outcome, String message) {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, NOT_FOUND, CONFLICT, INVALID;
+
+        public boolean isSuccess() {
+            return this == CREATED || this == UPDATED || this == DELETED;
+        }
+    }
+
+    public boolean isSuccess() {
+        return outcome.isSuccess();
+    }
+
+    public static ProductBatchItemResult success(int index, String id, Outcome outcome) {
+        return new ProductBatchItemResult(index, id, outcome, null);
+    }
+
+    public static ProductBatchItemResult failure(int index, String id, Outcome outcome, String message) {
+        return new ProductBatchItemResult(index, id, outcome, message);
+    }
+}
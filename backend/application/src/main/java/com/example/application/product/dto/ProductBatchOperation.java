@@ -0,0 +1,24 @@
+package com.example.application.product.dto;
+
+/**
+ * One entry of a bulk write. {@code product} is required for creates and updates,
+ * {@code id} for deletes (and for updates whose payload carries no id).
+ */
+public record ProductBatchOperation(Type type, String id, ProductDTO product) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    public static ProductBatchOperation create(ProductDTO product) {
+        return new ProductBatchOperation(Type.CREATE, product.getId(), product);
+    }
+
+    public static ProductBatchOperation update(ProductDTO product) {
+        return new ProductBatchOperation(Type.UPDATE, product.getId(), product);
+    }
+
+    public static ProductBatchOperation delete(String id) {
+        return new ProductBatchOperation(Type.DELETE, id, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.application.product.dto;
+
+import java.util.List;
+
+/**
+ * One response of the change feed: products created or updated and ids deleted since the
+ * requested watermark, plus the watermark to send next time. When {@code hasMore} is set
+ * the response was truncated and the client should ask again straight away.
+ */
+public record ProductChanges(List<ProductDTO> changed, List<String> deleted, String watermark, boolean hasMore) {
+}
@@ -12,6 +12,7 @@ public class ProductDTO {
     private String name;
     private String description;
     private byte[] image;
+    private String imageHash;
     private String category;
     private double price;
     private int quantity;
@@ -21,6 +22,7 @@ public class ProductDTO {
     private int rating;
     private long createdAt;
     private long updatedAt;
+    private Long version;
     
     public ProductDTO() {
         // Default constructor
@@ -46,7 +48,7 @@ public class ProductDTO {
     }
     
     public static ProductDTO fromDomain(Product product) {
-        return new ProductDTO(
+        ProductDTO productDTO = new ProductDTO(
             product.getId().toString(),
             product.getCode(),
             product.getName(),
@@ -62,13 +64,16 @@ public class ProductDTO {
             product.getCreatedAt(),
             product.getUpdatedAt()
         );
+        productDTO.setImageHash(product.getImageHash());
+        productDTO.setVersion(product.getVersion());
+        return productDTO;
     }
     
     public Product toDomain() {
         ProductId productId = id != null ? ProductId.of(id) : ProductId.newId();
         
         Product.InventoryStatus inventoryStatusEnum = 
-            inventoryStatus != null ? Product.InventoryStatus.valueOf(inventoryStatus) : Product.InventoryStatus.INSTOCK;
+            inventoryStatus != null ? Product.InventoryStatus.parse(inventoryStatus) : Product.InventoryStatus.INSTOCK;
         
         return new Product(
             productId,
@@ -129,6 +134,14 @@ public class ProductDTO {
         this.image = image;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -200,4 +213,13 @@ public class ProductDTO {
     public void setUpdatedAt(long updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    /** Version the product was read at; on updates, {@code null} means no version check. */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.application.product.dto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product counts of a filtered catalog, broken down by category (most populated first),
+ * inventory status (every status, possibly zero), rating (highest first) and price bucket
+ * (every bucket, cheapest first).
+ */
+public record ProductFacets(
+    long total,
+    Map<String, Long> categories,
+    Map<String, Long> inventoryStatuses,
+    Map<Integer, Long> ratings,
+    List<PriceBucket> prices
+) {
+    /** Keeps the given maps' ordering, which is why they are wrapped rather than copied. */
+    public ProductFacets {
+        categories = Collections.unmodifiableMap(categories);
+        inventoryStatuses = Collections.unmodifiableMap(inventoryStatuses);
+        ratings = Collections.unmodifiableMap(ratings);
+        prices = List.copyOf(prices);
+    }
+
+    /** Products priced from {@code min} inclusive to {@code max} exclusive; a {@code null} bound is open. */
+    public record PriceBucket(Double min, Double max, long count) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.application.product.dto;
+
+import java.util.Set;
+
+/**
+ * A stored product image: its metadata plus the raw bytes.
+ */
+public record ProductImage(ProductImageMetadata metadata, byte[] content) {
+
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    /** The only types images are stored and served as; none of them can carry script. */
+    public static final Set<String> RASTER_CONTENT_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/webp");
+
+    /**
+     * Content type detection from the leading magic bytes: one of {@link #RASTER_CONTENT_TYPES},
+     * or {@link #DEFAULT_CONTENT_TYPE} for anything else. Declared types are never trusted.
+     */
+    public static String detectContentType(byte[] content) {
+        if (startsWith(content, 0x89, 'P', 'N', 'G')) return "image/png";
+        if (startsWith(content, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+        if (startsWith(content, 'G', 'I', 'F', '8')) return "image/gif";
+        if (startsWith(content, 'R', 'I', 'F', 'F') && content.length >= 12
+                && content[8] == 'W' && content[9] == 'E' && content[10] == 'B' && content[11] == 'P') return "image/webp";
+        return DEFAULT_CONTENT_TYPE;
+    }
+
+    private static boolean startsWith(byte[] content, int... prefix) {
+        if (content.length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if ((content[i] & 0xFF) != prefix[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.application.product.dto;
+
+import com.example.domain.product.ProductId;
+
+/**
+ * Descriptive data of a stored product image, cheap enough to load for conditional requests.
+ */
+public record ProductImageMetadata(
+    ProductId productId,
+    String contentType,
+    int contentLength,
+    String sha256,
+    long updatedAt
+) {}
@@ -0,0 +1,6 @@
+package com.example.application.product.dto;
+
+/**
+ * A row left out of a bulk import, identified by the CSV line it started on.
+ */
+public record ProductImportRejection(long line, String code, String reason) {}
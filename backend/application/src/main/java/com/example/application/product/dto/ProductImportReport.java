@@ -0,0 +1,17 @@
+package com.example.application.product.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk import. {@code rejections} lists at most
+ * {@link #MAX_REPORTED_REJECTIONS} entries; {@code rejected} counts all of them.
+ */
+public record ProductImportReport(
+    long received,
+    long inserted,
+    long updated,
+    long rejected,
+    List<ProductImportRejection> rejections
+) {
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+}
@@ -0,0 +1,88 @@
+package com.example.application.product.dto;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.domain.product.Product;
+
+/**
+ * Partial update of a product in JSON Merge Patch terms: only the fields present are
+ * changed, and a present {@code null} clears the field. Images are not patchable; they have
+ * their own endpoint.
+ */
+public final class ProductPatch {
+
+    /** Patchable fields, with the Java type their values must have. */
+    public enum Field {
+        CODE("code", String.class),
+        NAME("name", String.class),
+        DESCRIPTION("description", String.class),
+        CATEGORY("category", String.class),
+        PRICE("price", Double.class),
+        QUANTITY("quantity", Integer.class),
+        INTERNAL_REFERENCE("internalReference", String.class),
+        SHELL_ID("shellId", Integer.class),
+        INVENTORY_STATUS("inventoryStatus", Product.InventoryStatus.class),
+        RATING("rating", Integer.class);
+
+        private final String property;
+        private final Class<?> type;
+
+        Field(String property, Class<?> type) {
+            this.property = property;
+            this.type = type;
+        }
+
+        /** Name of the field in product payloads. */
+        public String property() {
+            return property;
+        }
+
+        public Class<?> type() {
+            return type;
+        }
+
+        public static Field fromProperty(String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Field " + property + " cannot be patched");
+        }
+    }
+
+    private final Map<Field, Object> values = new EnumMap<>(Field.class);
+
+    public ProductPatch set(Field field, Object value) {
+        if (value != null && !field.type().isInstance(value)) {
+            throw new IllegalArgumentException("Invalid value for " + field.property() + ": " + value);
+        }
+        values.put(field, value);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /** Fields present in the patch, in declaration order. */
+    public Set<Field> fields() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public Object get(Field field) {
+        return values.get(field);
+    }
+
+    /** Value of a primitive field; {@code null} is rejected because the column cannot be cleared. */
+    public <T> T require(Field field, Class<T> type) {
+        Object value = values.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("Product " + field.property() + " cannot be empty");
+        }
+        return type.cast(value);
+    }
+}
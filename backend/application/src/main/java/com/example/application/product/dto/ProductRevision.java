@@ -0,0 +1,8 @@
+package com.example.application.product.dto;
+
+/**
+ * Version and modification time of a product: all a conditional request needs to be
+ * answered without loading the product.
+ */
+public record ProductRevision(long version, long updatedAt) {
+}
@@ -0,0 +1,7 @@
+package com.example.application.product.dto;
+
+/**
+ * A typeahead match: enough of the product to render a suggestion, and its relevance.
+ */
+public record ProductSuggestion(String id, String code, String name, String category, double score) {
+}
@@ -0,0 +1,8 @@
+package com.example.application.product.dto;
+
+/**
+ * One stock movement: {@code delta} units added to (positive) or taken from (negative)
+ * the quantity of product {@code id}.
+ */
+public record StockAdjustment(String id, int delta) {
+}
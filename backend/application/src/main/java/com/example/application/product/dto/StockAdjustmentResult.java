@@ -0,0 +1,38 @@
+package com.example.application.product.dto;
+
+import com.example.domain.product.Product;
+
+/**
+ * Outcome of one stock adjustment, reported at the same index as the request entry.
+ * {@code quantity} and {@code inventoryStatus} are the stock after the adjustment, or the
+ * current stock when it was refused for lack of stock.
+ */
+public record StockAdjustmentResult(int index, String id, Outcome outcome, Integer quantity,
+                                    Product.InventoryStatus inventoryStatus, String message) {
+
+    public enum Outcome {
+        ADJUSTED, NOT_FOUND, INSUFFICIENT_STOCK, INVALID;
+
+        public boolean isSuccess() {
+            return this == ADJUSTED;
+        }
+    }
+
+    public boolean isSuccess() {
+        return outcome.isSuccess();
+    }
+
+    public static StockAdjustmentResult adjusted(int index, StockLevel level) {
+        return new StockAdjustmentResult(index, level.id().toString(), Outcome.ADJUSTED,
+            level.quantity(), level.inventoryStatus(), null);
+    }
+
+    public static StockAdjustmentResult refused(int index, StockLevel level, Outcome outcome, String message) {
+        return new StockAdjustmentResult(index, level.id().toString(), outcome,
+            level.quantity(), level.inventoryStatus(), message);
+    }
+
+    public static StockAdjustmentResult failure(int index, String id, Outcome outcome, String message) {
+        return new StockAdjustmentResult(index, id, outcome, null, null, message);
+    }
+}
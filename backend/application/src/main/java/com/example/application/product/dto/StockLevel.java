@@ -0,0 +1,11 @@
+package com.example.application.product.dto;
+
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Stock of one product after an adjustment attempt. When {@code adjusted} is false the
+ * adjustment was refused and the values are the current, untouched ones.
+ */
+public record StockLevel(ProductId id, int quantity, Product.InventoryStatus inventoryStatus, boolean adjusted) {
+}
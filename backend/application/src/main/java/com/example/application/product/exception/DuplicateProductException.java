@@ -0,0 +1,29 @@
+package com.example.application.product.exception;
+
+import com.example.domain.product.ProductException;
+
+/** Thrown when a write would give a product the id or the code of another product. */
+public class DuplicateProductException extends ProductException {
+
+    /** Which unique property is already taken. */
+    public enum Property { ID, CODE }
+
+    private final Property property;
+
+    private DuplicateProductException(Property property, String message, Throwable cause) {
+        super(message, cause);
+        this.property = property;
+    }
+
+    public static DuplicateProductException id(Object productId) {
+        return new DuplicateProductException(Property.ID, "Product with id " + productId + " already exists", null);
+    }
+
+    public static DuplicateProductException code(String code, Throwable cause) {
+        return new DuplicateProductException(Property.CODE, "Product with code " + code + " already exists", cause);
+    }
+
+    public Property getProperty() {
+        return property;
+    }
+}
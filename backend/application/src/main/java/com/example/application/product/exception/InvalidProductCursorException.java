@@ -0,0 +1,14 @@
+package com.example.application.product.exception;
+
+import com.example.domain.product.ProductException;
+
+/**
+ * Thrown when a page cursor cannot be read, or was not issued for the sort key or query it is
+ * replayed with. Clients should restart from the first page.
+ */
+public class InvalidProductCursorException extends ProductException {
+
+    public InvalidProductCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.application.product.exception;
+
+import com.example.domain.product.ProductException;
+
+/**
+ * Thrown when a change feed watermark predates tombstones that have since been pruned, so the
+ * deletions after it can no longer be listed. Clients should resync from scratch.
+ */
+public class ProductChangesExpiredException extends ProductException {
+
+    public ProductChangesExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.application.product.exception;
+
+import com.example.domain.product.ProductException;
+
+/** Thrown when the product, or the image of a product, that an operation targets does not exist. */
+public class ProductNotFoundException extends ProductException {
+
+    private final String productId;
+
+    private ProductNotFoundException(String productId, String message) {
+        super(message);
+        this.productId = productId;
+    }
+
+    public static ProductNotFoundException product(Object productId) {
+        return new ProductNotFoundException(String.valueOf(productId), "Product with id " + productId + " does not exist");
+    }
+
+    public static ProductNotFoundException image(Object productId) {
+        return new ProductNotFoundException(String.valueOf(productId), "Product with id " + productId + " has no image");
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+}
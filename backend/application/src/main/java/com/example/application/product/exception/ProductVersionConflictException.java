@@ -0,0 +1,34 @@
+package com.example.application.product.exception;
+
+import com.example.domain.product.ProductException;
+import com.example.domain.product.ProductId;
+
+/**
+ * Thrown when a conditional write was based on a version of the product that is no longer
+ * current, i.e. someone else changed it in the meantime.
+ */
+public class ProductVersionConflictException extends ProductException {
+
+    private final ProductId productId;
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public ProductVersionConflictException(ProductId productId, long expectedVersion, long currentVersion) {
+        super("Product with id " + productId + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.productId = productId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public ProductId getProductId() {
+        return productId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
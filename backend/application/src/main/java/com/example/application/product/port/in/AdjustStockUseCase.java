@@ -0,0 +1,28 @@
+package com.example.application.product.port.in;
+
+import java.util.List;
+
+import com.example.application.product.dto.StockAdjustment;
+import com.example.application.product.dto.StockAdjustmentResult;
+
+/**
+ * Input port for atomic quantity changes. Each product is adjusted in the database in a
+ * single statement, so concurrent callers never lose each other's updates.
+ */
+public interface AdjustStockUseCase {
+    /** Largest number of adjustments accepted in one call. */
+    int MAX_ADJUSTMENTS = 10_000;
+
+    /** Adjusts the quantity of one product; see {@link #adjustStock(List)}. */
+    default StockAdjustmentResult adjustStock(String id, int delta) {
+        return adjustStock(List.of(new StockAdjustment(id, delta))).get(0);
+    }
+
+    /**
+     * Applies the adjustments and re-derives each inventory status from the new quantity.
+     * Entries for the same product are summed and succeed or fail together; a product
+     * whose quantity would drop below zero is left untouched. Returns one result per
+     * entry in request order.
+     */
+    List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments);
+}
@@ -0,0 +1,20 @@
+package com.example.application.product.port.in;
+
+import java.util.List;
+
+import com.example.application.product.dto.ProductBatchItemResult;
+import com.example.application.product.dto.ProductBatchOperation;
+
+/**
+ * Input port for bulk product writes. Entries succeed or fail individually.
+ */
+public interface BatchProductUseCase {
+    /** Largest number of operations accepted in one call. */
+    int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Applies creates, then updates, then deletes, each group in as few statements as
+     * possible, and returns one result per operation in request order.
+     */
+    List<ProductBatchItemResult> executeBatch(List<ProductBatchOperation> operations);
+}
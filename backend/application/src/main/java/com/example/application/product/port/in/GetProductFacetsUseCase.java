@@ -0,0 +1,13 @@
+package com.example.application.product.port.in;
+
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.query.ProductFacetRequest;
+
+/**
+ * Input port for aggregated product counts, e.g. for a storefront's filter sidebar.
+ */
+public interface GetProductFacetsUseCase {
+
+    /** Count the products matching the request's filters per facet value, in one pass. */
+    ProductFacets getFacets(ProductFacetRequest request);
+}
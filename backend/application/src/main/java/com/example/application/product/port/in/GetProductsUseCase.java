@@ -2,16 +2,62 @@ package com.example.application.product.port.in;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.example.application.product.dto.ProductChanges;
 import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
 
 /**
  * Input port for querying products.
  */
 public interface GetProductsUseCase {
+    /** Changes returned by one change feed call unless the client asks for fewer. */
+    int DEFAULT_CHANGES_LIMIT = 500;
+
+    /** Most changes returned by one change feed call. */
+    int MAX_CHANGES_LIMIT = 5_000;
+
     /** Find a product by its identity. */
     Optional<ProductDTO> getById(String id);
 
+    /**
+     * Find a product by its identity, filling in only the fields of {@code projection};
+     * the others keep their default values.
+     */
+    Optional<ProductDTO> getById(String id, ProductProjection projection);
+
+    /** Version and last modification time of a product, looked up without loading it. */
+    Optional<ProductRevision> getRevision(String id);
+
+    /**
+     * Tell whether {@code code} can be used, optionally ignoring the product being edited
+     * ({@code excludedId} may be {@code null}).
+     */
+    boolean isCodeAvailable(String code, String excludedId);
+
     /** Retrieve all products. */
     List<ProductDTO> getAll();
+
+    /**
+     * Retrieve one page of products using keyset pagination. Only the fields of the
+     * request's projection are guaranteed to be filled in.
+     */
+    ProductPage getPage(ProductPageRequest request);
+
+    /**
+     * Retrieve what changed since a watermark ({@code null} for everything): at most
+     * {@code limit} created/updated products and deleted ids, and the next watermark.
+     * Throws {@link com.example.application.product.exception.ProductChangesExpiredException}
+     * when tombstones after the watermark have been pruned and the client must resync.
+     */
+    ProductChanges getChanges(ProductChangeCursor since, int limit);
+
+    /** Stream every product matching the filter to {@code action} without materializing the catalog. */
+    void exportAll(ProductFilter filter, Consumer<ProductDTO> action);
 }
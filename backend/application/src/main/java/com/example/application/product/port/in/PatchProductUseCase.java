@@ -0,0 +1,15 @@
+package com.example.application.product.port.in;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductPatch;
+
+/**
+ * Input port for partial product updates.
+ */
+public interface PatchProductUseCase {
+    /**
+     * Apply {@code patch} to the product, validating and writing only the fields it touches,
+     * and return the updated product.
+     */
+    ProductDTO patch(String id, ProductPatch patch);
+}
@@ -0,0 +1,21 @@
+package com.example.application.product.port.in;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+
+import com.example.application.product.dto.ProductImportReport;
+
+/**
+ * Input port for full-catalog CSV imports and exports.
+ */
+public interface ProductBulkTransferUseCase {
+    /**
+     * Validates and loads a CSV catalog (header required) in one transaction. Invalid
+     * rows are reported and skipped; valid rows are inserted or update their product by id.
+     */
+    ProductImportReport importCsv(Reader csv);
+
+    /** Streams the whole catalog as CSV. */
+    void exportCsv(OutputStream out) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.example.application.product.port.in;
+
+import java.util.Optional;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+
+/**
+ * Input port for reading and replacing product images.
+ */
+public interface ProductImageUseCase {
+    /** Load the image of a product, with its content. */
+    Optional<ProductImage> getImage(String productId);
+
+    /** Load only the image metadata (hash, size, type, timestamp) of a product. */
+    Optional<ProductImageMetadata> getImageMetadata(String productId);
+
+    /**
+     * Store or replace the image of a product. Its content type is detected from the content,
+     * which must be a PNG, JPEG, GIF or WebP picture.
+     */
+    ProductImageMetadata putImage(String productId, byte[] content);
+
+    /** Remove the image of a product. */
+    void deleteImage(String productId);
+}
@@ -0,0 +1,11 @@
+package com.example.application.product.port.in;
+
+/**
+ * Every synchronous product use case as one input port, for adapters that serve all of them
+ * and for decorators that wrap them together.
+ */
+public interface ProductUseCases extends CreateProductUseCase, UpdateProductUseCase, DeleteProductUseCase,
+                                         GetProductsUseCase, ProductImageUseCase, BatchProductUseCase,
+                                         PatchProductUseCase, AdjustStockUseCase, SearchProductsUseCase,
+                                         GetProductFacetsUseCase {
+}
@@ -0,0 +1,38 @@
+package com.example.application.product.port.in;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.query.ProductFilter;
+
+/**
+ * Non-blocking input port for reading and writing products, with the semantics of
+ * {@link GetProductsUseCase}, {@link CreateProductUseCase}, {@link UpdateProductUseCase} and
+ * {@link DeleteProductUseCase}. Errors those ports throw fail the returned stage instead.
+ * Stays framework-agnostic: single results are {@link CompletionStage}s and streams are
+ * {@link Flow.Publisher}s that honour subscriber demand.
+ */
+public interface ReactiveProductUseCase {
+    /** Find a product by its identity. */
+    CompletionStage<Optional<ProductDTO>> getById(String id);
+
+    /** Stream every product matching the filter without materializing the catalog. */
+    Flow.Publisher<ProductDTO> streamAll(ProductFilter filter);
+
+    /**
+     * Create and persist a new product. Images cannot be embedded; the payload's image must
+     * be empty.
+     */
+    CompletionStage<ProductDTO> create(ProductDTO productDTO);
+
+    /**
+     * Update an existing product, guarded by the DTO's version when it carries one. Images
+     * cannot be embedded; the payload's image must be empty.
+     */
+    CompletionStage<ProductDTO> update(ProductDTO productDTO);
+
+    /** Delete a product by its identity. */
+    CompletionStage<Void> deleteById(String id);
+}
@@ -0,0 +1,16 @@
+package com.example.application.product.port.in;
+
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.query.ProductSearchRequest;
+
+/**
+ * Input port for full-text product search.
+ */
+public interface SearchProductsUseCase {
+
+    /**
+     * Retrieve one page of the products matching the request's text over name, code,
+     * category and description, most relevant first.
+     */
+    ProductPage search(ProductSearchRequest request);
+}
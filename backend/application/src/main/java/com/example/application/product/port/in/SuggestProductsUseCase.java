@@ -0,0 +1,22 @@
+package com.example.application.product.port.in;
+
+import java.util.List;
+
+import com.example.application.product.dto.ProductSuggestion;
+
+/**
+ * Input port for typeahead suggestions, answered from memory.
+ */
+public interface SuggestProductsUseCase {
+    /** Suggestions returned unless the client asks for fewer or more. */
+    int DEFAULT_LIMIT = 10;
+
+    /** Most suggestions returned by one call. */
+    int MAX_LIMIT = 50;
+
+    /**
+     * Best matches for partially typed text, most relevant first. Every word must match;
+     * the last one may be incomplete and words may contain small typos.
+     */
+    List<ProductSuggestion> suggest(String text, int limit);
+}
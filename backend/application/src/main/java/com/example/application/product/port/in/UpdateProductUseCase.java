@@ -7,7 +7,9 @@ import com.example.application.product.dto.ProductDTO;
  */
 public interface UpdateProductUseCase {
     /**
-     * Updates an existing product and returns the updated aggregate.
+     * Updates an existing product and returns the updated aggregate. When the DTO carries a
+     * version the write only succeeds if the product is still at that version, otherwise a
+     * {@link com.example.application.product.exception.ProductVersionConflictException} is thrown.
      */
     ProductDTO update(ProductDTO productDTO);
 }
@@ -0,0 +1,40 @@
+package com.example.application.product.port.out;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.example.application.product.dto.ProductImportRejection;
+import com.example.domain.product.Product;
+
+/**
+ * Output port for high-volume loads and dumps of the whole catalog. Implementations
+ * live in infrastructure and are expected to use the database's bulk protocol.
+ */
+public interface ProductBulkStore {
+
+    /** Receives validated rows from a {@link Source}, with the input line they came from. */
+    @FunctionalInterface
+    interface Sink {
+        void accept(long line, Product product);
+    }
+
+    /** Pushes rows into a {@link Sink}; rows are produced while the load is in progress. */
+    @FunctionalInterface
+    interface Source {
+        void writeTo(Sink sink);
+    }
+
+    /** Outcome of a merge: rows inserted, rows updated, and rows refused by the store. */
+    record MergeResult(long inserted, long updated, List<ProductImportRejection> rejections) {}
+
+    /**
+     * Stages every row produced by {@code source} and merges them into the catalog in a
+     * single transaction. Rows whose code belongs to another product are rejected, and when
+     * the same id appears more than once the last occurrence wins.
+     */
+    MergeResult merge(Source source);
+
+    /** Writes the whole catalog as CSV, header included, in {@code ProductCsvFormat} layout. */
+    void exportCsv(OutputStream out) throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.example.application.product.port.out;
+
+import java.util.Optional;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.domain.product.ProductId;
+
+/**
+ * Output port for product image storage, kept apart from the product rows so that
+ * listings never carry image bytes. Implementations live in infrastructure.
+ */
+public interface ProductImageStore {
+    /**
+     * Store or replace the image of a product and record its hash on the product.
+     * Returns {@code false} when the product does not exist.
+     */
+    boolean save(ProductImage image);
+
+    /** Load an image with its content. */
+    Optional<ProductImage> findByProductId(ProductId productId);
+
+    /** Load only the image metadata, without the content. */
+    Optional<ProductImageMetadata> findMetadataByProductId(ProductId productId);
+
+    /** Delete the image of a product. Returns {@code false} when there was none. */
+    boolean deleteByProductId(ProductId productId);
+}
@@ -1,27 +1,151 @@
 package com.example.application.product.port.out;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
 import com.example.domain.product.Product;
 import com.example.domain.product.ProductId;
 
 /**
  * Output port for product persistence. Implementations live in infrastructure.
+ * <p>
+ * When a product written by {@link #save}, {@link #insert}, {@link #update} or the bulk writes
+ * carries image bytes, the image is stored under the product's image hash by the same atomic
+ * write as its row, so the returned state (version included) already reflects it and a skipped
+ * or failed row leaves no image behind. Without image bytes the stored image is left untouched.
  */
 public interface ProductRepository {
-    /** Persist or update a product aggregate. */
+    /**
+     * Persist or update a product aggregate in a single statement and return the stored state.
+     * Throws {@link IllegalArgumentException} when another product already uses the same code.
+     */
     Product save(Product product);
 
+    /**
+     * Insert a new product and return the stored state, or empty when a product with the same
+     * id already exists. Throws {@link IllegalArgumentException} when the code is already taken.
+     */
+    Optional<Product> insert(Product product);
+
+    /**
+     * Update an existing product and return the stored state, or empty when no product has this id
+     * or, when {@code expectedVersion} is not {@code null}, when its version is no longer that one.
+     * Throws {@link IllegalArgumentException} when another product already uses the same code.
+     */
+    Optional<Product> update(Product product, Long expectedVersion);
+
+    /**
+     * Write only the fields present in {@code patch}, plus {@code updatedAt}, and return the
+     * stored state, or empty when no product has this id. Throws {@link IllegalArgumentException}
+     * when another product already uses the patched code.
+     */
+    Optional<Product> patch(ProductId id, ProductPatch patch, long updatedAt);
+
     /** Load a product by id. */
     Optional<Product> findById(ProductId id);
 
+    /**
+     * Load only the columns of {@code projection} (plus the id) into a DTO, leaving the other
+     * fields at their defaults. Lets callers skip large columns such as the description.
+     */
+    Optional<ProductDTO> findProjectedById(ProductId id, ProductProjection projection);
+
+    /**
+     * Load only a product's version and last modification time, without reading the rest
+     * of the row. Backs conditional requests.
+     */
+    Optional<ProductRevision> findRevisionById(ProductId id);
+
     /** Load all products. */
     List<Product> findAll();
 
-    /** Delete a product by id. */
-    void deleteById(ProductId id);
+    /**
+     * Load one keyset page, ordered by the requested sort key then id. Returns up to
+     * {@code request.size() + 1} rows; the extra row only signals that another page exists.
+     * Every field is read, whatever the request's projection.
+     */
+    List<Product> findPage(ProductPageRequest request);
+
+    /**
+     * Same page as {@link #findPage}, reading only the columns of the request's projection
+     * into DTOs. The projection must include the sort key for the cursor to be computed.
+     */
+    List<ProductDTO> findProjectedPage(ProductPageRequest request);
+
+    /**
+     * Load one page of full-text matches, ordered by descending rank then id. Returns up to
+     * {@code request.size() + 1} hits; the extra hit only signals that another page exists.
+     */
+    List<ProductSearchHit> search(ProductSearchRequest request);
+
+    /** Count the products matching the request's filters per category, status, rating and price bucket. */
+    ProductFacets countFacets(ProductFacetRequest request);
+
+    /**
+     * Load up to {@code limit + 1} changes (current rows and tombstones) after {@code since},
+     * ordered by position then id, together with the current horizon. Only changes below the
+     * horizon are returned, so a later call can never reveal one that sorts before them.
+     */
+    ProductChangeLog findChanges(ProductChangeCursor since, int limit);
+
+    /**
+     * Push every product matching the filter to {@code action}, one row at a time.
+     * Implementations must not buffer the whole result, so memory stays flat regardless of table size.
+     */
+    void forEach(ProductFilter filter, Consumer<Product> action);
+
+    /**
+     * Insert many products in bulk. Rows whose id or code is already taken are skipped
+     * rather than failing the batch; returns the ids actually inserted, with the version each
+     * was written at. Callers pass each id at most once, since outcomes are reported by id.
+     */
+    Map<ProductId, Long> insertAll(List<Product> products);
+
+    /**
+     * Update many products in bulk. Rows that do not exist, whose new code belongs to another
+     * product, or that are no longer at the version {@code expectedVersions} gives for their id
+     * are skipped; returns the ids actually updated, with the version each was written at. Ids
+     * missing from {@code expectedVersions} are updated whatever their version. Callers pass
+     * each id at most once.
+     */
+    Map<ProductId, Long> updateAll(List<Product> products, Map<ProductId, Long> expectedVersions);
+
+    /** Delete many products in bulk; returns the ids actually deleted. */
+    Set<ProductId> deleteAll(Collection<ProductId> ids);
+
+    /**
+     * Atomically add each net delta to the product's quantity and re-derive its inventory
+     * status, refusing any change that would leave the quantity negative. Returns the
+     * stock level of every product that exists; missing ids are absent from the result.
+     */
+    List<StockLevel> adjustQuantities(Map<ProductId, Long> deltas, long updatedAt);
+
+    /** Return the subset of {@code ids} that exist. */
+    Set<ProductId> findExistingIds(Collection<ProductId> ids);
+
+    /** Delete a product by id. Returns {@code false} when there was nothing to delete. */
+    boolean deleteById(ProductId id);
 
     /** Check existence by unique business key (e.g., code). */
     boolean existsByCode(String code);
+
+    /** Check whether a product other than {@code excludedId} already uses {@code code}. */
+    boolean existsByCodeExcludingId(String code, ProductId excludedId);
 }
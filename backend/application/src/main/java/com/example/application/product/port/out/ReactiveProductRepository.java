@@ -0,0 +1,42 @@
+package com.example.application.product.port.out;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Non-blocking output port for product persistence, the counterpart of {@link ProductRepository}
+ * for the operations the reactive API needs. Single results complete a {@link CompletionStage};
+ * streams are {@link Flow.Publisher}s that read no further ahead than subscribers request.
+ */
+public interface ReactiveProductRepository {
+    /** Load a product by id. */
+    CompletionStage<Optional<Product>> findById(ProductId id);
+
+    /** Load only a product's version and last modification time. */
+    CompletionStage<Optional<ProductRevision>> findRevisionById(ProductId id);
+
+    /** Stream every product matching the filter, ordered by id, as fast as subscribers demand. */
+    Flow.Publisher<Product> findAll(ProductFilter filter);
+
+    /**
+     * Insert a new product and return the stored state, or empty when a product with the same
+     * id already exists. Fails with {@link IllegalArgumentException} when the code is already taken.
+     */
+    CompletionStage<Optional<Product>> insert(Product product);
+
+    /**
+     * Update an existing product and return the stored state, or empty when no product has this id
+     * or, when {@code expectedVersion} is not {@code null}, when its version is no longer that one.
+     * Fails with {@link IllegalArgumentException} when another product already uses the same code.
+     */
+    CompletionStage<Optional<Product>> update(Product product, Long expectedVersion);
+
+    /** Delete a product by id. Completes with {@code false} when there was nothing to delete. */
+    CompletionStage<Boolean> deleteById(ProductId id);
+}
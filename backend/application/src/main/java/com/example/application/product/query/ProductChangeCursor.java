@@ -0,0 +1,42 @@
+package com.example.application.product.query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.domain.product.ProductId;
+
+/**
+ * Watermark of a change feed. A complete watermark ({@code afterId == null}) means every
+ * change made before {@code position} has been seen; a partial one, returned when a
+ * response was truncated, also covers the changes at {@code position} up to {@code afterId}.
+ * Encoded as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+public record ProductChangeCursor(long position, ProductId afterId) {
+
+    /** Watermark of a client that has seen nothing yet. */
+    public static final ProductChangeCursor START = new ProductChangeCursor(0, null);
+
+    private static final char SEPARATOR = '|';
+
+    public boolean isComplete() {
+        return afterId == null;
+    }
+
+    public String encode() {
+        String raw = position + (afterId != null ? SEPARATOR + afterId.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new ProductChangeCursor(Long.parseLong(raw), null);
+            }
+            return new ProductChangeCursor(Long.parseLong(raw.substring(0, separator)), ProductId.of(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid watermark: " + token, e);
+        }
+    }
+}
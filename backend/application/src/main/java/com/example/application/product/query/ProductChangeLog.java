@@ -0,0 +1,23 @@
+package com.example.application.product.query;
+
+import java.util.List;
+
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Changes read from the store after a watermark, in feed order. {@code horizon} is the
+ * position below which the store guarantees no further change can appear;
+ * {@code prunedThrough} the highest position whose tombstones may have been pruned, read in
+ * the same snapshot as the entries.
+ */
+public record ProductChangeLog(List<Entry> entries, long horizon, long prunedThrough) {
+
+    /** A product's current state, or a tombstone when {@code product} is {@code null}. */
+    public record Entry(ProductId id, long position, Product product) {
+
+        public boolean deleted() {
+            return product == null;
+        }
+    }
+}
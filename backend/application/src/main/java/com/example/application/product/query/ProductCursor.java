@@ -0,0 +1,40 @@
+package com.example.application.product.query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.application.product.exception.InvalidProductCursorException;
+import com.example.domain.product.InvalidProductIdException;
+import com.example.domain.product.ProductId;
+
+/**
+ * Position of the last row of a page: the sort key value and the id of that row.
+ * Encoded as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+public record ProductCursor(String sortValue, ProductId id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProductCursorException("Invalid cursor: " + token);
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidProductCursorException("Invalid cursor: " + token);
+        }
+        try {
+            return new ProductCursor(raw.substring(separator + 1), ProductId.of(raw.substring(0, separator)));
+        } catch (InvalidProductIdException e) {
+            throw new InvalidProductCursorException("Invalid cursor: " + token);
+        }
+    }
+}
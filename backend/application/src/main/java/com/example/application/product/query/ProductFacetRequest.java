@@ -0,0 +1,37 @@
+package com.example.application.product.query;
+
+import java.util.List;
+
+/**
+ * Facet counts request: the listing filters and the price boundaries splitting the
+ * catalog into price buckets ({@code null} or empty for {@link #DEFAULT_PRICE_BREAKS}).
+ */
+public record ProductFacetRequest(ProductFilter filter, List<Double> priceBreaks) {
+
+    public static final List<Double> DEFAULT_PRICE_BREAKS = List.of(10.0, 25.0, 50.0, 100.0, 250.0, 500.0);
+    public static final int MAX_PRICE_BREAKS = 20;
+
+    public ProductFacetRequest {
+        if (filter == null) filter = ProductFilter.none();
+        if (priceBreaks == null || priceBreaks.isEmpty()) {
+            priceBreaks = DEFAULT_PRICE_BREAKS;
+        }
+        if (priceBreaks.size() > MAX_PRICE_BREAKS) {
+            throw new IllegalArgumentException("At most " + MAX_PRICE_BREAKS + " price breaks are allowed");
+        }
+        for (int i = 0; i < priceBreaks.size(); i++) {
+            Double priceBreak = priceBreaks.get(i);
+            if (priceBreak == null || !Double.isFinite(priceBreak) || priceBreak < 0) {
+                throw new IllegalArgumentException("Price breaks must be non-negative numbers");
+            }
+            if (i > 0 && priceBreak <= priceBreaks.get(i - 1)) {
+                throw new IllegalArgumentException("Price breaks must be strictly increasing");
+            }
+        }
+        priceBreaks = List.copyOf(priceBreaks);
+    }
+
+    public ProductFacetRequest(ProductFilter filter) {
+        this(filter, null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.application.product.query;
+
+/**
+ * Product attributes a read can be restricted to, named as exposed to API clients.
+ * {@link #IMAGE} stands for the image reference (hash and URL), never the image bytes.
+ */
+public enum ProductField {
+    ID("id"),
+    CODE("code"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    IMAGE("image"),
+    CATEGORY("category"),
+    PRICE("price"),
+    QUANTITY("quantity"),
+    INTERNAL_REFERENCE("internalReference"),
+    SHELL_ID("shellId"),
+    INVENTORY_STATUS("inventoryStatus"),
+    RATING("rating"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    private final String param;
+
+    ProductField(String param) {
+        this.param = param;
+    }
+
+    /** Name of the field as exposed to API clients. */
+    public String param() {
+        return param;
+    }
+
+    /** Resolves a field from its API name; {@code imageUrl} and {@code imageHash} both select {@link #IMAGE}. */
+    public static ProductField fromParam(String param) {
+        if (param.equals("imageUrl") || param.equals("imageHash")) {
+            return IMAGE;
+        }
+        for (ProductField field : values()) {
+            if (field.param.equals(param)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + param);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.application.product.query;
+
+import com.example.domain.product.Product;
+
+/**
+ * Optional listing filters. A {@code null} component means "no restriction".
+ */
+public record ProductFilter(String category, Product.InventoryStatus inventoryStatus) {
+
+    private static final ProductFilter NONE = new ProductFilter(null, null);
+
+    public static ProductFilter none() {
+        return NONE;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.application.product.query;
+
+/**
+ * Keyset pagination request: filters, sort key and direction, page size, the cursor of
+ * the previous page ({@code null} for the first page) and the fields to read. The cursor's
+ * sort value is checked against the sort key here, before any query is built.
+ */
+public record ProductPageRequest(
+    ProductFilter filter,
+    ProductSort sort,
+    boolean descending,
+    int size,
+    ProductCursor after,
+    ProductProjection projection
+) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public ProductPageRequest {
+        if (filter == null) filter = ProductFilter.none();
+        if (sort == null) sort = ProductSort.CREATED_AT;
+        if (projection == null) projection = ProductProjection.ALL;
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        if (after != null) {
+            sort.parseCursorValue(after.sortValue());
+        }
+    }
+
+    /** The cursor's sort value, typed as {@link ProductSort#parseCursorValue} reads it. */
+    public Object afterSortValue() {
+        return sort.parseCursorValue(after.sortValue());
+    }
+
+    /** Request reading every field. */
+    public ProductPageRequest(ProductFilter filter, ProductSort sort, boolean descending, int size, ProductCursor after) {
+        this(filter, sort, descending, size, after, ProductProjection.ALL);
+    }
+
+    public ProductPageRequest withProjection(ProductProjection projection) {
+        return new ProductPageRequest(filter, sort, descending, size, after, projection);
+    }
+
+    public static ProductPageRequest firstPage() {
+        return new ProductPageRequest(ProductFilter.none(), ProductSort.CREATED_AT, false, DEFAULT_SIZE, null);
+    }
+}
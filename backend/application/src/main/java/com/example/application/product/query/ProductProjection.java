@@ -0,0 +1,57 @@
+package com.example.application.product.query;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Set of fields a read has to fill in. Reads restricted to a projection only load those
+ * columns; the id is always part of it.
+ */
+public record ProductProjection(Set<ProductField> fields) {
+
+    public static final ProductProjection ALL = new ProductProjection(EnumSet.allOf(ProductField.class));
+
+    public ProductProjection {
+        EnumSet<ProductField> copy = EnumSet.of(ProductField.ID);
+        copy.addAll(fields);
+        fields = Collections.unmodifiableSet(copy);
+    }
+
+    /**
+     * Parses a comma-separated list of field names such as {@code id,name,price}. A missing
+     * or blank list selects every field.
+     */
+    public static ProductProjection parse(String param) {
+        if (param == null || param.isBlank()) {
+            return ALL;
+        }
+        EnumSet<ProductField> fields = EnumSet.noneOf(ProductField.class);
+        for (String name : param.split(",")) {
+            if (!name.isBlank()) {
+                fields.add(ProductField.fromParam(name.trim()));
+            }
+        }
+        return new ProductProjection(fields);
+    }
+
+    public boolean isAll() {
+        return fields.size() == ProductField.values().length;
+    }
+
+    public boolean includes(ProductField field) {
+        return fields.contains(field);
+    }
+
+    /** This projection plus {@code more}. */
+    public ProductProjection with(ProductField... more) {
+        EnumSet<ProductField> extended = EnumSet.copyOf(fields);
+        Collections.addAll(extended, more);
+        return new ProductProjection(extended);
+    }
+
+    /** Canonical, order-independent form of the field list, e.g. for cache validators. */
+    public String key() {
+        return String.join(",", fields.stream().map(ProductField::param).toList());
+    }
+}
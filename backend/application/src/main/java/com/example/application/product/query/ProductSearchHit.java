@@ -0,0 +1,10 @@
+package com.example.application.product.query;
+
+import com.example.domain.product.Product;
+
+/**
+ * A product matching a search, with the relevance it was ranked by. The rank is the sort
+ * key of search cursors.
+ */
+public record ProductSearchHit(Product product, float rank) {
+}
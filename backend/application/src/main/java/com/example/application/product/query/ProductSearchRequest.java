@@ -0,0 +1,51 @@
+package com.example.application.product.query;
+
+import com.example.application.product.exception.InvalidProductCursorException;
+
+/**
+ * Full-text search request: the user's query text (web search syntax: quoted phrases,
+ * {@code or}, {@code -excluded}), optional filters, page size and the cursor of the
+ * previous page ({@code null} for the first page). Results come most relevant first.
+ */
+public record ProductSearchRequest(
+    String text,
+    ProductFilter filter,
+    int size,
+    ProductCursor after
+) {
+    public static final int MAX_TEXT_LENGTH = 256;
+
+    public ProductSearchRequest {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Search text cannot exceed " + MAX_TEXT_LENGTH + " characters");
+        }
+        if (filter == null) filter = ProductFilter.none();
+        if (size < 1 || size > ProductPageRequest.MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + ProductPageRequest.MAX_SIZE);
+        }
+        text = text.strip();
+        if (after != null) {
+            rank(after);
+        }
+    }
+
+    /** Rank of the last hit of the previous page, as written in the cursor. */
+    public float afterRank() {
+        return rank(after);
+    }
+
+    private static float rank(ProductCursor cursor) {
+        try {
+            float rank = Float.parseFloat(cursor.sortValue());
+            if (Float.isFinite(rank)) {
+                return rank;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new InvalidProductCursorException("Cursor was not issued for a search");
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.application.product.query;
+
+import java.math.BigDecimal;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.exception.InvalidProductCursorException;
+
+/**
+ * Sort keys supported by keyset pagination. Every key is paired with the product id
+ * as a tie-breaker so that the ordering is total and cursors stay stable.
+ */
+public enum ProductSort {
+    ID("id", ProductField.ID),
+    CODE("code", ProductField.CODE),
+    NAME("name", ProductField.NAME),
+    PRICE("price", ProductField.PRICE),
+    CREATED_AT("createdAt", ProductField.CREATED_AT),
+    UPDATED_AT("updatedAt", ProductField.UPDATED_AT);
+
+    private final String param;
+    private final ProductField field;
+
+    ProductSort(String param, ProductField field) {
+        this.param = param;
+        this.field = field;
+    }
+
+    /** Name of the sort key as exposed to API clients. */
+    public String param() {
+        return param;
+    }
+
+    /** Field holding the sort key; a projected page must read it to build its cursor. */
+    public ProductField field() {
+        return field;
+    }
+
+    /** Extracts the value of this sort key from a product, as stored in a cursor. */
+    public String cursorValue(ProductDTO product) {
+        return switch (this) {
+            case ID -> "";
+            case CODE -> product.getCode();
+            case NAME -> product.getName();
+            case PRICE -> Double.toString(product.getPrice());
+            case CREATED_AT -> Long.toString(product.getCreatedAt());
+            case UPDATED_AT -> Long.toString(product.getUpdatedAt());
+        };
+    }
+
+    /**
+     * Reads back a value written by {@link #cursorValue}: the text itself for text keys, a
+     * {@link BigDecimal} for prices and epoch milliseconds for timestamps. A value this key
+     * cannot have written (a hand-edited cursor, or one issued for another sort key) is rejected.
+     */
+    public Object parseCursorValue(String value) {
+        try {
+            return switch (this) {
+                case ID, CODE, NAME -> value;
+                case PRICE -> new BigDecimal(value);
+                case CREATED_AT, UPDATED_AT -> Long.parseLong(value);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidProductCursorException("Cursor was not issued for sort key " + param);
+        }
+    }
+
+    /** Resolves a sort key from its API name (e.g. {@code createdAt}). */
+    public static ProductSort fromParam(String param) {
+        for (ProductSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + param);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.application.product.service;
+
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Applies a function to every item of a publisher. Demand and cancellation pass straight
+ * through to the source, one item out for every item in, so backpressure is preserved.
+ */
+final class MappingPublisher<T, R> implements Flow.Publisher<R> {
+
+    private final Flow.Publisher<T> source;
+    private final Function<? super T, ? extends R> mapper;
+
+    MappingPublisher(Flow.Publisher<T> source, Function<? super T, ? extends R> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        source.subscribe(new Flow.Subscriber<T>() {
+            private Flow.Subscription subscription;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                R mapped;
+                try {
+                    mapped = mapper.apply(item);
+                } catch (RuntimeException e) {
+                    done = true;
+                    subscription.cancel();
+                    subscriber.onError(e);
+                    return;
+                }
+                subscriber.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (!done) {
+                    done = true;
+                    subscriber.onError(throwable);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.application.product.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.application.product.bulk.CsvRecordReader;
+import com.example.application.product.bulk.ProductCsvFormat;
+import com.example.application.product.dto.ProductImportRejection;
+import com.example.application.product.dto.ProductImportReport;
+import com.example.application.product.port.in.ProductBulkTransferUseCase;
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.domain.product.Product;
+
+/**
+ * Application service for CSV bulk transfers. Rows are parsed and validated one at a time
+ * while the store is loading, so memory stays bounded whatever the size of the input.
+ */
+public class ProductBulkTransferService implements ProductBulkTransferUseCase {
+
+    private final ProductBulkStore productBulkStore;
+
+    public ProductBulkTransferService(ProductBulkStore productBulkStore) {
+        this.productBulkStore = productBulkStore;
+    }
+
+    @Override
+    public ProductImportReport importCsv(Reader csv) {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(csv));
+        ProductCsvFormat format;
+        try {
+            format = ProductCsvFormat.fromHeader(reader.next());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long timestamp = System.currentTimeMillis();
+        RejectionLog rejections = new RejectionLog();
+        long[] received = new long[1];
+
+        ProductBulkStore.MergeResult result = productBulkStore.merge(sink -> {
+            try {
+                List<String> record;
+                while ((record = reader.next()) != null) {
+                    received[0]++;
+                    try {
+                        Product product = format.toProduct(record, timestamp);
+                        sink.accept(reader.recordLine(), product);
+                    } catch (IllegalArgumentException e) {
+                        rejections.add(new ProductImportRejection(reader.recordLine(), format.code(record), e.getMessage()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        result.rejections().forEach(rejections::add);
+
+        return new ProductImportReport(received[0], result.inserted(), result.updated(),
+            rejections.count, rejections.reported);
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        productBulkStore.exportCsv(out);
+    }
+
+    /** Counts every rejection but keeps only the first few for the report. */
+    private static final class RejectionLog {
+        private final List<ProductImportRejection> reported = new ArrayList<>();
+        private long count;
+
+        void add(ProductImportRejection rejection) {
+            count++;
+            if (reported.size() < ProductImportReport.MAX_REPORTED_REJECTIONS) {
+                reported.add(rejection);
+            }
+        }
+    }
+}
@@ -1,39 +1,76 @@
 package com.example.application.product.service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.example.application.product.dto.ProductBatchItemResult;
+import com.example.application.product.dto.ProductBatchItemResult.Outcome;
+import com.example.application.product.dto.ProductBatchOperation;
+import com.example.application.product.dto.ProductChanges;
 import com.example.application.product.dto.ProductDTO;
-import com.example.application.product.port.in.CreateProductUseCase;
-import com.example.application.product.port.in.DeleteProductUseCase;
-import com.example.application.product.port.in.GetProductsUseCase;
-import com.example.application.product.port.in.UpdateProductUseCase;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockAdjustment;
+import com.example.application.product.dto.StockAdjustmentResult;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.exception.DuplicateProductException;
+import com.example.application.product.exception.ProductChangesExpiredException;
+import com.example.application.product.exception.ProductNotFoundException;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.application.product.port.in.ProductUseCases;
+import com.example.application.product.port.out.ProductImageStore;
 import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductCursor;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductField;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
 import com.example.domain.product.Product;
 import com.example.domain.product.ProductId;
+import com.example.domain.product.ProductValidator;
+import com.example.domain.product.ProductViolations;
 
 /**
  * Application service implementing all product-related use cases.
  * Acts as the primary entry point to product management functionality.
  */
-public class ProductService implements CreateProductUseCase, UpdateProductUseCase, 
-                                      DeleteProductUseCase, GetProductsUseCase {
+public class ProductService implements ProductUseCases {
+
+    /** Largest image accepted, in bytes. */
+    public static final int MAX_IMAGE_SIZE = 5 * 1024 * 1024;
 
     private final ProductRepository productRepository;
+    private final ProductImageStore productImageStore;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductImageStore productImageStore) {
         this.productRepository = productRepository;
+        this.productImageStore = productImageStore;
     }
 
     @Override
     public ProductDTO create(ProductDTO productDTO) {
         Product product = productDTO.toDomain();
-        
-        // Check for duplicate product code
-        if (productRepository.existsByCode(product.getCode())) {
-            throw new IllegalArgumentException("Product with code " + product.getCode() + " already exists");
-        }
+        prepareEmbeddedImage(product);
         
         // Set creation/update timestamps if they're not already set
         long currentTime = System.currentTimeMillis();
@@ -44,46 +81,276 @@ public class ProductService implements CreateProductUseCase, UpdateProductUseCas
             product.setUpdatedAt(currentTime);
         }
         
-        Product savedProduct = productRepository.save(product);
+        // Duplicate codes are rejected by the unique constraint, duplicate ids by the insert itself
+        Product savedProduct = productRepository.insert(product)
+            .orElseThrow(() -> DuplicateProductException.id(product.getId()));
         return ProductDTO.fromDomain(savedProduct);
     }
 
     @Override
     public ProductDTO update(ProductDTO productDTO) {
         Product product = productDTO.toDomain();
-        
-        // Verify product exists
-        ProductId id = product.getId();
-        if (productRepository.findById(id).isEmpty()) {
-            throw new IllegalArgumentException("Product with id " + id + " does not exist");
-        }
-        
-        // Check if updating to a code that already exists on another product
-        Optional<Product> existingProductWithCode = productRepository.findAll().stream()
-            .filter(p -> p.getCode().equals(product.getCode()) && !p.getId().equals(id))
-            .findFirst();
-            
-        if (existingProductWithCode.isPresent()) {
-            throw new IllegalArgumentException("Product with code " + product.getCode() + " already exists");
-        }
+        prepareEmbeddedImage(product);
         
         // Update timestamp
         product.setUpdatedAt(System.currentTimeMillis());
         
-        Product updatedProduct = productRepository.save(product);
+        // A missing product or a stale version shows up as no affected row, a duplicate code as a
+        // constraint violation. Nothing is locked between the client's read and this write.
+        Long expectedVersion = productDTO.getVersion();
+        Product updatedProduct = productRepository.update(product, expectedVersion)
+            .orElseThrow(() -> updateRejected(product.getId(), expectedVersion));
         return ProductDTO.fromDomain(updatedProduct);
     }
 
+    /** Tells a stale version from a missing product once a conditional update matched no row. */
+    private RuntimeException updateRejected(ProductId id, Long expectedVersion) {
+        Optional<ProductRevision> current = expectedVersion != null ? productRepository.findRevisionById(id) : Optional.empty();
+        if (current.isPresent()) {
+            return new ProductVersionConflictException(id, expectedVersion, current.get().version());
+        }
+        return ProductNotFoundException.product(id);
+    }
+
+    @Override
+    public ProductDTO patch(String id, ProductPatch patch) {
+        ProductId productId = ProductId.of(id);
+        if (patch.isEmpty()) {
+            return getById(id)
+                .orElseThrow(() -> ProductNotFoundException.product(id));
+        }
+        validate(patch);
+
+        Product patchedProduct = productRepository.patch(productId, patch, System.currentTimeMillis())
+            .orElseThrow(() -> ProductNotFoundException.product(id));
+        return ProductDTO.fromDomain(patchedProduct);
+    }
+
+    /** Applies the domain rules of the touched fields only, reporting every broken one at once. */
+    private static void validate(ProductPatch patch) {
+        int violations = 0;
+        for (ProductPatch.Field field : patch.fields()) {
+            violations |= switch (field) {
+                case CODE -> ProductValidator.checkCode((String) patch.get(field));
+                case NAME -> ProductValidator.checkName((String) patch.get(field));
+                case DESCRIPTION -> 0;
+                case CATEGORY -> ProductValidator.checkCategory((String) patch.get(field));
+                case PRICE -> ProductValidator.checkPrice(patch.require(field, Double.class));
+                case QUANTITY -> ProductValidator.checkQuantity(patch.require(field, Integer.class));
+                case INTERNAL_REFERENCE -> ProductValidator.checkInternalReference((String) patch.get(field));
+                case SHELL_ID -> {
+                    patch.require(field, Integer.class);
+                    yield 0;
+                }
+                case INVENTORY_STATUS -> ProductValidator.checkInventoryStatus((Product.InventoryStatus) patch.get(field));
+                case RATING -> ProductValidator.checkRating(patch.require(field, Integer.class));
+            };
+        }
+        ProductViolations.requireValid(violations);
+    }
+
     @Override
     public void deleteById(String id) {
         ProductId productId = ProductId.of(id);
         
-        // Verify product exists before deletion
-        if (productRepository.findById(productId).isEmpty()) {
-            throw new IllegalArgumentException("Product with id " + id + " does not exist");
+        if (!productRepository.deleteById(productId)) {
+            throw ProductNotFoundException.product(id);
         }
-        
-        productRepository.deleteById(productId);
+    }
+
+    @Override
+    public List<ProductBatchItemResult> executeBatch(List<ProductBatchOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " operations");
+        }
+
+        ProductBatchItemResult[] results = new ProductBatchItemResult[operations.size()];
+        List<Integer> createIndexes = new ArrayList<>();
+        List<Product> creates = new ArrayList<>();
+        List<Integer> updateIndexes = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        Map<ProductId, Long> expectedVersions = new HashMap<>();
+        List<Integer> deleteIndexes = new ArrayList<>();
+        List<ProductId> deletes = new ArrayList<>();
+        Set<ProductId> seen = new HashSet<>();
+
+        // Convert and validate every entry up front; invalid ones fail alone. The writes are
+        // grouped by type and outcomes matched back by id, so an id may only appear once.
+        long currentTime = System.currentTimeMillis();
+        for (int i = 0; i < operations.size(); i++) {
+            ProductBatchOperation operation = operations.get(i);
+            try {
+                if (operation.type() == null) {
+                    throw new IllegalArgumentException("Batch operation type is required");
+                }
+                switch (operation.type()) {
+                    case CREATE -> {
+                        Product product = requireProduct(operation).toDomain();
+                        prepareEmbeddedImage(product);
+                        if (product.getCreatedAt() == 0) product.setCreatedAt(currentTime);
+                        if (product.getUpdatedAt() == 0) product.setUpdatedAt(currentTime);
+                        requireFirstInBatch(seen, product.getId());
+                        createIndexes.add(i);
+                        creates.add(product);
+                    }
+                    case UPDATE -> {
+                        ProductDTO productDTO = requireProduct(operation);
+                        if (productDTO.getId() == null) {
+                            if (operation.id() == null) {
+                                throw new IllegalArgumentException("Product id is required for updates");
+                            }
+                            productDTO.setId(operation.id());
+                        }
+                        Product product = productDTO.toDomain();
+                        prepareEmbeddedImage(product);
+                        product.setUpdatedAt(currentTime);
+                        requireFirstInBatch(seen, product.getId());
+                        if (productDTO.getVersion() != null) {
+                            expectedVersions.put(product.getId(), productDTO.getVersion());
+                        }
+                        updateIndexes.add(i);
+                        updates.add(product);
+                    }
+                    case DELETE -> {
+                        if (operation.id() == null) {
+                            throw new IllegalArgumentException("Product id is required for deletes");
+                        }
+                        ProductId productId = ProductId.of(operation.id());
+                        requireFirstInBatch(seen, productId);
+                        deleteIndexes.add(i);
+                        deletes.add(productId);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                results[i] = ProductBatchItemResult.failure(i, operation.id(), Outcome.INVALID, e.getMessage());
+            }
+        }
+
+        if (!creates.isEmpty()) {
+            Map<ProductId, Long> inserted = productRepository.insertAll(creates);
+            for (int j = 0; j < creates.size(); j++) {
+                Product product = creates.get(j);
+                int index = createIndexes.get(j);
+                String id = product.getId().toString();
+                if (inserted.containsKey(product.getId())) {
+                    results[index] = ProductBatchItemResult.success(index, id, Outcome.CREATED);
+                } else {
+                    results[index] = ProductBatchItemResult.failure(index, id, Outcome.CONFLICT,
+                        "Product with id " + id + " or code " + product.getCode() + " already exists");
+                }
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            Map<ProductId, Long> updated = productRepository.updateAll(updates, expectedVersions);
+            List<ProductId> skipped = updates.stream()
+                .map(Product::getId)
+                .filter(id -> !updated.containsKey(id))
+                .toList();
+            Set<ProductId> existing = skipped.isEmpty() ? Set.of() : productRepository.findExistingIds(skipped);
+            for (int j = 0; j < updates.size(); j++) {
+                Product product = updates.get(j);
+                int index = updateIndexes.get(j);
+                String id = product.getId().toString();
+                if (updated.containsKey(product.getId())) {
+                    results[index] = ProductBatchItemResult.success(index, id, Outcome.UPDATED);
+                } else if (existing.contains(product.getId())) {
+                    results[index] = ProductBatchItemResult.failure(index, id, Outcome.CONFLICT,
+                        batchUpdateConflict(product, expectedVersions.get(product.getId())));
+                } else {
+                    results[index] = ProductBatchItemResult.failure(index, id, Outcome.NOT_FOUND,
+                        "Product with id " + id + " does not exist");
+                }
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            Set<ProductId> deleted = productRepository.deleteAll(deletes);
+            for (int j = 0; j < deletes.size(); j++) {
+                ProductId productId = deletes.get(j);
+                int index = deleteIndexes.get(j);
+                results[index] = deleted.contains(productId)
+                    ? ProductBatchItemResult.success(index, productId.toString(), Outcome.DELETED)
+                    : ProductBatchItemResult.failure(index, productId.toString(), Outcome.NOT_FOUND,
+                        "Product with id " + productId + " does not exist");
+            }
+        }
+
+        return List.of(results);
+    }
+
+    private static void requireFirstInBatch(Set<ProductId> seen, ProductId id) {
+        if (!seen.add(id)) {
+            throw new IllegalArgumentException("Product with id " + id + " appears more than once in the batch");
+        }
+    }
+
+    /** Tells a stale version from a code clash once a batch update of an existing product matched no row. */
+    private String batchUpdateConflict(Product product, Long expectedVersion) {
+        Optional<ProductRevision> current = expectedVersion != null ? productRepository.findRevisionById(product.getId()) : Optional.empty();
+        if (current.isPresent() && current.get().version() != expectedVersion) {
+            return new ProductVersionConflictException(product.getId(), expectedVersion, current.get().version()).getMessage();
+        }
+        return "Product with code " + product.getCode() + " already exists";
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments) {
+        if (adjustments.size() > MAX_ADJUSTMENTS) {
+            throw new IllegalArgumentException("A stock adjustment batch cannot contain more than " + MAX_ADJUSTMENTS + " entries");
+        }
+
+        StockAdjustmentResult[] results = new StockAdjustmentResult[adjustments.size()];
+        ProductId[] productIds = new ProductId[adjustments.size()];
+        // Entries for the same product collapse into one net change, applied by one row update
+        Map<ProductId, Long> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustment adjustment = adjustments.get(i);
+            try {
+                if (adjustment.id() == null) {
+                    throw new IllegalArgumentException("Product id is required for stock adjustments");
+                }
+                if (adjustment.delta() == 0) {
+                    throw new IllegalArgumentException("Stock adjustment delta cannot be zero");
+                }
+                productIds[i] = ProductId.of(adjustment.id());
+                deltas.merge(productIds[i], (long) adjustment.delta(), Long::sum);
+            } catch (IllegalArgumentException e) {
+                results[i] = StockAdjustmentResult.failure(i, adjustment.id(), StockAdjustmentResult.Outcome.INVALID, e.getMessage());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return List.of(results);
+        }
+
+        Map<ProductId, StockLevel> levels = productRepository.adjustQuantities(deltas, System.currentTimeMillis()).stream()
+            .collect(Collectors.toMap(StockLevel::id, level -> level));
+        for (int i = 0; i < adjustments.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            StockLevel level = levels.get(productIds[i]);
+            if (level == null) {
+                results[i] = StockAdjustmentResult.failure(i, productIds[i].toString(), StockAdjustmentResult.Outcome.NOT_FOUND,
+                    "Product with id " + productIds[i] + " does not exist");
+            } else if (level.adjusted()) {
+                results[i] = StockAdjustmentResult.adjusted(i, level);
+            } else if (level.quantity() + deltas.get(productIds[i]) < 0) {
+                results[i] = StockAdjustmentResult.refused(i, level, StockAdjustmentResult.Outcome.INSUFFICIENT_STOCK,
+                    "Only " + level.quantity() + " in stock");
+            } else {
+                results[i] = StockAdjustmentResult.refused(i, level, StockAdjustmentResult.Outcome.INVALID,
+                    "Product quantity would exceed " + Integer.MAX_VALUE);
+            }
+        }
+        return List.of(results);
+    }
+
+    private static ProductDTO requireProduct(ProductBatchOperation operation) {
+        if (operation.product() == null) {
+            throw new IllegalArgumentException("Product payload is required for " + operation.type().name().toLowerCase() + "s");
+        }
+        return operation.product();
     }
 
     @Override
@@ -93,10 +360,199 @@ public class ProductService implements CreateProductUseCase, UpdateProductUseCas
                 .map(ProductDTO::fromDomain);
     }
 
+    @Override
+    public Optional<ProductRevision> getRevision(String id) {
+        return productRepository.findRevisionById(ProductId.of(id));
+    }
+
+    @Override
+    public boolean isCodeAvailable(String code, String excludedId) {
+        if (code == null || code.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product code cannot be empty");
+        }
+        return excludedId == null
+            ? !productRepository.existsByCode(code)
+            : !productRepository.existsByCodeExcludingId(code, ProductId.of(excludedId));
+    }
+
     @Override
     public List<ProductDTO> getAll() {
         return productRepository.findAll().stream()
                 .map(ProductDTO::fromDomain)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public Optional<ProductDTO> getById(String id, ProductProjection projection) {
+        if (projection.isAll()) {
+            return getById(id);
+        }
+        return productRepository.findProjectedById(ProductId.of(id), projection);
+    }
+
+    @Override
+    public ProductPage getPage(ProductPageRequest request) {
+        List<ProductDTO> rows;
+        if (request.projection().isAll()) {
+            rows = productRepository.findPage(request).stream().map(ProductDTO::fromDomain).toList();
+        } else {
+            // The sort key feeds the cursor and the version lets callers validate the page
+            ProductProjection read = request.projection().with(request.sort().field(), ProductField.VERSION);
+            rows = productRepository.findProjectedPage(request.withProjection(read));
+        }
+        boolean hasNext = rows.size() > request.size();
+        List<ProductDTO> page = hasNext ? rows.subList(0, request.size()) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductDTO last = page.get(page.size() - 1);
+            nextCursor = new ProductCursor(request.sort().cursorValue(last), ProductId.of(last.getId())).encode();
+        }
+
+        return new ProductPage(page, nextCursor);
+    }
+
+    @Override
+    public ProductPage search(ProductSearchRequest request) {
+        List<ProductSearchHit> hits = productRepository.search(request);
+        boolean hasNext = hits.size() > request.size();
+        List<ProductSearchHit> page = hasNext ? hits.subList(0, request.size()) : hits;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductSearchHit last = page.get(page.size() - 1);
+            nextCursor = new ProductCursor(Float.toString(last.rank()), last.product().getId()).encode();
+        }
+
+        return new ProductPage(page.stream().map(hit -> ProductDTO.fromDomain(hit.product())).toList(), nextCursor);
+    }
+
+    @Override
+    public ProductFacets getFacets(ProductFacetRequest request) {
+        return productRepository.countFacets(request);
+    }
+
+    @Override
+    public ProductChanges getChanges(ProductChangeCursor since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new IllegalArgumentException("Change limit must be between 1 and " + MAX_CHANGES_LIMIT);
+        }
+        ProductChangeCursor from = since != null ? since : ProductChangeCursor.START;
+        ProductChangeLog log = productRepository.findChanges(from, limit);
+        if (from.position() > 0 && from.position() <= log.prunedThrough()) {
+            // Tombstones after this watermark may be gone, so deletions could be silently missed
+            throw new ProductChangesExpiredException("Watermark " + from.encode() + " predates pruned deletions; resync from scratch");
+        }
+        boolean hasMore = log.entries().size() > limit;
+        List<ProductChangeLog.Entry> entries = hasMore ? log.entries().subList(0, limit) : log.entries();
+
+        List<ProductDTO> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (ProductChangeLog.Entry entry : entries) {
+            if (entry.deleted()) {
+                deleted.add(entry.id().toString());
+            } else {
+                changed.add(ProductDTO.fromDomain(entry.product()));
+            }
+        }
+
+        ProductChangeCursor next;
+        if (hasMore) {
+            ProductChangeLog.Entry last = entries.get(entries.size() - 1);
+            next = new ProductChangeCursor(last.position(), last.id());
+        } else if (log.horizon() > from.position()) {
+            // Everything below the horizon has now been delivered
+            next = new ProductChangeCursor(log.horizon(), null);
+        } else {
+            // A transaction older than the watermark is still running; nothing can advance yet
+            next = from;
+        }
+        return new ProductChanges(changed, deleted, next.encode(), hasMore);
+    }
+
+    @Override
+    public void exportAll(ProductFilter filter, Consumer<ProductDTO> action) {
+        productRepository.forEach(filter, product -> action.accept(ProductDTO.fromDomain(product)));
+    }
+
+    @Override
+    public Optional<ProductImage> getImage(String productId) {
+        return productImageStore.findByProductId(ProductId.of(productId));
+    }
+
+    @Override
+    public Optional<ProductImageMetadata> getImageMetadata(String productId) {
+        return productImageStore.findMetadataByProductId(ProductId.of(productId));
+    }
+
+    @Override
+    public ProductImageMetadata putImage(String productId, byte[] content) {
+        ProductId id = ProductId.of(productId);
+        if (content == null || content.length == 0) {
+            throw new IllegalArgumentException("Product image cannot be empty");
+        }
+        requireImageSize(content);
+
+        ProductImageMetadata metadata = new ProductImageMetadata(
+            id,
+            requireRasterImage(content),
+            content.length,
+            sha256(content),
+            System.currentTimeMillis()
+        );
+        if (!productImageStore.save(new ProductImage(metadata, content))) {
+            throw ProductNotFoundException.product(productId);
+        }
+        return metadata;
+    }
+
+    @Override
+    public void deleteImage(String productId) {
+        if (!productImageStore.deleteByProductId(ProductId.of(productId))) {
+            throw ProductNotFoundException.image(productId);
+        }
+    }
+
+    /**
+     * Images embedded in create/update payloads are checked and hashed before anything is
+     * written; the repository then stores them along with the row. An absent or empty image
+     * leaves the stored one untouched.
+     */
+    private static void prepareEmbeddedImage(Product product) {
+        byte[] image = product.getImage();
+        if (image == null || image.length == 0) {
+            product.setImage(null);
+            product.setImageHash(null);
+            return;
+        }
+        requireImageSize(image);
+        requireRasterImage(image);
+        product.setImageHash(sha256(image));
+    }
+
+    /**
+     * Images are served from the API origin, so only raster pictures are accepted; anything
+     * else (HTML, SVG, ...) could run script there.
+     */
+    private static String requireRasterImage(byte[] content) {
+        String contentType = ProductImage.detectContentType(content);
+        if (!ProductImage.RASTER_CONTENT_TYPES.contains(contentType)) {
+            ProductViolations.requireValid(ProductViolations.IMAGE_TYPE_UNSUPPORTED);
+        }
+        return contentType;
+    }
+
+    private static void requireImageSize(byte[] content) {
+        if (content.length > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("Product image cannot exceed " + MAX_IMAGE_SIZE + " bytes");
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
\ No newline at end of file
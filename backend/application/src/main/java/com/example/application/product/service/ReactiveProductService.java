@@ -0,0 +1,109 @@
+package com.example.application.product.service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.exception.DuplicateProductException;
+import com.example.application.product.exception.ProductNotFoundException;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.application.product.port.in.ReactiveProductUseCase;
+import com.example.application.product.port.out.ReactiveProductRepository;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Non-blocking implementation of the core product use cases over a
+ * {@link ReactiveProductRepository}. Mirrors {@link ProductService}: same validation, same
+ * timestamps, same errors, delivered through the returned stage rather than thrown.
+ */
+public class ReactiveProductService implements ReactiveProductUseCase {
+
+    private final ReactiveProductRepository productRepository;
+
+    public ReactiveProductService(ReactiveProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public CompletionStage<Optional<ProductDTO>> getById(String id) {
+        return attempt(() -> productRepository.findById(ProductId.of(id)))
+            .thenApply(product -> product.map(ProductDTO::fromDomain));
+    }
+
+    @Override
+    public Flow.Publisher<ProductDTO> streamAll(ProductFilter filter) {
+        return new MappingPublisher<>(productRepository.findAll(filter), ProductDTO::fromDomain);
+    }
+
+    @Override
+    public CompletionStage<ProductDTO> create(ProductDTO productDTO) {
+        return attempt(() -> {
+            rejectEmbeddedImage(productDTO);
+            Product product = productDTO.toDomain();
+            long currentTime = System.currentTimeMillis();
+            if (product.getCreatedAt() == 0) {
+                product.setCreatedAt(currentTime);
+            }
+            if (product.getUpdatedAt() == 0) {
+                product.setUpdatedAt(currentTime);
+            }
+            return productRepository.insert(product).thenApply(saved -> saved
+                .map(ProductDTO::fromDomain)
+                .orElseThrow(() -> DuplicateProductException.id(product.getId())));
+        });
+    }
+
+    @Override
+    public CompletionStage<ProductDTO> update(ProductDTO productDTO) {
+        return attempt(() -> {
+            rejectEmbeddedImage(productDTO);
+            Product product = productDTO.toDomain();
+            product.setUpdatedAt(System.currentTimeMillis());
+            Long expectedVersion = productDTO.getVersion();
+            return productRepository.update(product, expectedVersion).thenCompose(updated -> updated.isPresent()
+                ? CompletableFuture.completedFuture(ProductDTO.fromDomain(updated.get()))
+                : updateRejected(product.getId(), expectedVersion));
+        });
+    }
+
+    /** Tells a stale version from a missing product once a conditional update matched no row. */
+    private CompletionStage<ProductDTO> updateRejected(ProductId id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return CompletableFuture.failedFuture(ProductNotFoundException.product(id));
+        }
+        return productRepository.findRevisionById(id).thenApply(current -> {
+            throw current.<RuntimeException>map(revision -> new ProductVersionConflictException(id, expectedVersion, revision.version()))
+                .orElseGet(() -> ProductNotFoundException.product(id));
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> deleteById(String id) {
+        return attempt(() -> productRepository.deleteById(ProductId.of(id)))
+            .thenAccept(deleted -> {
+                if (!deleted) {
+                    throw ProductNotFoundException.product(id);
+                }
+            });
+    }
+
+    private static void rejectEmbeddedImage(ProductDTO productDTO) {
+        if (productDTO.getImage() != null && productDTO.getImage().length > 0) {
+            throw new IllegalArgumentException("Embedded product images are not supported by the reactive API");
+        }
+    }
+
+    /** Turns validation errors thrown while preparing a call into a failed stage. */
+    private static <T> CompletionStage<T> attempt(Supplier<CompletionStage<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
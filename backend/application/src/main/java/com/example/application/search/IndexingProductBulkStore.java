@@ -0,0 +1,45 @@
+package com.example.application.search;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.application.product.port.out.ProductRepository;
+
+/**
+ * A bulk merge does not report which products it wrote, so a merge that wrote any
+ * rebuilds the search index from the repository. The merge is committed by then: a failed
+ * rebuild leaves the index as it was and is only logged.
+ */
+public class IndexingProductBulkStore implements ProductBulkStore {
+
+    private static final System.Logger log = System.getLogger(IndexingProductBulkStore.class.getName());
+
+    private final ProductBulkStore delegate;
+    private final ProductSearchIndex index;
+    private final ProductRepository repository;
+
+    public IndexingProductBulkStore(ProductBulkStore delegate, ProductSearchIndex index, ProductRepository repository) {
+        this.delegate = delegate;
+        this.index = index;
+        this.repository = repository;
+    }
+
+    @Override
+    public MergeResult merge(Source source) {
+        MergeResult result = delegate.merge(source);
+        if (result.inserted() + result.updated() > 0) {
+            try {
+                index.rebuild(repository);
+            } catch (RuntimeException e) {
+                log.log(System.Logger.Level.WARNING, "Search index rebuild after a bulk merge failed", e);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        delegate.exportCsv(out);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.application.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Keeps a {@link ProductSearchIndex} in step with the writes made through a repository.
+ * Writes go to the delegate first; only what the delegate reports as written is indexed, at
+ * the version it was written at, so the notification of the write costs the index no read.
+ * Stock adjustments do not touch indexed fields and pass straight through.
+ */
+public class IndexingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final ProductSearchIndex index;
+
+    public IndexingProductRepository(ProductRepository delegate, ProductSearchIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return writing(List.of(product.getId()), () -> {
+            Product saved = delegate.save(product);
+            index.index(saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public Optional<Product> insert(Product product) {
+        return writing(List.of(product.getId()), () -> {
+            Optional<Product> inserted = delegate.insert(product);
+            inserted.ifPresent(index::index);
+            return inserted;
+        });
+    }
+
+    @Override
+    public Optional<Product> update(Product product, Long expectedVersion) {
+        return writing(List.of(product.getId()), () -> {
+            Optional<Product> updated = delegate.update(product, expectedVersion);
+            updated.ifPresent(index::index);
+            return updated;
+        });
+    }
+
+    @Override
+    public Optional<Product> patch(ProductId id, ProductPatch patch, long updatedAt) {
+        return writing(List.of(id), () -> {
+            Optional<Product> patched = delegate.patch(id, patch, updatedAt);
+            patched.ifPresent(index::index);
+            return patched;
+        });
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<ProductDTO> findProjectedById(ProductId id, ProductProjection projection) {
+        return delegate.findProjectedById(id, projection);
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionById(ProductId id) {
+        return delegate.findRevisionById(id);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(ProductPageRequest request) {
+        return delegate.findPage(request);
+    }
+
+    @Override
+    public List<ProductDTO> findProjectedPage(ProductPageRequest request) {
+        return delegate.findProjectedPage(request);
+    }
+
+    @Override
+    public List<ProductSearchHit> search(ProductSearchRequest request) {
+        return delegate.search(request);
+    }
+
+    @Override
+    public ProductFacets countFacets(ProductFacetRequest request) {
+        return delegate.countFacets(request);
+    }
+
+    @Override
+    public ProductChangeLog findChanges(ProductChangeCursor since, int limit) {
+        return delegate.findChanges(since, limit);
+    }
+
+    @Override
+    public void forEach(ProductFilter filter, Consumer<Product> action) {
+        delegate.forEach(filter, action);
+    }
+
+    @Override
+    public Map<ProductId, Long> insertAll(List<Product> products) {
+        return writing(ids(products), () -> {
+            Map<ProductId, Long> inserted = delegate.insertAll(products);
+            indexWritten(products, inserted);
+            return inserted;
+        });
+    }
+
+    @Override
+    public Map<ProductId, Long> updateAll(List<Product> products, Map<ProductId, Long> expectedVersions) {
+        return writing(ids(products), () -> {
+            Map<ProductId, Long> updated = delegate.updateAll(products, expectedVersions);
+            indexWritten(products, updated);
+            return updated;
+        });
+    }
+
+    @Override
+    public Set<ProductId> deleteAll(Collection<ProductId> ids) {
+        Set<ProductId> deleted = delegate.deleteAll(ids);
+        deleted.forEach(index::remove);
+        return deleted;
+    }
+
+    @Override
+    public List<StockLevel> adjustQuantities(Map<ProductId, Long> deltas, long updatedAt) {
+        return delegate.adjustQuantities(deltas, updatedAt);
+    }
+
+    @Override
+    public Set<ProductId> findExistingIds(Collection<ProductId> ids) {
+        return delegate.findExistingIds(ids);
+    }
+
+    @Override
+    public boolean deleteById(ProductId id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            index.remove(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return delegate.existsByCode(code);
+    }
+
+    @Override
+    public boolean existsByCodeExcludingId(String code, ProductId excludedId) {
+        return delegate.existsByCodeExcludingId(code, excludedId);
+    }
+
+    /**
+     * Runs a write with the index told that this node is writing {@code ids}, so that the
+     * notification of the write, which may arrive before {@code write} returns, is not taken
+     * for somebody else's change.
+     */
+    private <T> T writing(List<ProductId> ids, Supplier<T> write) {
+        index.writing(ids);
+        try {
+            return write.get();
+        } finally {
+            index.wrote(ids, delegate);
+        }
+    }
+
+    private static List<ProductId> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    /** Indexes the written products at the version the delegate reports, not the one passed in. */
+    private void indexWritten(List<Product> products, Map<ProductId, Long> written) {
+        for (Product product : products) {
+            Long version = written.get(product.getId());
+            if (version != null) {
+                product.setVersion(version);
+                index.index(product);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.application.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, with the term's weighted frequency in each. Stored as
+ * variable-length encoded (doc id delta, frequency) pairs, so a posting usually takes two
+ * bytes. Doc ids must be appended in increasing order. Not thread-safe.
+ */
+final class PostingList {
+
+    /** Receives the postings of a list in doc id order. */
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int doc, int frequency);
+    }
+
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+
+    void add(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Doc ids must be added in increasing order");
+        }
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + 10, data.length + (data.length >> 1)));
+        }
+        writeVarInt(doc - lastDoc);
+        writeVarInt(frequency);
+        lastDoc = doc;
+        size++;
+    }
+
+    void forEach(Visitor visitor) {
+        int position = 0;
+        int doc = -1;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int frequency = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            doc += delta;
+            visitor.visit(doc, frequency);
+        }
+    }
+
+    /** Copy keeping the postings whose doc maps to a non-negative id in {@code remap}. */
+    PostingList remap(int[] remap) {
+        PostingList copy = new PostingList();
+        forEach((doc, frequency) -> {
+            if (remap[doc] >= 0) {
+                copy.add(remap[doc], frequency);
+            }
+        });
+        copy.data = Arrays.copyOf(copy.data, copy.length);
+        return copy;
+    }
+
+    /** Number of postings, tombstoned documents included. */
+    int size() {
+        return size;
+    }
+
+    /** Approximate heap footprint: the object, the array header and its capacity. */
+    long memoryBytes() {
+        return 32 + 16 + data.length;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+}
@@ -0,0 +1,640 @@
+package com.example.application.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.example.application.product.dto.ProductSuggestion;
+import com.example.application.product.port.in.SuggestProductsUseCase;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * In-memory inverted index over product name, code, category and description, answering
+ * typeahead queries without a database round trip.
+ * <p>
+ * Every term owns a {@link PostingList} of int doc ids. A query matches products containing
+ * all of its words. The last word also matches as a prefix once it has
+ * {@value #MIN_PREFIX_LENGTH} characters; words of {@value #MIN_FUZZY_LENGTH}+ characters
+ * without an exact match fall back to terms sharing enough trigrams, which absorbs typos.
+ * Matches are scored with BM25 over field-weighted term frequencies.
+ * <p>
+ * Updates give the product a new doc id and tombstone the old one; postings are compacted
+ * once tombstones outnumber live documents. Reads share a lock, writes take it exclusively.
+ */
+public class ProductSearchIndex implements SuggestProductsUseCase {
+
+    static final int NAME_WEIGHT = 3;
+    static final int CODE_WEIGHT = 3;
+    static final int CATEGORY_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    static final int MIN_FUZZY_LENGTH = 3;
+
+    /** A single typed letter would expand to most of the dictionary, so it only matches exactly. */
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    /** Most dictionary terms a single query word expands to through prefix or fuzzy matching. */
+    static final int MAX_EXPANSIONS = 64;
+
+    /**
+     * Idle scratch buffers kept for reuse. Queries are CPU-bound, so about one per core is
+     * ever busy at a time; extra buffers released past this bound are left to the GC.
+     */
+    static final int MAX_POOLED_SCRATCH = Runtime.getRuntime().availableProcessors();
+
+    /** Tombstones tolerated before compaction, whatever the live count. */
+    static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1024;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_WEIGHT = 0.8f;
+    private static final float FUZZY_WEIGHT = 0.6f;
+    private static final double MIN_FUZZY_SIMILARITY = 0.5;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    /** Writes seen while a rebuild scans the repository, replayed onto the new segment. */
+    private List<Consumer<Segment>> pending;
+    /** Set when a rebuild is requested while another one scans; that one then scans again. */
+    private boolean rescan;
+    /**
+     * Idle query accumulators. Requests run on short-lived virtual threads, so buffers are
+     * shared through a pool rather than kept per thread.
+     */
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledScratch = new AtomicInteger();
+    /**
+     * Ids this node is writing. The notification of a write can arrive before the writer has
+     * indexed its result, so announcements of these ids are held until the write is over.
+     */
+    private final Map<ProductId, OwnWrite> ownWrites = new ConcurrentHashMap<>();
+
+    /** Adds a product, or replaces its previous version. */
+    public void index(Product product) {
+        apply(target -> target.add(product));
+    }
+
+    public void remove(ProductId id) {
+        apply(target -> target.remove(id));
+    }
+
+    /**
+     * Catches up with changes announced from elsewhere, typically other nodes: deleted products
+     * are removed, and written ones not yet indexed at their announced version are re-read from
+     * {@code repository}. Echoes of writes already indexed cost no read.
+     */
+    public void refresh(Map<ProductId, Long> written, Collection<ProductId> deleted, ProductRepository repository) {
+        deleted.forEach(this::remove);
+        written.forEach((id, version) -> {
+            if (indexedVersion(id) < version && !heldForOwnWrite(id, version)) {
+                reread(id, repository);
+            }
+        });
+    }
+
+    /**
+     * Marks {@code ids} as being written by this node; every call must be paired with
+     * {@link #wrote}, whatever the outcome of the write.
+     */
+    public void writing(Collection<ProductId> ids) {
+        for (ProductId id : ids) {
+            ownWrites.compute(id, (key, write) -> {
+                OwnWrite current = write != null ? write : new OwnWrite();
+                current.writers++;
+                return current;
+            });
+        }
+    }
+
+    /**
+     * Ends a write announced through {@link #writing}, once its result has been indexed. Ids
+     * announced meanwhile at a version newer than the indexed one, written concurrently by
+     * another node, are re-read from {@code repository}.
+     */
+    public void wrote(Collection<ProductId> ids, ProductRepository repository) {
+        for (ProductId id : ids) {
+            long[] announced = { -1 };
+            ownWrites.computeIfPresent(id, (key, write) -> {
+                announced[0] = write.announced;
+                return --write.writers == 0 ? null : write;
+            });
+            if (indexedVersion(id) < announced[0]) {
+                reread(id, repository);
+            }
+        }
+    }
+
+    private boolean heldForOwnWrite(ProductId id, long version) {
+        return ownWrites.computeIfPresent(id, (key, write) -> {
+            write.announced = Math.max(write.announced, version);
+            return write;
+        }) != null;
+    }
+
+    private void reread(ProductId id, ProductRepository repository) {
+        repository.findById(id).ifPresentOrElse(
+            product -> apply(target -> target.addIfNewer(product)),
+            () -> remove(id));
+    }
+
+    /** Version of the indexed copy of a product, or -1 when it is not indexed. */
+    long indexedVersion(ProductId id) {
+        lock.readLock().lock();
+        try {
+            return segment.version(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with every product of {@code repository}, read as a stream.
+     * The previous contents keep answering queries until the scan completes; writes made in
+     * the meantime are applied to both.
+     * <p>
+     * Rebuilds never run side by side. A rebuild requested while another one is scanning
+     * returns at once and makes the running one scan again when it completes, so any number of
+     * concurrent requests coalesce into one further scan that sees all of their writes.
+     */
+    public void rebuild(ProductRepository repository) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                rescan = true;
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean again;
+        do {
+            Segment fresh = new Segment();
+            try {
+                repository.forEach(ProductFilter.none(), fresh::add);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                    rescan = false;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(write -> write.accept(fresh));
+                fresh.compactIfNeeded();
+                segment = fresh;
+                again = rescan;
+                rescan = false;
+                pending = again ? new ArrayList<>() : null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (again);
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String text, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<String> words = SearchTokenizer.tokenize(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Scratch scratch = acquireScratch();
+        lock.readLock().lock();
+        try {
+            return segment.search(words, limit, scratch);
+        } finally {
+            lock.readLock().unlock();
+            releaseScratch(scratch);
+        }
+    }
+
+    private Scratch acquireScratch() {
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            return new Scratch();
+        }
+        pooledScratch.decrementAndGet();
+        return scratch;
+    }
+
+    private void releaseScratch(Scratch scratch) {
+        if (pooledScratch.incrementAndGet() <= MAX_POOLED_SCRATCH) {
+            scratchPool.offer(scratch);
+        } else {
+            pooledScratch.decrementAndGet();
+        }
+    }
+
+    /** Number of products indexed. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Rough heap footprint of the index: dictionary, postings and stored suggestion fields. */
+    public long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return segment.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Segment> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(segment);
+            segment.compactIfNeeded();
+            if (pending != null) {
+                pending.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Stored fields of a document, returned with its matches. */
+    /** Writers of one id on this node, and the newest version announced while they run. */
+    private static final class OwnWrite {
+        int writers;
+        long announced = -1;
+    }
+
+    private record Doc(ProductId id, String code, String name, String category, long version) {
+    }
+
+    private static final class Segment {
+        final TreeMap<String, PostingList> terms = new TreeMap<>();
+        final Map<String, List<String>> trigrams = new HashMap<>();
+        final Map<ProductId, Integer> docIds = new HashMap<>();
+        Doc[] docs = new Doc[256];
+        int[] lengths = new int[256];
+        int nextDoc;
+        int live;
+        long totalLength;
+
+        void add(Product product) {
+            remove(product.getId());
+            Map<String, Integer> frequencies = new HashMap<>();
+            count(frequencies, product.getName(), NAME_WEIGHT);
+            count(frequencies, product.getCode(), CODE_WEIGHT);
+            count(frequencies, product.getCategory(), CATEGORY_WEIGHT);
+            count(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+
+            int doc = nextDoc++;
+            if (doc == docs.length) {
+                docs = Arrays.copyOf(docs, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                posting(entry.getKey()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            docs[doc] = new Doc(product.getId(), product.getCode(), product.getName(), product.getCategory(), product.getVersion());
+            lengths[doc] = length;
+            docIds.put(product.getId(), doc);
+            live++;
+            totalLength += length;
+        }
+
+        /** Adds a product read while a newer copy may have been indexed in the meantime. */
+        void addIfNewer(Product product) {
+            if (version(product.getId()) < product.getVersion()) {
+                add(product);
+            }
+        }
+
+        long version(ProductId id) {
+            Integer doc = docIds.get(id);
+            return doc != null ? docs[doc].version() : -1;
+        }
+
+        void remove(ProductId id) {
+            Integer doc = docIds.remove(id);
+            if (doc != null) {
+                docs[doc] = null;
+                live--;
+                totalLength -= lengths[doc];
+            }
+        }
+
+        private static void count(Map<String, Integer> frequencies, String text, int weight) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+
+        private PostingList posting(String term) {
+            PostingList postings = terms.get(term);
+            if (postings == null) {
+                postings = new PostingList();
+                terms.put(term, postings);
+                for (String gram : trigrams(term)) {
+                    trigrams.computeIfAbsent(gram, g -> new ArrayList<>()).add(term);
+                }
+            }
+            return postings;
+        }
+
+        /** Renumbers live documents densely and drops tombstones from every posting list. */
+        void compactIfNeeded() {
+            int tombstones = nextDoc - live;
+            if (tombstones < MIN_TOMBSTONES_BEFORE_COMPACTION || tombstones <= live) {
+                return;
+            }
+            int[] remap = new int[nextDoc];
+            int next = 0;
+            for (int doc = 0; doc < nextDoc; doc++) {
+                if (docs[doc] != null) {
+                    docs[next] = docs[doc];
+                    lengths[next] = lengths[doc];
+                    docIds.put(docs[next].id(), next);
+                    remap[doc] = next++;
+                } else {
+                    remap[doc] = -1;
+                }
+            }
+            Arrays.fill(docs, next, nextDoc, null);
+            nextDoc = next;
+
+            trigrams.clear();
+            var iterator = terms.entrySet().iterator();
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+                PostingList compacted = entry.getValue().remap(remap);
+                if (compacted.size() == 0) {
+                    iterator.remove();
+                } else {
+                    entry.setValue(compacted);
+                    for (String gram : trigrams(entry.getKey())) {
+                        trigrams.computeIfAbsent(gram, g -> new ArrayList<>()).add(entry.getKey());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Scores every query word in turn into dense pooled accumulators. A word only
+         * visits the docs that matched all the previous words, and a doc reached through
+         * several expansions of one word keeps its best score, so the cost is linear in the
+         * postings read.
+         */
+        List<ProductSuggestion> search(List<String> words, int limit, Scratch scratch) {
+            if (live == 0) {
+                return List.of();
+            }
+            scratch.ensureCapacity(nextDoc);
+            float averageLength = (float) totalLength / live;
+            IntList candidates = scratch.candidates;
+            try {
+                for (int i = 0; i < words.size(); i++) {
+                    match(words.get(i), i == words.size() - 1, i, averageLength, scratch);
+                    if (candidates.size == 0) {
+                        return List.of();
+                    }
+                }
+                return top(candidates, limit, scratch.totals);
+            } finally {
+                scratch.reset();
+            }
+        }
+
+        /**
+         * Adds the best score of one query word to the totals of the candidates that match
+         * it, and narrows the candidates down to those.
+         */
+        private void match(String word, boolean prefix, int position, float averageLength, Scratch scratch) {
+            List<String> expanded = new ArrayList<>();
+            List<Float> weights = new ArrayList<>();
+            if (terms.containsKey(word)) {
+                expanded.add(word);
+                weights.add(1f);
+            }
+            if (prefix && word.length() >= MIN_PREFIX_LENGTH) {
+                for (String term : terms.tailMap(word, false).keySet()) {
+                    if (!term.startsWith(word) || expanded.size() >= MAX_EXPANSIONS) {
+                        break;
+                    }
+                    expanded.add(term);
+                    weights.add(PREFIX_WEIGHT);
+                }
+            }
+            if (expanded.isEmpty() && word.length() >= MIN_FUZZY_LENGTH) {
+                fuzzy(word, expanded, weights);
+            }
+
+            float[] best = scratch.best;
+            int[] matched = scratch.matched;
+            IntList touched = scratch.touched;
+            touched.clear();
+            for (int i = 0; i < expanded.size(); i++) {
+                PostingList postings = terms.get(expanded.get(i));
+                int df = postings.size();
+                float idf = (float) Math.log(1 + Math.max(0, live - df + 0.5) / (df + 0.5));
+                float weight = weights.get(i) * idf;
+                postings.forEach((doc, frequency) -> {
+                    if (matched[doc] != position || docs[doc] == null) {
+                        return;
+                    }
+                    float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    float score = weight * frequency * (K1 + 1) / (frequency + norm);
+                    if (best[doc] == 0) {
+                        touched.add(doc);
+                    }
+                    if (score > best[doc]) {
+                        best[doc] = score;
+                    }
+                });
+            }
+
+            float[] totals = scratch.totals;
+            IntList candidates = scratch.candidates;
+            if (position == 0) {
+                // Every later match is among these, so they are all a reset has to clear
+                scratch.visited.addAll(touched);
+            }
+            candidates.clear();
+            for (int i = 0; i < touched.size; i++) {
+                int doc = touched.values[i];
+                totals[doc] += best[doc];
+                best[doc] = 0;
+                matched[doc] = position + 1;
+                candidates.add(doc);
+            }
+        }
+
+        /** Dictionary terms close to {@code word} by trigram Dice coefficient, best first. */
+        private void fuzzy(String word, List<String> expanded, List<Float> weights) {
+            Set<String> grams = trigrams(word);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                for (String term : trigrams.getOrDefault(gram, List.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+            List<Map.Entry<String, Double>> candidates = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                String term = entry.getKey();
+                // A padded term of n characters has n trigrams
+                double similarity = 2.0 * entry.getValue() / (grams.size() + term.length());
+                if (similarity >= MIN_FUZZY_SIMILARITY) {
+                    candidates.add(Map.entry(term, similarity));
+                }
+            }
+            candidates.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            for (Map.Entry<String, Double> candidate : candidates.subList(0, Math.min(MAX_EXPANSIONS, candidates.size()))) {
+                expanded.add(candidate.getKey());
+                weights.add((float) (FUZZY_WEIGHT * candidate.getValue()));
+            }
+        }
+
+        private List<ProductSuggestion> top(IntList candidates, int limit, float[] totals) {
+            int k = Math.min(limit, candidates.size);
+            int[] topDocs = new int[k];
+            float[] topScores = new float[k];
+            int count = 0;
+            for (int i = 0; i < candidates.size; i++) {
+                int doc = candidates.values[i];
+                float score = totals[doc];
+                if (count == k && score <= topScores[k - 1]) {
+                    continue;
+                }
+                int position = count < k ? count++ : k - 1;
+                while (position > 0 && topScores[position - 1] < score) {
+                    topDocs[position] = topDocs[position - 1];
+                    topScores[position] = topScores[position - 1];
+                    position--;
+                }
+                topDocs[position] = doc;
+                topScores[position] = score;
+            }
+            List<ProductSuggestion> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Doc doc = docs[topDocs[i]];
+                suggestions.add(new ProductSuggestion(doc.id().toString(), doc.code(), doc.name(), doc.category(), topScores[i]));
+            }
+            return suggestions;
+        }
+
+        long memoryBytes() {
+            long bytes = 0;
+            for (Map.Entry<String, PostingList> entry : terms.entrySet()) {
+                // Tree entry, key string and the term's slot in its trigram lists
+                bytes += 40 + 40 + entry.getKey().length() + entry.getValue().memoryBytes()
+                         + 8L * (entry.getKey().length() + 1);
+            }
+            bytes += 56L * trigrams.size();
+            for (int doc = 0; doc < nextDoc; doc++) {
+                if (docs[doc] != null) {
+                    // Stored fields, id map entry and the id itself
+                    bytes += 32 + 48 + 32 + 48 + stringBytes(docs[doc].code()) + stringBytes(docs[doc].name())
+                             + stringBytes(docs[doc].category());
+                }
+            }
+            return bytes + 12L * docs.length;
+        }
+
+        private static long stringBytes(String value) {
+            return value == null ? 0 : 40 + value.length();
+        }
+
+        /** Trigrams of a term padded with '$', so short terms and word edges have some. */
+        private static Set<String> trigrams(String term) {
+            String padded = "$" + term + "$";
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * Query accumulators indexed by doc id, borrowed from the pool for one query at a time so
+     * queries allocate nothing proportional to the catalog. Only entries a query touched are
+     * cleared after it.
+     */
+    private static final class Scratch {
+        float[] best = new float[0];
+        float[] totals = new float[0];
+        /** Number of leading query words a doc has matched. */
+        int[] matched = new int[0];
+        final IntList touched = new IntList();
+        final IntList candidates = new IntList();
+        final IntList visited = new IntList();
+
+        void ensureCapacity(int docs) {
+            if (best.length < docs) {
+                best = new float[docs];
+                totals = new float[docs];
+                matched = new int[docs];
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < visited.size; i++) {
+                int doc = visited.values[i];
+                best[doc] = 0;
+                totals[doc] = 0;
+                matched[doc] = 0;
+            }
+            visited.clear();
+            touched.clear();
+            candidates.clear();
+        }
+    }
+
+    /** Growable int array, avoiding boxing while collecting doc ids. */
+    private static final class IntList {
+        int[] values = new int[64];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.application.product.service;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.mockito.MockitoAnnotations;
+
+import com.example.application.product.dto.ProductImportRejection;
+import com.example.application.product.dto.ProductImportReport;
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.domain.product.Product;
+
+class ProductBulkTransferServiceTest {
+
+    @Mock
+    private ProductBulkStore productBulkStore;
+
+    private ProductBulkTransferService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ProductBulkTransferService(productBulkStore);
+    }
+
+    @Test
+    void importCsv_ShouldStageValidRowsAndReportInvalidOnes() {
+        // Given
+        String csv = "code,name,category,price,quantity,internalReference,inventoryStatus\n"
+            + "P-1,\"Desk, oak\",Furniture,120.5,3,REF-1,INSTOCK\n"
+            + "P-2,Chair,Furniture,not-a-price,3,REF-2,INSTOCK\n"
+            + "P-3,Lamp,Lighting,15,0,REF-3,SOLDOUT\n"
+            + "P-4,\"Shelf \"\"XL\"\"\",Furniture,80,2,REF-4,LOWSTOCK\n";
+        List<Long> stagedLines = new ArrayList<>();
+        List<Product> staged = new ArrayList<>();
+        doAnswer(invocation -> {
+            ProductBulkStore.Source source = invocation.getArgument(0);
+            source.writeTo((line, product) -> {
+                stagedLines.add(line);
+                staged.add(product);
+            });
+            return new ProductBulkStore.MergeResult(1, 0,
+                List.of(new ProductImportRejection(5, "P-4", "Product with this code already exists")));
+        }).when(productBulkStore).merge(any());
+
+        // When
+        ProductImportReport report = service.importCsv(new StringReader(csv));
+
+        // Then
+        assertEquals(List.of(2L, 5L), stagedLines);
+        assertEquals("Desk, oak", staged.get(0).getName());
+        assertEquals("Shelf \"XL\"", staged.get(1).getName());
+        assertEquals(4, report.received());
+        assertEquals(1, report.inserted());
+        assertEquals(0, report.updated());
+        assertEquals(3, report.rejected());
+        assertEquals(List.of(3L, 4L, 5L), report.rejections().stream().map(ProductImportRejection::line).toList());
+        assertEquals("P-2", report.rejections().get(0).code());
+    }
+
+    @Test
+    void importCsv_ShouldRejectUnknownColumnsBeforeLoading() {
+        // Given
+        String csv = "code,name,colour\nP-1,Desk,brown\n";
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.importCsv(new StringReader(csv)));
+        verify(productBulkStore, never()).merge(any());
+    }
+}
@@ -1,39 +1,83 @@
 package com.example.application.product.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 
+import com.example.application.product.port.out.ProductImageStore;
 import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.dto.ProductBatchItemResult;
+import com.example.application.product.dto.ProductBatchItemResult.Outcome;
+import com.example.application.product.dto.ProductBatchOperation;
+import com.example.application.product.dto.ProductChanges;
 import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockAdjustment;
+import com.example.application.product.dto.StockAdjustmentResult;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.exception.DuplicateProductException;
+import com.example.application.product.exception.ProductChangesExpiredException;
+import com.example.application.product.exception.ProductNotFoundException;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductCursor;
+import com.example.application.product.query.ProductField;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.application.product.query.ProductSort;
+import com.example.domain.product.InvalidProductException;
 import com.example.domain.product.Product;
 import com.example.domain.product.ProductId;
+import com.example.domain.product.ProductViolations;
 
 class ProductServiceTest {
 
     @Mock
     private ProductRepository productRepository;
     
+    @Mock
+    private ProductImageStore productImageStore;
+    
     private ProductService productService;
     
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        productService = new ProductService(productRepository);
+        productService = new ProductService(productRepository, productImageStore);
     }
     
     // Utility method for converting from Product to ProductDTO
@@ -57,12 +101,11 @@ class ProductServiceTest {
     }
     
     @Test
-    void createProduct_ShouldSaveAndReturnProduct() {
+    void createProduct_ShouldInsertAndReturnProduct() {
         // Arrange
         Product product = createTestProduct();
         ProductDTO productDTO = convertToDTO(product);
-        when(productRepository.existsByCode(product.getCode())).thenReturn(false);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.insert(any(Product.class))).thenReturn(Optional.of(product));
         
         // Act
         ProductDTO result = productService.create(productDTO);
@@ -71,8 +114,9 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(productDTO.getId(), result.getId());
         assertEquals(productDTO.getCode(), result.getCode());
-        verify(productRepository).existsByCode(product.getCode());
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).insert(any(Product.class));
+        verify(productRepository, never()).existsByCode(any());
+        verify(productRepository, never()).findById(any(ProductId.class));
     }
     
     @Test
@@ -80,15 +124,30 @@ class ProductServiceTest {
         // Arrange
         Product product = createTestProduct();
         ProductDTO productDTO = convertToDTO(product);
-        when(productRepository.existsByCode(product.getCode())).thenReturn(true);
+        when(productRepository.insert(any(Product.class)))
+            .thenThrow(DuplicateProductException.code(product.getCode(), null));
         
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
             () -> productService.create(productDTO));
         
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(productRepository).existsByCode(product.getCode());
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productImageStore, never()).save(any(ProductImage.class));
+    }
+    
+    @Test
+    void createProduct_WithDuplicateId_ShouldThrowException() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductDTO productDTO = convertToDTO(product);
+        when(productRepository.insert(any(Product.class))).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        DuplicateProductException exception = assertThrows(DuplicateProductException.class, 
+            () -> productService.create(productDTO));
+        
+        assertTrue(exception.getMessage().contains("already exists"));
+        assertEquals(DuplicateProductException.Property.ID, exception.getProperty());
     }
     
     @Test
@@ -96,9 +155,7 @@ class ProductServiceTest {
         // Arrange
         Product product = createTestProduct();
         ProductDTO productDTO = convertToDTO(product);
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-        when(productRepository.findAll()).thenReturn(List.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.update(any(Product.class), isNull())).thenReturn(Optional.of(product));
         
         // Act
         ProductDTO result = productService.update(productDTO);
@@ -106,8 +163,9 @@ class ProductServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(productDTO.getId(), result.getId());
-        verify(productRepository).findById(product.getId());
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).update(any(Product.class), isNull());
+        verify(productRepository, never()).findById(any(ProductId.class));
+        verify(productRepository, never()).findAll();
     }
     
     @Test
@@ -115,37 +173,62 @@ class ProductServiceTest {
         // Arrange
         Product product = createTestProduct();
         ProductDTO productDTO = convertToDTO(product);
-        when(productRepository.findById(product.getId())).thenReturn(Optional.empty());
+        when(productRepository.update(any(Product.class), isNull())).thenReturn(Optional.empty());
         
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
             () -> productService.update(productDTO));
         
         assertTrue(exception.getMessage().contains("does not exist"));
-        verify(productRepository).findById(product.getId());
-        verify(productRepository, never()).save(any(Product.class));
     }
     
     @Test
-    void updateProduct_WithDuplicateCode_ShouldThrowException() {
+    void updateProduct_WithStaleVersion_ShouldReportConflict() {
         // Arrange
-        Product product1 = createTestProduct();
-        ProductDTO productDTO1 = convertToDTO(product1);
+        Product product = createTestProduct();
+        ProductDTO productDTO = convertToDTO(product);
+        productDTO.setVersion(2L);
+        when(productRepository.update(any(Product.class), eq(2L))).thenReturn(Optional.empty());
+        when(productRepository.findRevisionById(product.getId())).thenReturn(Optional.of(new ProductRevision(3, 0)));
         
-        Product product2 = createTestProduct();
-        product2.setId(ProductId.newId()); // Different ID
-        product2.setCode("TEST-001"); // Same code
+        // Act & Assert
+        ProductVersionConflictException exception = assertThrows(ProductVersionConflictException.class,
+            () -> productService.update(productDTO));
         
-        when(productRepository.findById(product1.getId())).thenReturn(Optional.of(product1));
-        when(productRepository.findAll()).thenReturn(Arrays.asList(product1, product2));
+        assertEquals(2, exception.getExpectedVersion());
+        assertEquals(3, exception.getCurrentVersion());
+    }
+    
+    @Test
+    void updateProduct_WithVersionOfMissingProduct_ShouldThrowException() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductDTO productDTO = convertToDTO(product);
+        productDTO.setVersion(2L);
+        when(productRepository.update(any(Product.class), eq(2L))).thenReturn(Optional.empty());
+        when(productRepository.findRevisionById(product.getId())).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> productService.update(productDTO));
+        
+        assertTrue(exception.getMessage().contains("does not exist"));
+    }
+    
+    @Test
+    void updateProduct_WithDuplicateCode_ShouldThrowException() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductDTO productDTO = convertToDTO(product);
+        when(productRepository.update(any(Product.class), isNull()))
+            .thenThrow(DuplicateProductException.code(product.getCode(), null));
         
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
-            () -> productService.update(productDTO1));
+            () -> productService.update(productDTO));
         
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(productRepository).findById(product1.getId());
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).findAll();
     }
     
     @Test
@@ -153,14 +236,14 @@ class ProductServiceTest {
         // Arrange
         ProductId id = ProductId.newId();
         String idString = id.toString();
-        when(productRepository.findById(id)).thenReturn(Optional.of(createTestProduct()));
+        when(productRepository.deleteById(id)).thenReturn(true);
         
         // Act
         productService.deleteById(idString);
         
         // Assert
-        verify(productRepository).findById(id);
         verify(productRepository).deleteById(id);
+        verify(productRepository, never()).findById(any(ProductId.class));
     }
     
     @Test
@@ -168,15 +251,141 @@ class ProductServiceTest {
         // Arrange
         ProductId id = ProductId.newId();
         String idString = id.toString();
-        when(productRepository.findById(id)).thenReturn(Optional.empty());
+        when(productRepository.deleteById(id)).thenReturn(false);
         
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class, 
             () -> productService.deleteById(idString));
         
         assertTrue(exception.getMessage().contains("does not exist"));
-        verify(productRepository).findById(id);
-        verify(productRepository, never()).deleteById(any(ProductId.class));
+        assertEquals(idString, exception.getProductId());
+    }
+    
+    @Test
+    void isCodeAvailable_ShouldUseIndexedLookupExcludingEditedProduct() {
+        // Arrange
+        ProductId id = ProductId.newId();
+        when(productRepository.existsByCodeExcludingId("TEST-001", id)).thenReturn(true);
+        when(productRepository.existsByCode("TEST-002")).thenReturn(false);
+        
+        // Act & Assert
+        assertFalse(productService.isCodeAvailable("TEST-001", id.toString()));
+        assertTrue(productService.isCodeAvailable("TEST-002", null));
+        verify(productRepository, never()).findAll();
+    }
+    
+    @Test
+    void executeBatch_ShouldReportPerItemOutcomes() {
+        // Arrange
+        Product created = createTestProduct();
+        Product duplicate = createTestProduct();
+        duplicate.setId(ProductId.newId());
+        Product updated = createTestProduct();
+        updated.setId(ProductId.newId());
+        updated.setCode("TEST-002");
+        Product missing = createTestProduct();
+        missing.setId(ProductId.newId());
+        missing.setCode("TEST-003");
+        ProductId deletedId = ProductId.newId();
+        ProductDTO invalid = convertToDTO(createTestProduct());
+        invalid.setName("");
+        
+        when(productRepository.insertAll(any())).thenReturn(Map.of(created.getId(), 0L));
+        when(productRepository.updateAll(any(), any())).thenReturn(Map.of(updated.getId(), 2L));
+        when(productRepository.findExistingIds(any())).thenReturn(Set.of());
+        when(productRepository.deleteAll(any())).thenReturn(Set.of(deletedId));
+        
+        // Act
+        List<ProductBatchItemResult> results = productService.executeBatch(List.of(
+            ProductBatchOperation.create(convertToDTO(created)),
+            ProductBatchOperation.create(convertToDTO(duplicate)),
+            ProductBatchOperation.update(convertToDTO(updated)),
+            ProductBatchOperation.update(convertToDTO(missing)),
+            ProductBatchOperation.delete(deletedId.toString()),
+            ProductBatchOperation.create(invalid)
+        ));
+        
+        // Assert
+        assertEquals(List.of(Outcome.CREATED, Outcome.CONFLICT, Outcome.UPDATED, Outcome.NOT_FOUND, Outcome.DELETED, Outcome.INVALID),
+            results.stream().map(ProductBatchItemResult::outcome).toList());
+        verify(productRepository).findExistingIds(List.of(missing.getId()));
+        verify(productRepository, never()).insert(any(Product.class));
+    }
+    
+    @Test
+    void executeBatch_WithRepeatedIds_ShouldRejectEveryRepeatBeforeWriting() {
+        // Arrange
+        Product created = createTestProduct();
+        created.setId(ProductId.newId());
+        Product createdAgain = createTestProduct();
+        createdAgain.setId(created.getId());
+        createdAgain.setName("Never persisted");
+        Product updated = createTestProduct();
+        updated.setId(ProductId.newId());
+        updated.setCode("TEST-002");
+        ProductDTO firstUpdate = convertToDTO(updated);
+        firstUpdate.setVersion(1L);
+        ProductDTO secondUpdate = convertToDTO(updated);
+        secondUpdate.setVersion(7L);
+        ProductId deletedId = ProductId.newId();
+        
+        when(productRepository.insertAll(any())).thenReturn(Map.of(created.getId(), 0L));
+        when(productRepository.updateAll(any(), any())).thenReturn(Map.of(updated.getId(), 2L));
+        when(productRepository.deleteAll(any())).thenReturn(Set.of(deletedId));
+        
+        // Act
+        List<ProductBatchItemResult> results = productService.executeBatch(List.of(
+            ProductBatchOperation.create(convertToDTO(created)),
+            ProductBatchOperation.create(convertToDTO(createdAgain)),
+            ProductBatchOperation.update(firstUpdate),
+            ProductBatchOperation.update(secondUpdate),
+            ProductBatchOperation.delete(deletedId.toString()),
+            ProductBatchOperation.delete(deletedId.toString()),
+            ProductBatchOperation.delete(created.getId().toString())
+        ));
+        
+        // Assert: only the first operation on each id reaches the repository
+        assertEquals(List.of(Outcome.CREATED, Outcome.INVALID, Outcome.UPDATED, Outcome.INVALID,
+                Outcome.DELETED, Outcome.INVALID, Outcome.INVALID),
+            results.stream().map(ProductBatchItemResult::outcome).toList());
+        assertTrue(results.get(1).message().contains("more than once"));
+        verify(productRepository).insertAll(argThat(products ->
+            products.size() == 1 && products.get(0).getName().equals(created.getName())));
+        verify(productRepository).updateAll(any(), eq(Map.of(updated.getId(), 1L)));
+        verify(productRepository).deleteAll(List.of(deletedId));
+    }
+    
+    @Test
+    void executeBatch_WithStaleVersion_ShouldReportAVersionConflict() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductDTO stale = convertToDTO(product);
+        stale.setVersion(3L);
+        when(productRepository.updateAll(any(), eq(Map.of(product.getId(), 3L)))).thenReturn(Map.of());
+        when(productRepository.findExistingIds(any())).thenReturn(Set.of(product.getId()));
+        when(productRepository.findRevisionById(product.getId())).thenReturn(Optional.of(new ProductRevision(4L, 0L)));
+        
+        // Act
+        List<ProductBatchItemResult> results = productService.executeBatch(List.of(ProductBatchOperation.update(stale)));
+        
+        // Assert
+        assertEquals(Outcome.CONFLICT, results.get(0).outcome());
+        assertTrue(results.get(0).message().contains("version 4"));
+    }
+    
+    @Test
+    void executeBatch_WithOversizedImage_ShouldRejectTheItemBeforeWriting() {
+        // Arrange
+        ProductDTO oversized = convertToDTO(createTestProduct());
+        oversized.setImage(new byte[ProductService.MAX_IMAGE_SIZE + 1]);
+        
+        // Act
+        List<ProductBatchItemResult> results = productService.executeBatch(List.of(ProductBatchOperation.create(oversized)));
+        
+        // Assert
+        assertEquals(Outcome.INVALID, results.get(0).outcome());
+        verify(productRepository, never()).insertAll(any());
+        verify(productImageStore, never()).save(any(ProductImage.class));
     }
     
     @Test
@@ -211,6 +420,78 @@ class ProductServiceTest {
         verify(productRepository).findById(id);
     }
     
+    @Test
+    void getRevision_ShouldNotLoadTheProduct() {
+        // Arrange
+        ProductId productId = ProductId.newId();
+        ProductRevision revision = new ProductRevision(4, 1_700_000_000_000L);
+        when(productRepository.findRevisionById(productId)).thenReturn(Optional.of(revision));
+        
+        // Act
+        Optional<ProductRevision> result = productService.getRevision(productId.toString());
+        
+        // Assert
+        assertEquals(Optional.of(revision), result);
+        verify(productRepository, never()).findById(any(ProductId.class));
+    }
+    
+    @Test
+    void getChanges_WithExtraEntry_ShouldReturnPartialWatermark() {
+        // Arrange
+        Product changed = createTestProduct();
+        ProductId deletedId = ProductId.newId();
+        ProductId beyondLimit = ProductId.newId();
+        when(productRepository.findChanges(ProductChangeCursor.START, 2)).thenReturn(new ProductChangeLog(List.of(
+            new ProductChangeLog.Entry(changed.getId(), 10, changed),
+            new ProductChangeLog.Entry(deletedId, 11, null),
+            new ProductChangeLog.Entry(beyondLimit, 12, null)
+        ), 20, 0));
+        
+        // Act
+        ProductChanges result = productService.getChanges(null, 2);
+        
+        // Assert
+        assertTrue(result.hasMore());
+        assertEquals(List.of(changed.getId().toString()), result.changed().stream().map(ProductDTO::getId).toList());
+        assertEquals(List.of(deletedId.toString()), result.deleted());
+        assertEquals(new ProductChangeCursor(11, deletedId), ProductChangeCursor.decode(result.watermark()));
+    }
+    
+    @Test
+    void getChanges_WithWatermarkAtOrBelowPrunedTombstones_ShouldRequireResync() {
+        // Arrange
+        ProductChangeCursor stale = new ProductChangeCursor(11, null);
+        ProductChangeCursor partial = new ProductChangeCursor(15, ProductId.newId());
+        ProductChangeCursor fresh = new ProductChangeCursor(16, null);
+        when(productRepository.findChanges(any(ProductChangeCursor.class), eq(10)))
+            .thenReturn(new ProductChangeLog(List.of(), 20, 15));
+        
+        // Act & Assert
+        assertThrows(ProductChangesExpiredException.class, () -> productService.getChanges(stale, 10));
+        assertThrows(ProductChangesExpiredException.class, () -> productService.getChanges(partial, 10));
+        assertEquals(new ProductChangeCursor(20, null), ProductChangeCursor.decode(productService.getChanges(fresh, 10).watermark()));
+        assertEquals(new ProductChangeCursor(20, null), ProductChangeCursor.decode(productService.getChanges(null, 10).watermark()));
+    }
+    
+    @Test
+    void getChanges_WhenComplete_ShouldAdvanceWatermarkToHorizon() {
+        // Arrange
+        ProductChangeCursor since = new ProductChangeCursor(11, ProductId.newId());
+        when(productRepository.findChanges(since, 10)).thenReturn(new ProductChangeLog(List.of(), 20, 0));
+        ProductChangeCursor stalled = new ProductChangeCursor(30, null);
+        when(productRepository.findChanges(stalled, 10)).thenReturn(new ProductChangeLog(List.of(), 25, 0));
+        
+        // Act
+        ProductChanges advanced = productService.getChanges(since, 10);
+        ProductChanges unchanged = productService.getChanges(stalled, 10);
+        
+        // Assert
+        assertFalse(advanced.hasMore());
+        assertEquals(new ProductChangeCursor(20, null), ProductChangeCursor.decode(advanced.watermark()));
+        assertEquals(stalled, ProductChangeCursor.decode(unchanged.watermark()));
+        assertThrows(IllegalArgumentException.class, () -> productService.getChanges(null, 0));
+    }
+    
     @Test
     void getAll_ShouldReturnAllProducts() {
         // Arrange
@@ -228,6 +509,305 @@ class ProductServiceTest {
         verify(productRepository).findAll();
     }
     
+    @Test
+    void getPage_WithExtraRow_ShouldTrimAndReturnNextCursor() {
+        // Arrange
+        Product product1 = createTestProduct();
+        Product product2 = createTestProduct();
+        product2.setId(ProductId.newId());
+        product2.setCode("TEST-002");
+        Product product3 = createTestProduct();
+        product3.setId(ProductId.newId());
+        product3.setCode("TEST-003");
+        ProductPageRequest request = new ProductPageRequest(ProductFilter.none(), ProductSort.CODE, false, 2, null);
+        when(productRepository.findPage(request)).thenReturn(Arrays.asList(product1, product2, product3));
+        
+        // Act
+        ProductPage page = productService.getPage(request);
+        
+        // Assert
+        assertEquals(2, page.items().size());
+        assertTrue(page.hasNext());
+        ProductCursor cursor = ProductCursor.decode(page.nextCursor());
+        assertEquals(product2.getId(), cursor.id());
+        assertEquals("TEST-002", cursor.sortValue());
+    }
+    
+    @Test
+    void getPage_OnLastPage_ShouldNotReturnCursor() {
+        // Arrange
+        ProductPageRequest request = ProductPageRequest.firstPage();
+        when(productRepository.findPage(request)).thenReturn(List.of(createTestProduct()));
+        
+        // Act
+        ProductPage page = productService.getPage(request);
+        
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+    
+    @Test
+    void getPage_WithProjection_ShouldReadSortKeyAndVersionToo() {
+        // Arrange
+        ProductDTO first = new ProductDTO();
+        first.setId(ProductId.newId().toString());
+        first.setName("First");
+        first.setPrice(10.0);
+        ProductDTO second = new ProductDTO();
+        second.setId(ProductId.newId().toString());
+        second.setName("Second");
+        second.setPrice(20.0);
+        ProductProjection projection = ProductProjection.parse("name");
+        ProductPageRequest request = new ProductPageRequest(ProductFilter.none(), ProductSort.PRICE, false, 1, null, projection);
+        ProductProjection read = projection.with(ProductField.PRICE, ProductField.VERSION);
+        when(productRepository.findProjectedPage(request.withProjection(read))).thenReturn(List.of(first, second));
+        
+        // Act
+        ProductPage page = productService.getPage(request);
+        
+        // Assert
+        assertEquals(List.of(first), page.items());
+        ProductCursor cursor = ProductCursor.decode(page.nextCursor());
+        assertEquals(first.getId(), cursor.id().toString());
+        assertEquals("10.0", cursor.sortValue());
+        verify(productRepository, never()).findPage(any());
+    }
+    
+    @Test
+    void getById_WithProjection_ShouldReadProjectedColumnsOnly() {
+        // Arrange
+        ProductId id = ProductId.newId();
+        ProductProjection projection = ProductProjection.parse("name,price");
+        ProductDTO projected = new ProductDTO();
+        projected.setId(id.toString());
+        projected.setName("Projected");
+        when(productRepository.findProjectedById(id, projection)).thenReturn(Optional.of(projected));
+        
+        // Act
+        Optional<ProductDTO> result = productService.getById(id.toString(), projection);
+        
+        // Assert
+        assertEquals(Optional.of(projected), result);
+        verify(productRepository, never()).findById(any());
+    }
+    
+    @Test
+    void search_WithExtraHit_ShouldTrimAndReturnRankCursor() {
+        // Arrange
+        Product best = createTestProduct();
+        Product second = createTestProduct();
+        second.setId(ProductId.newId());
+        Product third = createTestProduct();
+        third.setId(ProductId.newId());
+        ProductSearchRequest request = new ProductSearchRequest("  test product ", null, 2, null);
+        when(productRepository.search(request)).thenReturn(List.of(
+            new ProductSearchHit(best, 0.9f), new ProductSearchHit(second, 0.25f), new ProductSearchHit(third, 0.1f)));
+        
+        // Act
+        ProductPage page = productService.search(request);
+        
+        // Assert
+        assertEquals("test product", request.text());
+        assertEquals(2, page.items().size());
+        assertEquals(best.getId().toString(), page.items().get(0).getId());
+        ProductCursor cursor = ProductCursor.decode(page.nextCursor());
+        assertEquals(second.getId(), cursor.id());
+        assertEquals(0.25f, Float.parseFloat(cursor.sortValue()));
+    }
+    
+    @Test
+    void search_WithBlankText_ShouldRejectRequest() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductSearchRequest(" ", null, 10, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProductSearchRequest("x".repeat(ProductSearchRequest.MAX_TEXT_LENGTH + 1), null, 10, null));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAll_ShouldStreamConvertedProducts() {
+        // Arrange
+        Product product1 = createTestProduct();
+        Product product2 = createTestProduct();
+        product2.setId(ProductId.newId());
+        doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(1);
+            action.accept(product1);
+            action.accept(product2);
+            return null;
+        }).when(productRepository).forEach(eq(ProductFilter.none()), any(Consumer.class));
+        List<ProductDTO> exported = new ArrayList<>();
+        
+        // Act
+        productService.exportAll(ProductFilter.none(), exported::add);
+        
+        // Assert
+        assertEquals(2, exported.size());
+        assertEquals(product2.getId().toString(), exported.get(1).getId());
+        verify(productRepository, never()).findAll();
+    }
+    
+    @Test
+    void createProduct_WithEmbeddedImage_ShouldWriteItWithTheRow() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductDTO productDTO = convertToDTO(product);
+        byte[] png = new byte[] { (byte) 0x89, 'P', 'N', 'G', 1, 2, 3 };
+        productDTO.setImage(png);
+        when(productRepository.insert(any(Product.class))).thenReturn(Optional.of(product));
+        
+        // Act
+        productService.create(productDTO);
+        
+        // Assert
+        ArgumentCaptor<Product> written = ArgumentCaptor.forClass(Product.class);
+        verify(productRepository).insert(written.capture());
+        assertArrayEquals(png, written.getValue().getImage());
+        assertEquals(64, written.getValue().getImageHash().length());
+        verify(productImageStore, never()).save(any(ProductImage.class));
+    }
+    
+    @Test
+    void updateProduct_WithOversizedImage_ShouldWriteNothing() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductDTO productDTO = convertToDTO(product);
+        productDTO.setImage(new byte[ProductService.MAX_IMAGE_SIZE + 1]);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.update(productDTO));
+        verify(productRepository, never()).update(any(Product.class), any());
+        verify(productImageStore, never()).save(any(ProductImage.class));
+    }
+    
+    @Test
+    void putImage_ShouldHashAndDetectContentType() {
+        // Arrange
+        ProductId id = ProductId.newId();
+        byte[] jpeg = new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0 };
+        when(productImageStore.save(any(ProductImage.class))).thenReturn(true);
+        
+        // Act
+        ProductImageMetadata metadata = productService.putImage(id.toString(), jpeg);
+        
+        // Assert
+        assertEquals(id, metadata.productId());
+        assertEquals("image/jpeg", metadata.contentType());
+        assertEquals(4, metadata.contentLength());
+        assertEquals(64, metadata.sha256().length());
+    }
+    
+    @Test
+    void putImage_ForUnknownProduct_ShouldThrowException() {
+        // Arrange
+        when(productImageStore.save(any(ProductImage.class))).thenReturn(false);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> productService.putImage(ProductId.newId().toString(), new byte[] { (byte) 0x89, 'P', 'N', 'G' }));
+    }
+    
+    @Test
+    void putImage_WithNonRasterContent_ShouldRejectItWithoutStoring() {
+        // Arrange
+        byte[] html = "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8);
+        
+        // Act & Assert
+        InvalidProductException exception = assertThrows(InvalidProductException.class,
+            () -> productService.putImage(ProductId.newId().toString(), html));
+        assertEquals(ProductViolations.IMAGE_TYPE_UNSUPPORTED, exception.violations());
+        verify(productImageStore, never()).save(any(ProductImage.class));
+    }
+    
+    @Test
+    void patch_ShouldWriteOnlyTouchedFields() {
+        // Arrange
+        Product product = createTestProduct();
+        ProductPatch patch = new ProductPatch()
+            .set(ProductPatch.Field.PRICE, 49.5)
+            .set(ProductPatch.Field.DESCRIPTION, null);
+        when(productRepository.patch(eq(product.getId()), eq(patch), any(Long.class))).thenReturn(Optional.of(product));
+        
+        // Act
+        ProductDTO result = productService.patch(product.getId().toString(), patch);
+        
+        // Assert
+        assertEquals(product.getId().toString(), result.getId());
+        verify(productRepository).patch(eq(product.getId()), eq(patch), any(Long.class));
+        verify(productRepository, never()).update(any(Product.class), any());
+    }
+    
+    @Test
+    void patch_WithInvalidTouchedField_ShouldThrowBeforeWriting() {
+        // Arrange
+        ProductPatch negativeQuantity = new ProductPatch().set(ProductPatch.Field.QUANTITY, -1);
+        ProductPatch clearedName = new ProductPatch().set(ProductPatch.Field.NAME, null);
+        String id = ProductId.newId().toString();
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.patch(id, negativeQuantity));
+        assertThrows(IllegalArgumentException.class, () -> productService.patch(id, clearedName));
+        verify(productRepository, never()).patch(any(ProductId.class), any(ProductPatch.class), any(Long.class));
+    }
+    
+    @Test
+    void patch_ForUnknownProduct_ShouldThrowException() {
+        // Arrange
+        ProductPatch patch = new ProductPatch().set(ProductPatch.Field.RATING, 3);
+        when(productRepository.patch(any(ProductId.class), eq(patch), any(Long.class))).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.patch(ProductId.newId().toString(), patch));
+    }
+    
+    @Test
+    void adjustStock_ShouldNetEntriesPerProductAndReportEachOutcome() {
+        // Arrange
+        ProductId stocked = ProductId.newId();
+        ProductId scarce = ProductId.newId();
+        ProductId missing = ProductId.newId();
+        when(productRepository.adjustQuantities(any(), any(Long.class))).thenReturn(List.of(
+            new StockLevel(stocked, 7, Product.InventoryStatus.LOWSTOCK, true),
+            new StockLevel(scarce, 2, Product.InventoryStatus.LOWSTOCK, false)));
+        
+        // Act
+        List<StockAdjustmentResult> results = productService.adjustStock(List.of(
+            new StockAdjustment(stocked.toString(), -5),
+            new StockAdjustment(scarce.toString(), -3),
+            new StockAdjustment(stocked.toString(), 2),
+            new StockAdjustment(missing.toString(), 1),
+            new StockAdjustment("not-a-uuid", 1),
+            new StockAdjustment(stocked.toString(), 0)));
+        
+        // Assert
+        verify(productRepository).adjustQuantities(
+            eq(Map.of(stocked, -3L, scarce, -3L, missing, 1L)), any(Long.class));
+        assertEquals(StockAdjustmentResult.Outcome.ADJUSTED, results.get(0).outcome());
+        assertEquals(7, results.get(0).quantity());
+        assertEquals(StockAdjustmentResult.Outcome.INSUFFICIENT_STOCK, results.get(1).outcome());
+        assertEquals(2, results.get(1).quantity());
+        assertEquals(StockAdjustmentResult.Outcome.ADJUSTED, results.get(2).outcome());
+        assertEquals(StockAdjustmentResult.Outcome.NOT_FOUND, results.get(3).outcome());
+        assertEquals(StockAdjustmentResult.Outcome.INVALID, results.get(4).outcome());
+        assertEquals(StockAdjustmentResult.Outcome.INVALID, results.get(5).outcome());
+    }
+    
+    @Test
+    void adjustStock_WithOnlyInvalidEntries_ShouldNotTouchRepository() {
+        // Act
+        StockAdjustmentResult result = productService.adjustStock(null, 3);
+        
+        // Assert
+        assertEquals(StockAdjustmentResult.Outcome.INVALID, result.outcome());
+        verify(productRepository, never()).adjustQuantities(any(), any(Long.class));
+    }
+    
+    @Test
+    void pageRequest_WithOversizedPage_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductPageRequest(
+            ProductFilter.none(), ProductSort.ID, false, ProductPageRequest.MAX_SIZE + 1, null));
+    }
+    
     private Product createTestProduct() {
         ProductId id = ProductId.newId();
         String code = "TEST-001";
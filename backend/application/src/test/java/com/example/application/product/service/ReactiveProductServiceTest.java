@@ -0,0 +1,175 @@
+package com.example.application.product.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.application.product.port.out.ReactiveProductRepository;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+class ReactiveProductServiceTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    private ReactiveProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productService = new ReactiveProductService(productRepository);
+    }
+
+    @Test
+    void create_ShouldInsertAndCompleteWithTheStoredProduct() {
+        // Arrange
+        Product product = createTestProduct("TEST-001");
+        when(productRepository.insert(any(Product.class))).thenReturn(CompletableFuture.completedFuture(Optional.of(product)));
+
+        // Act
+        ProductDTO result = productService.create(ProductDTO.fromDomain(product)).toCompletableFuture().join();
+
+        // Assert
+        assertEquals(product.getId().toString(), result.getId());
+        assertEquals("TEST-001", result.getCode());
+    }
+
+    @Test
+    void create_ShouldFailTheStageWithoutCallingTheRepository_WhenTheProductIsInvalid() {
+        // Arrange
+        ProductDTO invalid = ProductDTO.fromDomain(createTestProduct("TEST-001"));
+        invalid.setName(" ");
+
+        // Act
+        CompletableFuture<ProductDTO> result = productService.create(invalid).toCompletableFuture();
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        verify(productRepository, never()).insert(any(Product.class));
+    }
+
+    @Test
+    void update_ShouldFailWithVersionConflict_WhenTheVersionIsStale() {
+        // Arrange
+        Product product = createTestProduct("TEST-001");
+        ProductDTO productDTO = ProductDTO.fromDomain(product);
+        productDTO.setVersion(3L);
+        when(productRepository.update(any(Product.class), eq(3L))).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(productRepository.findRevisionById(product.getId()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(new ProductRevision(5L, product.getUpdatedAt()))));
+
+        // Act
+        CompletableFuture<ProductDTO> result = productService.update(productDTO).toCompletableFuture();
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        ProductVersionConflictException conflict = assertInstanceOf(ProductVersionConflictException.class, failure.getCause());
+        assertEquals(5L, conflict.getCurrentVersion());
+    }
+
+    @Test
+    void deleteById_ShouldFail_WhenNothingWasDeleted() {
+        // Arrange
+        ProductId id = ProductId.newId();
+        when(productRepository.deleteById(id)).thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        CompletableFuture<Void> result = productService.deleteById(id.toString()).toCompletableFuture();
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+    }
+
+    @Test
+    void streamAll_ShouldPassSubscriberDemandThroughToTheRepository() {
+        // Arrange
+        List<Long> requested = new ArrayList<>();
+        Flow.Publisher<Product> source = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private int next;
+            private boolean finished;
+
+            @Override
+            public void request(long n) {
+                requested.add(n);
+                for (long i = 0; i < n && next < 3; i++) {
+                    subscriber.onNext(createTestProduct("TEST-00" + next++));
+                }
+                if (next == 3 && !finished) {
+                    finished = true;
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        when(productRepository.findAll(ProductFilter.none())).thenReturn(source);
+        List<String> received = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+
+        // Act
+        productService.streamAll(ProductFilter.none()).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ProductDTO item) {
+                received.add(item.getCode());
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+
+        // Assert
+        assertEquals(List.of("TEST-000", "TEST-001", "TEST-002"), received);
+        assertTrue(requested.stream().allMatch(n -> n == 1));
+        assertTrue(completed[0]);
+    }
+
+    private Product createTestProduct(String code) {
+        long timestamp = System.currentTimeMillis();
+        return new Product(
+            ProductId.newId(), code, "Test Product", "Test Description", new byte[0], "Test Category",
+            99.99, 10, "INT-REF-001", 1,
+            Product.InventoryStatus.INSTOCK, 4, timestamp, timestamp
+        );
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.application.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.application.product.dto.ProductSuggestion;
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+    }
+
+    @Test
+    void suggest_ShouldMatchEveryWordWithLastOneAsPrefix() {
+        // Arrange
+        Product bamboo = product("f230fen6", "Bamboo Watch", "Accessories", "Handmade watch");
+        Product steel = product("nvklal433", "Steel Watch", "Accessories", "Solid steel case");
+        index.index(bamboo);
+        index.index(steel);
+        index.index(product("av2nvg66", "Bamboo Cup", "Kitchen", "Reusable"));
+
+        // Act
+        List<ProductSuggestion> suggestions = index.suggest("bamboo wat", 10);
+
+        // Assert
+        assertEquals(List.of(bamboo.getId().toString()), ids(suggestions));
+        assertEquals("Bamboo Watch", suggestions.get(0).name());
+        assertEquals(List.of(steel.getId().toString()), ids(index.suggest("NVKLAL433", 10)));
+    }
+
+    @Test
+    void suggest_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Arrange
+        Product inName = product("a1", "Yoga Mat", "Fitness", "Non-slip");
+        Product inDescription = product("a2", "Water Bottle", "Fitness", "Fits in any yoga bag");
+        index.index(inDescription);
+        index.index(inName);
+
+        // Act
+        List<ProductSuggestion> suggestions = index.suggest("yoga", 10);
+
+        // Assert
+        assertEquals(List.of(inName.getId().toString(), inDescription.getId().toString()), ids(suggestions));
+        assertTrue(suggestions.get(0).score() > suggestions.get(1).score());
+    }
+
+    @Test
+    void suggest_ShouldTolerateTyposThroughTrigrams() {
+        // Arrange
+        Product headphones = product("b1", "Wireless Headphones", "Electronics", "Noise cancelling");
+        index.index(headphones);
+        index.index(product("b2", "Wired Keyboard", "Electronics", "Mechanical"));
+
+        // Act & Assert
+        assertEquals(List.of(headphones.getId().toString()), ids(index.suggest("wireles headphnes", 10)));
+        assertEquals(List.of(), index.suggest("xylophone", 10));
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersionAndRemoveDeleted() {
+        // Arrange
+        Product product = product("c1", "Old Name", "Toys", null);
+        index.index(product);
+        product.setName("Fresh Name");
+
+        // Act
+        index.index(product);
+
+        // Assert
+        assertEquals(List.of(), index.suggest("old", 10));
+        assertEquals(List.of(product.getId().toString()), ids(index.suggest("fresh", 10)));
+        assertEquals(1, index.size());
+
+        index.remove(product.getId());
+        assertEquals(List.of(), index.suggest("fresh", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void index_ShouldKeepAnsweringAcrossCompactions() {
+        // Arrange
+        Product survivor = product("d1", "Survivor Lamp", "Home", null);
+        index.index(survivor);
+
+        // Act: enough rewrites of one product to trigger several compactions
+        Product churned = product("d2", "Churned Lamp", "Home", null);
+        for (int i = 0; i < 3 * ProductSearchIndex.MIN_TOMBSTONES_BEFORE_COMPACTION; i++) {
+            churned.setDescription("revision " + i);
+            index.index(churned);
+        }
+
+        // Assert
+        assertEquals(2, index.size());
+        assertEquals(2, index.suggest("lamp", 10).size());
+        assertEquals(List.of(survivor.getId().toString()), ids(index.suggest("survivor", 10)));
+        assertEquals(List.of(churned.getId().toString()), ids(index.suggest("revision " + (3 * ProductSearchIndex.MIN_TOMBSTONES_BEFORE_COMPACTION - 1), 10)));
+    }
+
+    @Test
+    void suggest_ShouldShareScratchBuffersAcrossConcurrentVirtualThreads() throws Exception {
+        // Arrange
+        Product lamp = product("h1", "Desk Lamp", "Home", null);
+        index.index(lamp);
+        for (int i = 0; i < 500; i++) {
+            index.index(product("h" + (i + 2), "Floor Rug " + i, "Home", null));
+        }
+
+        // Act: every request on its own thread, as the web tier runs them
+        List<Future<List<ProductSuggestion>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                results.add(executor.submit(() -> index.suggest("desk la", 10)));
+            }
+        }
+
+        // Assert
+        for (Future<List<ProductSuggestion>> result : results) {
+            assertEquals(List.of(lamp.getId().toString()), ids(result.get()));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldLoadRepositoryAndKeepWritesMadeDuringTheScan() {
+        // Arrange
+        Product stored = product("e1", "Stored Chair", "Furniture", null);
+        Product writtenMeanwhile = product("e2", "Concurrent Chair", "Furniture", null);
+        index.index(product("e0", "Stale Chair", "Furniture", null));
+        ProductRepository repository = mock(ProductRepository.class);
+        doAnswer(invocation -> {
+            index.index(writtenMeanwhile);
+            invocation.<Consumer<Product>>getArgument(1).accept(stored);
+            return null;
+        }).when(repository).forEach(eq(ProductFilter.none()), any(Consumer.class));
+
+        // Act
+        index.rebuild(repository);
+
+        // Assert
+        assertEquals(Set.of(stored.getId().toString(), writtenMeanwhile.getId().toString()),
+            Set.copyOf(ids(index.suggest("chair", 10))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldCoalesceRequestsMadeDuringAScanIntoOneMoreScan() {
+        // Arrange: an import asks for a rebuild while the startup one is scanning
+        Product first = product("g1", "First Sofa", "Furniture", null);
+        Product imported = product("g2", "Imported Sofa", "Furniture", null);
+        ProductRepository repository = mock(ProductRepository.class);
+        AtomicInteger scans = new AtomicInteger();
+        doAnswer(invocation -> {
+            Consumer<Product> sink = invocation.getArgument(1);
+            if (scans.incrementAndGet() == 1) {
+                index.rebuild(repository);
+                index.rebuild(repository);
+                sink.accept(first);
+            } else {
+                sink.accept(first);
+                sink.accept(imported);
+            }
+            return null;
+        }).when(repository).forEach(eq(ProductFilter.none()), any(Consumer.class));
+
+        // Act
+        index.rebuild(repository);
+
+        // Assert
+        assertEquals(2, scans.get());
+        assertEquals(2, index.size());
+        assertEquals(List.of(imported.getId().toString()), ids(index.suggest("imported", 10)));
+    }
+
+    @Test
+    void refresh_ShouldReadOnlyWhatOtherNodesChangedSinceItWasIndexed() {
+        // Arrange: this node indexed both lamps at version 3
+        Product echoed = product("h1", "Desk Lamp", "Lighting", null);
+        Product renamed = product("h2", "Floor Lamp", "Lighting", null);
+        Product deleted = product("h3", "Wall Lamp", "Lighting", null);
+        echoed.setVersion(3);
+        renamed.setVersion(3);
+        index.index(echoed);
+        index.index(renamed);
+        index.index(deleted);
+        Product renamedElsewhere = product("h2", "Reading Light", "Lighting", null);
+        renamedElsewhere.setId(renamed.getId());
+        renamedElsewhere.setVersion(4);
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findById(renamed.getId())).thenReturn(Optional.of(renamedElsewhere));
+
+        // Act
+        index.refresh(Map.of(echoed.getId(), 3L, renamed.getId(), 4L), List.of(deleted.getId()), repository);
+
+        // Assert
+        verify(repository, never()).findById(echoed.getId());
+        assertEquals(List.of(echoed.getId().toString()), ids(index.suggest("lamp", 10)));
+        assertEquals(List.of(renamed.getId().toString()), ids(index.suggest("reading", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexingBulkStore_ShouldReturnTheCommittedMergeWhenTheRebuildFails() {
+        // Arrange
+        ProductBulkStore delegate = mock(ProductBulkStore.class);
+        ProductRepository repository = mock(ProductRepository.class);
+        ProductBulkStore.MergeResult merged = new ProductBulkStore.MergeResult(1, 0, List.of());
+        when(delegate.merge(any())).thenReturn(merged);
+        doThrow(new IllegalStateException("connection lost"))
+            .when(repository).forEach(eq(ProductFilter.none()), any(Consumer.class));
+
+        // Act
+        ProductBulkStore.MergeResult result = new IndexingProductBulkStore(delegate, index, repository).merge(sink -> { });
+
+        // Assert
+        assertEquals(merged, result);
+    }
+
+    @Test
+    void indexingRepository_ShouldIndexOnlyWhatTheDelegateWrote() {
+        // Arrange
+        ProductRepository delegate = mock(ProductRepository.class);
+        IndexingProductRepository repository = new IndexingProductRepository(delegate, index);
+        Product created = product("f1", "Created Desk", "Office", null);
+        Product rejected = product("f2", "Rejected Desk", "Office", null);
+        when(delegate.insert(created)).thenReturn(Optional.of(created));
+        when(delegate.update(eq(rejected), isNull())).thenReturn(Optional.empty());
+        when(delegate.deleteById(created.getId())).thenReturn(true);
+
+        // Act & Assert
+        repository.insert(created);
+        repository.update(rejected, null);
+        assertEquals(List.of(created.getId().toString()), ids(index.suggest("desk", 10)));
+
+        repository.deleteById(created.getId());
+        assertEquals(List.of(), index.suggest("desk", 10));
+    }
+
+    @Test
+    void indexingRepository_ShouldIndexBatchWritesAtTheirWrittenVersion() {
+        // Arrange: the caller holds version 3 of a product the batch moves to version 4
+        ProductRepository delegate = mock(ProductRepository.class);
+        IndexingProductRepository repository = new IndexingProductRepository(delegate, index);
+        Product updated = product("g1", "Standing Desk", "Office", null);
+        updated.setVersion(3);
+        Product created = product("g2", "Corner Desk", "Office", null);
+        when(delegate.updateAll(List.of(updated), Map.of(updated.getId(), 3L))).thenReturn(Map.of(updated.getId(), 4L));
+        when(delegate.insertAll(List.of(created))).thenAnswer(invocation -> {
+            // The notification of a write can overtake the writer
+            index.refresh(Map.of(created.getId(), 0L), List.of(), delegate);
+            return Map.of(created.getId(), 0L);
+        });
+
+        // Act: the batches are written, then the notification of the first comes back
+        repository.updateAll(List.of(updated), Map.of(updated.getId(), 3L));
+        repository.insertAll(List.of(created));
+        index.refresh(Map.of(updated.getId(), 4L), List.of(), delegate);
+
+        // Assert
+        verify(delegate, never()).findById(any());
+        assertEquals(2, ids(index.suggest("desk", 10)).size());
+    }
+
+    @Test
+    void indexingRepository_ShouldRereadWhatAnotherNodeWroteDuringItsOwnWrite() {
+        // Arrange: another node writes version 2 while this node writes version 1
+        ProductRepository delegate = mock(ProductRepository.class);
+        IndexingProductRepository repository = new IndexingProductRepository(delegate, index);
+        Product mine = product("k1", "Oak Shelf", "Furniture", null);
+        Product theirs = product("k1", "Walnut Shelf", "Furniture", null);
+        theirs.setId(mine.getId());
+        theirs.setVersion(2);
+        when(delegate.updateAll(List.of(mine), Map.of())).thenAnswer(invocation -> {
+            index.refresh(Map.of(mine.getId(), 1L), List.of(), delegate);
+            index.refresh(Map.of(mine.getId(), 2L), List.of(), delegate);
+            return Map.of(mine.getId(), 1L);
+        });
+        when(delegate.findById(mine.getId())).thenReturn(Optional.of(theirs));
+
+        // Act
+        repository.updateAll(List.of(mine), Map.of());
+
+        // Assert
+        verify(delegate).findById(mine.getId());
+        assertEquals(List.of(mine.getId().toString()), ids(index.suggest("walnut", 10)));
+        assertEquals(List.of(), index.suggest("oak", 10));
+    }
+
+    @Test
+    void suggest_WithInvalidLimit_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("lamp", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("lamp", ProductSearchIndex.MAX_LIMIT + 1));
+    }
+
+    private static List<String> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::id).toList();
+    }
+
+    private static Product product(String code, String name, String category, String description) {
+        long timestamp = System.currentTimeMillis();
+        return new Product(
+            ProductId.newId(), code, name, description, null, category,
+            9.99, 10, "REF-" + code, 1, Product.InventoryStatus.INSTOCK, 4, timestamp, timestamp
+        );
+    }
+}
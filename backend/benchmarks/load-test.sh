@@ -0,0 +1,35 @@
+#!/usr/bin/env sh
+# Compares platform-thread and virtual-thread request execution under the same load.
+# Starts the packaged application once per mode against the configured database, runs
+# HttpLoadTest at each concurrency level, then stops it.
+#
+#   mvn package -DskipTests && benchmarks/load-test.sh [url-path] [concurrency levels...]
+#   benchmarks/load-test.sh "/api/products?size=20" 200 1000 5000
+set -eu
+
+cd "$(dirname "$0")/.."
+APP_JAR=$(ls boot/target/boot-*.jar | grep -v original | head -n 1)
+BENCH_JAR=benchmarks/target/benchmarks.jar
+PATH_AND_QUERY=${1:-/api/products?size=20}
+[ $# -gt 0 ] && shift
+LEVELS=${*:-200 1000 5000}
+DURATION=${DURATION:-30s}
+WARMUP=${WARMUP:-10s}
+
+for virtual in false true; do
+  echo "=== spring.threads.virtual.enabled=$virtual ==="
+  java -jar "$APP_JAR" --spring.threads.virtual.enabled=$virtual > "benchmarks/target/load-test-app-$virtual.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+    kill -0 $app 2>/dev/null || { echo "application failed to start"; exit 1; }
+    sleep 1
+  done
+  for concurrency in $LEVELS; do
+    java -cp "$BENCH_JAR" com.example.benchmarks.load.HttpLoadTest \
+      "url=http://localhost:8080$PATH_AND_QUERY" concurrency=$concurrency duration=$DURATION warmup=$WARMUP
+    curl -s http://localhost:8080/actuator/metrics/jdbc.gate.wait | tr -d '\n'; echo
+  done
+  kill $app
+  wait $app 2>/dev/null || true
+done
@@ -0,0 +1,104 @@
+package com.example.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (written with {@code -rf json}) benchmark by benchmark,
+ * on the primary score and, when recorded with {@code -prof gc}, on the bytes allocated per
+ * operation. Exits with status 1 when any of them regressed by more than the threshold; a
+ * score only counts as regressed when the difference also exceeds both runs' error margins.
+ * <p>
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar com.example.benchmarks.BaselineComparison
+ * benchmarks/baseline/baseline.json current.json [thresholdPercent]}
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+    /** Allocation differences below this many bytes per operation are noise from the profiler itself. */
+    private static final double ALLOCATION_NOISE_BYTES = 16;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %10s %12s %12s %10s%n",
+            "Benchmark", "Baseline", "Current", "score chg", "Base B/op", "Cur B/op", "alloc chg");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double scoreAfter = after.path("primaryMetric").path("score").asDouble();
+            double scoreChange = change(scoreBefore, scoreAfter);
+            // Throughput modes improve upwards, time modes downwards
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double scoreRegression = higherIsBetter ? -scoreChange : scoreChange;
+            if (Math.abs(scoreAfter - scoreBefore) <= error(before) + error(after)) {
+                scoreRegression = 0;
+            }
+            double allocationBefore = allocation(before);
+            double allocationAfter = allocation(after);
+            double allocationChange = Math.abs(allocationAfter - allocationBefore) < ALLOCATION_NOISE_BYTES
+                ? 0
+                : change(allocationBefore, allocationAfter);
+
+            boolean regressed = scoreRegression > threshold || allocationChange > threshold;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%-90s %14.3f %14.3f %+9.1f%% %12.1f %12.1f %+9.1f%%%s%n", entry.getKey(),
+                scoreBefore, scoreAfter, scoreChange, allocationBefore, allocationAfter, allocationChange, regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /** Results keyed by benchmark name and parameters, e.g. {@code ProductJsonBenchmark.fullPage[pageSize=50]}. */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new LinkedHashMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String name = result.path("benchmark").asText().replaceFirst("^com\\.example\\.", "");
+            results.put(params.isEmpty() ? name : name + params.toString().replace('{', '[').replace('}', ']'), result);
+        }
+        return results;
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double allocation(JsonNode result) {
+        return result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(Double.NaN);
+    }
+
+    // Percentage change; zero when either side is missing or when both are zero
+    private static double change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == after) {
+            return 0;
+        }
+        return before == 0 ? 100 : (after - before) / before * 100;
+    }
+}
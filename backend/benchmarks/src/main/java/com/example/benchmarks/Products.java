@@ -0,0 +1,40 @@
+package com.example.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/** Deterministic product fixtures shared by the suites. */
+public final class Products {
+
+    private static final String[] CATEGORIES = { "Accessories", "Electronics", "Fitness", "Clothing", "Home", "Kitchen" };
+
+    private Products() {
+    }
+
+    /** A valid product whose fields vary with {@code i}, built like a row read from the database. */
+    public static Product product(int i, Random random) {
+        long timestamp = 1_700_000_000_000L + i * 1_000L;
+        Product product = new Product(
+            ProductId.newId(), "P" + Integer.toString(i, 36).toUpperCase() + "-" + random.nextInt(1000),
+            "Product " + i, "Description of product " + i + " with a few more words to look realistic",
+            null, CATEGORIES[i % CATEGORIES.length], 1 + random.nextInt(50_000) / 100.0, random.nextInt(200),
+            "REF-" + i, i % 10, Product.InventoryStatus.values()[i % 3], random.nextInt(6), timestamp, timestamp
+        );
+        product.setImageHash(i % 2 == 0 ? "%064x".formatted(i) : null);
+        product.setVersion(i % 7);
+        return product;
+    }
+
+    public static List<Product> catalog(int size) {
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            catalog.add(product(i, random));
+        }
+        return catalog;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.benchmarks.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+import com.example.domain.product.ProductValidation;
+import com.example.domain.product.ProductValidator;
+import com.example.domain.product.ProductViolations;
+
+/**
+ * Cost of building a validated {@link Product}, of {@link ProductValidator#validate} alone,
+ * and of rejecting an invalid product (exception construction included), against the
+ * flag-based {@link ProductValidator#check} on valid and invalid input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductConstructionBenchmark {
+
+    // Fields rather than constants, so the JIT cannot fold the inputs away
+    public ProductId id = ProductId.newId();
+    public String code = "P-1000";
+    public String name = "Bamboo watch";
+    public String description = "Product description";
+    public String category = "Accessories";
+    public double price = 65.0;
+    public int quantity = 24;
+    public String internalReference = "REF-1000";
+    public int rating = 5;
+    public long timestamp = 1_700_000_000_000L;
+    public String emptyName = " ";
+    public ProductViolations violations = new ProductViolations();
+
+    @Benchmark
+    public Product construct() {
+        return new Product(id, code, name, description, null, category, price, quantity,
+            internalReference, 1, Product.InventoryStatus.INSTOCK, rating, timestamp, timestamp);
+    }
+
+    @Benchmark
+    public ProductValidation validate() {
+        return ProductValidator.validate(id, code, name, description, null, category, price, quantity,
+            internalReference, 1, Product.InventoryStatus.INSTOCK, rating);
+    }
+
+    @Benchmark
+    public Object rejectInvalid() {
+        try {
+            return ProductValidator.validate(id, code, emptyName, description, null, category, price, quantity,
+                internalReference, 1, Product.InventoryStatus.INSTOCK, rating);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public int check() {
+        return ProductValidator.check(id, code, name, description, null, category, price, quantity,
+            internalReference, 1, Product.InventoryStatus.INSTOCK, rating);
+    }
+
+    @Benchmark
+    public ProductViolations checkInvalid() {
+        return ProductValidator.check(id, code, emptyName, description, null, category, -price, quantity,
+            internalReference, 1, Product.InventoryStatus.INSTOCK, rating, violations);
+    }
+}
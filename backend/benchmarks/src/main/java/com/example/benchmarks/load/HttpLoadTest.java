@@ -0,0 +1,168 @@
+package com.example.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} clients, each on its own virtual thread,
+ * send requests back to back for the given duration and report throughput, latency percentiles
+ * and status codes. Run it against the application started with virtual threads on and off to
+ * compare the two request execution modes (see {@code benchmarks/load-test.sh}).
+ * <p>
+ * {@code java -cp benchmarks/target/benchmarks.jar com.example.benchmarks.load.HttpLoadTest
+ * url=http://localhost:8080/api/products?size=20 concurrency=1000 duration=30s warmup=10s}
+ * <p>
+ * With {@code method=POST}, every request sends {@code body} as JSON after replacing each
+ * {@code {n}} with a number unique to the request, so that created products get distinct
+ * codes; the default body is a valid product.
+ */
+public final class HttpLoadTest {
+
+    private static final String DEFAULT_BODY = "{\"code\":\"LOAD-{n}\",\"name\":\"Load test product {n}\","
+        + "\"description\":\"Created by HttpLoadTest\",\"category\":\"Load\",\"price\":9.99,\"quantity\":5,"
+        + "\"internalReference\":\"LT-{n}\",\"shellId\":1,\"inventoryStatus\":\"INSTOCK\",\"rating\":3}";
+
+    // Shared by warmup and measurement, so that codes stay unique across both runs
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis() * 1_000);
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+            "url", "http://localhost:8080/api/products?size=20",
+            "concurrency", "500",
+            "duration", "30s",
+            "warmup", "10s",
+            "timeout", "30s",
+            "method", "GET",
+            "body", DEFAULT_BODY
+        ));
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        URI uri = URI.create(options.get("url"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration duration = duration(options.get("duration"));
+        Duration warmup = duration(options.get("warmup"));
+        Duration timeout = duration(options.get("timeout"));
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        Supplier<HttpRequest> requests = requests(uri, timeout, options.get("method"), options.get("body"));
+
+        if (!warmup.isZero()) {
+            run(client, requests, concurrency, warmup);
+        }
+        Result result = run(client, requests, concurrency, duration);
+        result.print(uri, concurrency, duration);
+    }
+
+    private static Supplier<HttpRequest> requests(URI uri, Duration timeout, String method, String body) {
+        if ("GET".equalsIgnoreCase(method)) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+            return () -> request;
+        }
+        return () -> HttpRequest.newBuilder(uri)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .method(method.toUpperCase(), HttpRequest.BodyPublishers.ofString(
+                body.replace("{n}", Long.toString(SEQUENCE.incrementAndGet()))))
+            .build();
+    }
+
+    private static Result run(HttpClient client, Supplier<HttpRequest> requests, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(requests.get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            result.record(System.nanoTime() - start, Integer.toString(status));
+                        } catch (IOException e) {
+                            result.record(System.nanoTime() - start, e.getClass().getSimpleName());
+                        }
+                    }
+                    return result;
+                }));
+            }
+        }
+        Result total = new Result();
+        for (Future<Result> future : clients) {
+            total.merge(future.get());
+        }
+        return total;
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Integer> outcomes = new TreeMap<>();
+
+        void record(long nanos, String outcome) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            outcomes.merge(outcome, 1, Integer::sum);
+        }
+
+        void merge(Result other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            other.outcomes.forEach((outcome, n) -> outcomes.merge(outcome, n, Integer::sum));
+        }
+
+        void print(URI uri, int concurrency, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%s  concurrency=%d  duration=%ss%n", uri, concurrency, duration.toSeconds());
+            System.out.printf("requests=%d  throughput=%.1f req/s%n", count, count / (double) duration.toSeconds());
+            System.out.printf("latency ms  p50=%.1f  p90=%.1f  p99=%.1f  p99.9=%.1f  max=%.1f%n",
+                millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999), millis(sorted, 1.0));
+            System.out.println("outcomes " + outcomes);
+        }
+
+        private static double millis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
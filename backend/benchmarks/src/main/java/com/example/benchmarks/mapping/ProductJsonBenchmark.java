@@ -0,0 +1,70 @@
+package com.example.benchmarks.mapping;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.benchmarks.Products;
+import com.example.infrastructure.product.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Serialization of a page of products to JSON, with every property and with a
+ * {@code fields=id,name,price} projection, filtered the same way as the REST controller does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({ "50", "500" })
+    public int pageSize;
+
+    private List<ProductDto> page;
+    private ObjectWriter fullWriter;
+    private ObjectWriter projectedWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        page = Products.catalog(pageSize).stream()
+            .map(ProductDTO::fromDomain)
+            .map(ProductDto::fromApplicationDto)
+            .toList();
+        ObjectMapper objectMapper = new ObjectMapper();
+        fullWriter = objectMapper.writer(new SimpleFilterProvider()
+            .addFilter(ProductDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+        projectedWriter = objectMapper.writer(new SimpleFilterProvider()
+            .addFilter(ProductDto.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(Set.of("id", "name", "price"))));
+    }
+
+    @Benchmark
+    public byte[] fullPage() throws JsonProcessingException {
+        return fullWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] projectedPage() throws JsonProcessingException {
+        return projectedWriter.writeValueAsBytes(page);
+    }
+}
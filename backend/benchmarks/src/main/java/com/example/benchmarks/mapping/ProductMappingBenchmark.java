@@ -0,0 +1,87 @@
+package com.example.benchmarks.mapping;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.benchmarks.Products;
+import com.example.domain.product.Product;
+import com.example.infrastructure.product.dto.ProductDto;
+
+/**
+ * Conversions between the domain, application and web representations of a product. Web
+ * responses reference images by URL, so only the request direction decodes Base64; its cost
+ * is measured for an image-less payload and for an embedded image.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private Product product;
+    private ProductDTO applicationDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        product = Products.product(1, new Random(42));
+        applicationDto = ProductDTO.fromDomain(product);
+    }
+
+    /** A request body, optionally carrying an embedded image. */
+    @State(Scope.Thread)
+    public static class Request {
+
+        @Param({ "0", "65536" })
+        public int imageBytes;
+
+        ProductDto webDto;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            webDto = ProductDto.fromApplicationDto(ProductDTO.fromDomain(Products.product(1, random)));
+            if (imageBytes > 0) {
+                byte[] image = new byte[imageBytes];
+                random.nextBytes(image);
+                webDto.setImage(Base64.getEncoder().encodeToString(image));
+            }
+        }
+    }
+
+    @Benchmark
+    public ProductDTO fromDomain() {
+        return ProductDTO.fromDomain(product);
+    }
+
+    @Benchmark
+    public Product toDomain() {
+        return applicationDto.toDomain();
+    }
+
+    @Benchmark
+    public ProductDto webFromApplicationDto() {
+        return ProductDto.fromApplicationDto(applicationDto);
+    }
+
+    @Benchmark
+    public ProductDTO webToApplicationDto(Request request) {
+        return request.webDto.toApplicationDto();
+    }
+}
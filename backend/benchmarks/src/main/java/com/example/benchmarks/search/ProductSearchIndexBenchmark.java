@@ -0,0 +1,136 @@
+package com.example.benchmarks.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.product.dto.ProductSuggestion;
+import com.example.application.search.ProductSearchIndex;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Query latency of the in-memory suggestion index over a synthetic catalog, and the cost of
+ * an incremental update. Index memory per product is printed once per trial, both as the
+ * index's own estimate and as the retained heap measured around the build.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar ProductSearchIndexBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {
+        "bamboo", "steel", "wireless", "organic", "leather", "compact", "vintage", "smart", "portable", "ceramic",
+        "wooden", "waterproof", "ergonomic", "foldable", "premium", "classic", "digital", "handmade", "magnetic", "cotton"
+    };
+    private static final String[] NOUNS = {
+        "watch", "headphones", "backpack", "mug", "lamp", "keyboard", "bottle", "chair", "speaker", "wallet",
+        "jacket", "camera", "blender", "notebook", "pillow", "charger", "sneakers", "tent", "mirror", "kettle"
+    };
+    private static final String[] CATEGORIES = { "Accessories", "Electronics", "Fitness", "Clothing", "Home", "Kitchen" };
+    private static final String[] FILLER = {
+        "durable", "lightweight", "everyday", "gift", "travel", "office", "outdoor", "design", "quality", "comfort",
+        "eco", "friendly", "fast", "shipping", "warranty", "edition", "series", "color", "size", "pack"
+    };
+
+    @Param({ "10000", "100000" })
+    public int products;
+
+    private ProductSearchIndex index;
+    private List<Product> catalog;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        catalog = catalog(products, new Random(42));
+        long before = usedHeap();
+        index = new ProductSearchIndex();
+        catalog.forEach(index::index);
+        long retained = usedHeap() - before;
+        System.out.printf("%n[index] %d products: estimated %d B/product, measured %d B/product%n",
+            index.size(), index.estimatedMemoryBytes() / index.size(), retained / index.size());
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> exactWords() {
+        return index.suggest("wireless headphones", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> prefixWhileTyping() {
+        return index.suggest("bamboo wa", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> twoLetterPrefix() {
+        return index.suggest("ch", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> typo() {
+        return index.suggest("wireles headphnes", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> code() {
+        return index.suggest(catalog.get(products / 2).getCode(), 10);
+    }
+
+    /** Re-indexes one product, as done after every update; includes amortized compaction. */
+    @Benchmark
+    public int incrementalUpdate() {
+        Product product = catalog.get(next++ % catalog.size());
+        index.index(product);
+        return index.size();
+    }
+
+    static List<Product> catalog(int size, Random random) {
+        List<Product> catalog = new ArrayList<>(size);
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            String name = pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+            StringBuilder description = new StringBuilder(name);
+            for (int word = 0; word < 12; word++) {
+                description.append(' ').append(pick(random, FILLER));
+            }
+            catalog.add(new Product(
+                ProductId.newId(), "P" + Integer.toString(i, 36) + "X" + random.nextInt(1000),
+                name, description.toString(), null, pick(random, CATEGORIES),
+                1 + random.nextInt(500), random.nextInt(100), "REF-" + i, 1,
+                Product.InventoryStatus.INSTOCK, random.nextInt(6), timestamp, timestamp
+            ));
+        }
+        return catalog;
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.benchmarks.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.application.product.query.ProductSort;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Map-backed {@link ProductRepository} that takes the database out of {@code ProductService}
+ * measurements. Covers the single-product operations and id-ordered, unfiltered pages;
+ * everything else is unsupported.
+ */
+class InMemoryProductRepository implements ProductRepository {
+
+    private final ConcurrentSkipListMap<UUID, Product> products = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Product save(Product product) {
+        products.put(product.getId().value(), product);
+        return product;
+    }
+
+    @Override
+    public Optional<Product> insert(Product product) {
+        return products.putIfAbsent(product.getId().value(), product) == null ? Optional.of(product) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Product> update(Product product, Long expectedVersion) {
+        Product[] updated = new Product[1];
+        products.computeIfPresent(product.getId().value(), (id, current) -> {
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                return current;
+            }
+            product.setVersion(current.getVersion() + 1);
+            updated[0] = product;
+            return product;
+        });
+        return Optional.ofNullable(updated[0]);
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return Optional.ofNullable(products.get(id.value()));
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionById(ProductId id) {
+        return findById(id).map(product -> new ProductRevision(product.getVersion(), product.getUpdatedAt()));
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return List.copyOf(products.values());
+    }
+
+    @Override
+    public List<Product> findPage(ProductPageRequest request) {
+        if (request.sort() != ProductSort.ID || request.descending() || !request.filter().equals(ProductFilter.none())) {
+            throw new UnsupportedOperationException("Only unfiltered pages in ascending id order are supported");
+        }
+        Map<UUID, Product> rows = request.after() == null
+            ? products
+            : products.tailMap(request.after().id().value(), false);
+        // One row more than asked for tells the service whether a next page exists
+        return rows.values().stream().limit(request.size() + 1L).toList();
+    }
+
+    @Override
+    public boolean deleteById(ProductId id) {
+        return products.remove(id.value()) != null;
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return products.values().stream().anyMatch(product -> product.getCode().equals(code));
+    }
+
+    @Override
+    public boolean existsByCodeExcludingId(String code, ProductId excludedId) {
+        return products.values().stream()
+            .anyMatch(product -> product.getCode().equals(code) && !product.getId().equals(excludedId));
+    }
+
+    @Override
+    public Optional<Product> patch(ProductId id, ProductPatch patch, long updatedAt) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<ProductDTO> findProjectedById(ProductId id, ProductProjection projection) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ProductDTO> findProjectedPage(ProductPageRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ProductSearchHit> search(ProductSearchRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProductFacets countFacets(ProductFacetRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProductChangeLog findChanges(ProductChangeCursor since, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void forEach(ProductFilter filter, Consumer<Product> action) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<ProductId, Long> insertAll(List<Product> products) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<ProductId, Long> updateAll(List<Product> products, Map<ProductId, Long> expectedVersions) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<ProductId> deleteAll(Collection<ProductId> ids) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<StockLevel> adjustQuantities(Map<ProductId, Long> deltas, long updatedAt) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<ProductId> findExistingIds(Collection<ProductId> ids) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.benchmarks.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductSort;
+import com.example.application.product.service.ProductService;
+import com.example.benchmarks.Products;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * {@link ProductService} use cases against {@link InMemoryProductRepository}, so that scores
+ * show the service's own mapping and validation overhead without any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    @Param({ "10000" })
+    public int catalogSize;
+
+    private ProductService productService;
+    private String existingId;
+    private ProductDTO unversionedUpdate;
+    private ProductDTO newProduct;
+    private ProductPageRequest firstPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        List<Product> catalog = Products.catalog(catalogSize);
+        catalog.forEach(repository::save);
+        productService = new ProductService(repository, new NoImages());
+
+        Product existing = catalog.get(catalogSize / 2);
+        existingId = existing.getId().toString();
+        unversionedUpdate = ProductDTO.fromDomain(existing);
+        unversionedUpdate.setVersion(null);
+        newProduct = ProductDTO.fromDomain(Products.catalog(1).get(0));
+        newProduct.setId(null);
+        firstPage = new ProductPageRequest(ProductFilter.none(), ProductSort.ID, false, ProductPageRequest.DEFAULT_SIZE, null);
+    }
+
+    @Benchmark
+    public Optional<ProductDTO> getById() {
+        return productService.getById(existingId);
+    }
+
+    @Benchmark
+    public ProductDTO update() {
+        return productService.update(unversionedUpdate);
+    }
+
+    // Deleting again keeps the catalog at a constant size across invocations
+    @Benchmark
+    public ProductDTO createAndDelete() {
+        ProductDTO created = productService.create(newProduct);
+        productService.deleteById(created.getId());
+        return created;
+    }
+
+    @Benchmark
+    public ProductPage getPage() {
+        return productService.getPage(firstPage);
+    }
+
+    private static final class NoImages implements ProductImageStore {
+
+        @Override
+        public boolean save(ProductImage image) {
+            return true;
+        }
+
+        @Override
+        public Optional<ProductImage> findByProductId(ProductId productId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<ProductImageMetadata> findMetadataByProductId(ProductId productId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean deleteByProductId(ProductId productId) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.infrastructure.product.persistence;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.benchmarks.Products;
+import com.example.domain.product.Product;
+
+/**
+ * {@link PostgresProductRepository#PRODUCT_ROW_MAPPER} over an in-memory result set holding
+ * the same columns as a {@code products} query. Lives in the repository's package to reach
+ * the package-private mapper; rewinding the row set is part of each measured call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductRowMapperBenchmark {
+
+    private static final String[] COLUMNS = { "id", "code", "name", "description", "image_hash", "category", "price",
+        "quantity", "internal_reference", "shell_id", "inventory_status", "rating", "created_at", "updated_at", "version" };
+    private static final int[] TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.VARCHAR, Types.NUMERIC, Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.INTEGER,
+        Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT };
+
+    @Param({ "500" })
+    public int rows;
+
+    private CachedRowSet resultSet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl metadata = new RowSetMetaDataImpl();
+        metadata.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            metadata.setColumnName(i + 1, COLUMNS[i]);
+            metadata.setColumnType(i + 1, TYPES[i]);
+        }
+        resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metadata);
+        for (Product product : Products.catalog(rows)) {
+            resultSet.moveToInsertRow();
+            resultSet.updateString("id", product.getId().toString());
+            resultSet.updateString("code", product.getCode());
+            resultSet.updateString("name", product.getName());
+            resultSet.updateString("description", product.getDescription());
+            resultSet.updateString("image_hash", product.getImageHash());
+            resultSet.updateString("category", product.getCategory());
+            resultSet.updateBigDecimal("price", BigDecimal.valueOf(product.getPrice()));
+            resultSet.updateInt("quantity", product.getQuantity());
+            resultSet.updateString("internal_reference", product.getInternalReference());
+            resultSet.updateInt("shell_id", product.getShellId());
+            resultSet.updateString("inventory_status", product.getInventoryStatus().name());
+            resultSet.updateInt("rating", product.getRating());
+            resultSet.updateTimestamp("created_at", new Timestamp(product.getCreatedAt()));
+            resultSet.updateTimestamp("updated_at", new Timestamp(product.getUpdatedAt()));
+            resultSet.updateLong("version", product.getVersion());
+            resultSet.insertRow();
+            resultSet.moveToCurrentRow();
+        }
+        resultSet.setShowDeleted(false);
+    }
+
+    @Benchmark
+    public List<Product> mapRows() throws SQLException {
+        List<Product> products = new ArrayList<>(rows);
+        resultSet.beforeFirst();
+        int rowNum = 0;
+        while (resultSet.next()) {
+            products.add(PostgresProductRepository.PRODUCT_ROW_MAPPER.mapRow(resultSet, rowNum++));
+        }
+        return products;
+    }
+}
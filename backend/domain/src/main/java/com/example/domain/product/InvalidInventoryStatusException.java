@@ -0,0 +1,16 @@
+package com.example.domain.product;
+
+/** An inventory status name that matches none of {@link Product.InventoryStatus}. */
+public class InvalidInventoryStatusException extends ProductException {
+
+    private final String value;
+
+    public InvalidInventoryStatusException(String value) {
+        super("Invalid inventory status: " + value);
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
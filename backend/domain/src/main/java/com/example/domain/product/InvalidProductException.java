@@ -0,0 +1,23 @@
+package com.example.domain.product;
+
+import java.util.List;
+
+/** Values that break one or more product rules; {@link #violations()} has every one of them. */
+public class InvalidProductException extends ProductException {
+
+    private final int violations;
+
+    public InvalidProductException(int violations, String message) {
+        super(message);
+        this.violations = violations;
+    }
+
+    /** {@link ProductViolations} bits of the broken rules. */
+    public int violations() {
+        return violations;
+    }
+
+    public List<String> messages() {
+        return ProductViolations.messages(violations);
+    }
+}
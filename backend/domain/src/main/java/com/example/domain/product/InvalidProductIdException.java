@@ -0,0 +1,16 @@
+package com.example.domain.product;
+
+/** A product id that is not a UUID in its canonical 36-character form. */
+public class InvalidProductIdException extends ProductException {
+
+    private final String value;
+
+    public InvalidProductIdException(String value) {
+        super("Invalid product id: " + value);
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -8,6 +8,7 @@ public class Product {
     String name;
     String description;
     byte[] image;
+    String imageHash;
     String category;
     double price;
     int quantity;
@@ -17,13 +18,37 @@ public class Product {
     int rating;
     long createdAt;
     long updatedAt;
+    long version;
 
     public enum InventoryStatus {
-        INSTOCK, LOWSTOCK, OUTOFSTOCK
+        INSTOCK, LOWSTOCK, OUTOFSTOCK;
+
+        /** Highest quantity that still counts as low stock. */
+        public static final int LOW_STOCK_THRESHOLD = 10;
+
+        private static final InventoryStatus[] VALUES = values();
+
+        /** Status with the given name, failing with a typed error rather than {@link #valueOf}'s. */
+        public static InventoryStatus parse(String name) {
+            for (InventoryStatus status : VALUES) {
+                if (status.name().equals(name)) {
+                    return status;
+                }
+            }
+            throw new InvalidInventoryStatusException(name);
+        }
+
+        /** Status implied by a stock level: none left, at most the threshold, or more. */
+        public static InventoryStatus forQuantity(int quantity) {
+            if (quantity <= 0) {
+                return OUTOFSTOCK;
+            }
+            return quantity <= LOW_STOCK_THRESHOLD ? LOWSTOCK : INSTOCK;
+        }
     }
     public Product(ProductId id, String code, String name, String description, byte[] image, String category, double price, int quantity, String internalReference, int shellId, InventoryStatus inventoryStatus, int rating, long createdAt, long updatedAt) {
         // Validate the input
-        ProductValidator.validate(id, code, name, description, image, category, price, quantity, internalReference, shellId, inventoryStatus, rating);
+        ProductValidator.requireValid(id, code, name, description, image, category, price, quantity, internalReference, shellId, inventoryStatus, rating);
         
         this.id = id;
         this.code = code;
@@ -51,6 +76,9 @@ public class Product {
     public void setDescription(String description) { this.description = description; }
     public byte[] getImage() { return image; }
     public void setImage(byte[] image) { this.image = image; }
+    /** SHA-256 (hex) of the stored image, or {@code null} when the product has none. */
+    public String getImageHash() { return imageHash; }
+    public void setImageHash(String imageHash) { this.imageHash = imageHash; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
     public double getPrice() { return price; }
@@ -69,6 +97,9 @@ public class Product {
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
     public long getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+    /** Optimistic concurrency token, incremented by the store on every write of the row. */
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 
     
 }
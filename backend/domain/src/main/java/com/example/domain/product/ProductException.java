@@ -0,0 +1,26 @@
+package com.example.domain.product;
+
+/**
+ * Root of the exceptions a product operation is rejected with. Each subclass names one kind of
+ * failure, so adapters can map errors by type instead of inspecting messages.
+ * <p>
+ * These are expected outcomes of bad input rather than bugs, so they skip the stack trace: the
+ * type and message say everything a caller or a log reader needs, and capturing the stack is
+ * most of the cost of throwing. They extend {@link IllegalArgumentException} so that callers
+ * treating any rejected argument alike keep working.
+ */
+public abstract class ProductException extends IllegalArgumentException {
+
+    protected ProductException(String message) {
+        super(message);
+    }
+
+    protected ProductException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -11,7 +11,16 @@ public final class ProductId {
     }
 
     public static ProductId of(UUID value) { return new ProductId(value); }
-    public static ProductId of(String value) { return new ProductId(UUID.fromString(value)); }
+    /**
+     * Parses the canonical form only. Anything else is rejected up front, so a malformed id costs
+     * no exception from {@link UUID#fromString}, and lenient forms such as {@code 1-2-3-4-5} are refused.
+     */
+    public static ProductId of(String value) {
+        if (!isCanonicalUuid(value)) {
+            throw new InvalidProductIdException(value);
+        }
+        return new ProductId(UUID.fromString(value));
+    }
     public static ProductId of(Long value) { return new ProductId(new UUID(0L, value)); }   
 
     public static ProductId newId() { return new ProductId(UUID.randomUUID()); }
@@ -20,6 +29,23 @@ public final class ProductId {
     
     public Long toLong() { return value.getLeastSignificantBits(); }
 
+    private static boolean isCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override public String toString() { return value.toString(); }
     @Override public boolean equals(Object o) {
         return (this == o) || (o instanceof ProductId other && value.equals(other.value));
@@ -15,12 +15,41 @@ public record ProductValidation(
     int rating
 ) {
     public ProductValidation {
-        if (quantity < 0) throw new IllegalArgumentException("Product quantity cannot be negative");
-        if (price < 0) throw new IllegalArgumentException("Product price cannot be negative");
-        if (code == null || code.trim().isEmpty()) throw new IllegalArgumentException("Product code cannot be empty");
-        if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Product name cannot be empty");
-        if (category == null || category.trim().isEmpty()) throw new IllegalArgumentException("Product category cannot be empty");
-        if (internalReference == null || internalReference.trim().isEmpty()) throw new IllegalArgumentException("Product internal reference cannot be empty");
-        if (rating < 0 || rating > 5) throw new IllegalArgumentException("Product rating must be between 0 and 5");
-    }
-}
\ No newline at end of file
+        ProductValidator.requireValid(id, code, name, description, image, category, price, quantity,
+            internalReference, shellId, inventoryStatus, rating);
+    }
+
+    // Throwing forms of the per-field rules in ProductValidator
+
+    public static void validateQuantity(int quantity) {
+        ProductViolations.requireValid(ProductValidator.checkQuantity(quantity));
+    }
+
+    public static void validatePrice(double price) {
+        ProductViolations.requireValid(ProductValidator.checkPrice(price));
+    }
+
+    public static void validateCode(String code) {
+        ProductViolations.requireValid(ProductValidator.checkCode(code));
+    }
+
+    public static void validateName(String name) {
+        ProductViolations.requireValid(ProductValidator.checkName(name));
+    }
+
+    public static void validateCategory(String category) {
+        ProductViolations.requireValid(ProductValidator.checkCategory(category));
+    }
+
+    public static void validateInternalReference(String internalReference) {
+        ProductViolations.requireValid(ProductValidator.checkInternalReference(internalReference));
+    }
+
+    public static void validateInventoryStatus(Product.InventoryStatus inventoryStatus) {
+        ProductViolations.requireValid(ProductValidator.checkInventoryStatus(inventoryStatus));
+    }
+
+    public static void validateRating(int rating) {
+        ProductViolations.requireValid(ProductValidator.checkRating(rating));
+    }
+}
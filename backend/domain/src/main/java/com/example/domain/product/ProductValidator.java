@@ -1,5 +1,10 @@
 package com.example.domain.product;
 
+/**
+ * Product rules. The {@code check} methods evaluate every rule and return the broken ones as
+ * {@link ProductViolations} bits, allocating nothing and throwing nothing; {@link #requireValid}
+ * and {@link #validate} are the throwing forms built on top of them.
+ */
 public final class ProductValidator {
     private ProductValidator() {}
     
@@ -11,4 +16,86 @@ public final class ProductValidator {
                                    price, quantity, internalReference, shellId, 
                                    inventoryStatus, rating);
     }
-}
\ No newline at end of file
+
+    /** Throws an {@link InvalidProductException} listing every broken rule, if any. */
+    public static void requireValid(ProductId id, String code, String name, String description,
+                              byte[] image, String category, double price, int quantity,
+                              String internalReference, int shellId,
+                              Product.InventoryStatus inventoryStatus, int rating) {
+        ProductViolations.requireValid(check(id, code, name, description, image, category,
+                                   price, quantity, internalReference, shellId,
+                                   inventoryStatus, rating));
+    }
+
+    /** Records every broken rule into {@code violations}, after clearing it. */
+    public static ProductViolations check(ProductId id, String code, String name, String description,
+                              byte[] image, String category, double price, int quantity,
+                              String internalReference, int shellId,
+                              Product.InventoryStatus inventoryStatus, int rating,
+                              ProductViolations violations) {
+        return violations.reset().record(check(id, code, name, description, image, category,
+                                   price, quantity, internalReference, shellId,
+                                   inventoryStatus, rating));
+    }
+
+    /** Bits of every broken rule, or 0 when the values make a valid product. */
+    public static int check(ProductId id, String code, String name, String description,
+                              byte[] image, String category, double price, int quantity,
+                              String internalReference, int shellId,
+                              Product.InventoryStatus inventoryStatus, int rating) {
+        return checkQuantity(quantity)
+            | checkPrice(price)
+            | checkCode(code)
+            | checkName(name)
+            | checkCategory(category)
+            | checkInternalReference(internalReference)
+            | checkRating(rating);
+    }
+
+    // Per-field rules, so that partial updates can check only the fields they touch
+
+    public static int checkQuantity(int quantity) {
+        return quantity < 0 ? ProductViolations.QUANTITY_NEGATIVE : 0;
+    }
+
+    public static int checkPrice(double price) {
+        return price < 0 ? ProductViolations.PRICE_NEGATIVE : 0;
+    }
+
+    public static int checkCode(String code) {
+        return isBlank(code) ? ProductViolations.CODE_EMPTY : 0;
+    }
+
+    public static int checkName(String name) {
+        return isBlank(name) ? ProductViolations.NAME_EMPTY : 0;
+    }
+
+    public static int checkCategory(String category) {
+        return isBlank(category) ? ProductViolations.CATEGORY_EMPTY : 0;
+    }
+
+    public static int checkInternalReference(String internalReference) {
+        return isBlank(internalReference) ? ProductViolations.INTERNAL_REFERENCE_EMPTY : 0;
+    }
+
+    public static int checkInventoryStatus(Product.InventoryStatus inventoryStatus) {
+        return inventoryStatus == null ? ProductViolations.INVENTORY_STATUS_MISSING : 0;
+    }
+
+    public static int checkRating(int rating) {
+        return rating < 0 || rating > 5 ? ProductViolations.RATING_OUT_OF_RANGE : 0;
+    }
+
+    /** Same notion of blank as {@code trim().isEmpty()}, without copying padded strings. */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.domain.product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every product rule a set of values breaks, one bit per rule. {@link ProductValidator#check}
+ * computes the bits without allocating or throwing, so callers validating many rows can keep
+ * one instance, {@link #reset()} it per row and build messages only for the rows that fail.
+ * Instances are mutable and not thread-safe.
+ */
+public final class ProductViolations {
+
+    public static final int QUANTITY_NEGATIVE = 1;
+    public static final int PRICE_NEGATIVE = 1 << 1;
+    public static final int CODE_EMPTY = 1 << 2;
+    public static final int NAME_EMPTY = 1 << 3;
+    public static final int CATEGORY_EMPTY = 1 << 4;
+    public static final int INTERNAL_REFERENCE_EMPTY = 1 << 5;
+    public static final int RATING_OUT_OF_RANGE = 1 << 6;
+    public static final int INVENTORY_STATUS_MISSING = 1 << 7;
+    public static final int IMAGE_TYPE_UNSUPPORTED = 1 << 8;
+
+    // Indexed by bit position, in the order the rules were historically checked
+    private static final String[] MESSAGES = {
+        "Product quantity cannot be negative",
+        "Product price cannot be negative",
+        "Product code cannot be empty",
+        "Product name cannot be empty",
+        "Product category cannot be empty",
+        "Product internal reference cannot be empty",
+        "Product rating must be between 0 and 5",
+        "Product inventory status cannot be empty",
+        "Product image must be a PNG, JPEG, GIF or WebP picture"
+    };
+
+    private int flags;
+
+    /** Adds the bits of {@code mask} to the violations recorded so far. */
+    public ProductViolations record(int mask) {
+        flags |= mask;
+        return this;
+    }
+
+    public ProductViolations reset() {
+        flags = 0;
+        return this;
+    }
+
+    public int flags() {
+        return flags;
+    }
+
+    public boolean isValid() {
+        return flags == 0;
+    }
+
+    public boolean contains(int violation) {
+        return (flags & violation) != 0;
+    }
+
+    public int count() {
+        return Integer.bitCount(flags);
+    }
+
+    public List<String> messages() {
+        return messages(flags);
+    }
+
+    public void throwIfInvalid() {
+        requireValid(flags);
+    }
+
+    /** Messages of the rules set in {@code mask}, in rule order. */
+    public static List<String> messages(int mask) {
+        List<String> messages = new ArrayList<>(Integer.bitCount(mask));
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            messages.add(MESSAGES[Integer.numberOfTrailingZeros(remaining)]);
+        }
+        return messages;
+    }
+
+    /**
+     * Throws an {@link InvalidProductException} naming every violation in {@code mask};
+     * a single violation keeps its historical message.
+     */
+    public static void requireValid(int mask) {
+        if (mask == 0) {
+            return;
+        }
+        if ((mask & (mask - 1)) == 0) {
+            throw new InvalidProductException(mask, MESSAGES[Integer.numberOfTrailingZeros(mask)]);
+        }
+        throw new InvalidProductException(mask, String.join("; ", messages(mask)));
+    }
+}
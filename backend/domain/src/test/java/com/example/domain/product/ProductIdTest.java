@@ -1,5 +1,6 @@
 package com.example.domain.product;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +17,13 @@ class ProductIdTest {
         });
     }
     @Test
+    void productId_of_string_must_reject_non_canonical_uuid_with_typed_exception(){
+        InvalidProductIdException exception = assertThrows(InvalidProductIdException.class, () -> ProductId.of("1-2-3-4-5"));
+        assertEquals("1-2-3-4-5", exception.getValue());
+        assertEquals(0, exception.getStackTrace().length);
+        assertThrows(InvalidProductIdException.class, () -> ProductId.of("123e4567-e89b-12d3-a456-42661417400g"));
+    }
+    @Test
     void productId_of_uuid_must_throw_for_null(){
         assertThrows(NullPointerException.class, () -> {
             ProductId id = ProductId.of((java.util.UUID) null);
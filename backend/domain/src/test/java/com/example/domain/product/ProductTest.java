@@ -1,5 +1,6 @@
 package com.example.domain.product;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 
@@ -184,4 +185,20 @@ class ProductTest {
 
 
 
-}
\ No newline at end of file
+
+    @Test
+    void inventoryStatus_parse_must_throw_typed_exception_for_unknown_name(){
+        assertEquals(Product.InventoryStatus.LOWSTOCK, Product.InventoryStatus.parse("LOWSTOCK"));
+        InvalidInventoryStatusException exception = assertThrows(InvalidInventoryStatusException.class,
+            () -> Product.InventoryStatus.parse("instock"));
+        assertEquals("instock", exception.getValue());
+    }
+
+    @Test
+    void inventoryStatus_must_follow_quantity(){
+        assertEquals(Product.InventoryStatus.OUTOFSTOCK, Product.InventoryStatus.forQuantity(0));
+        assertEquals(Product.InventoryStatus.LOWSTOCK, Product.InventoryStatus.forQuantity(1));
+        assertEquals(Product.InventoryStatus.LOWSTOCK, Product.InventoryStatus.forQuantity(Product.InventoryStatus.LOW_STOCK_THRESHOLD));
+        assertEquals(Product.InventoryStatus.INSTOCK, Product.InventoryStatus.forQuantity(Product.InventoryStatus.LOW_STOCK_THRESHOLD + 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.domain.product;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ProductValidatorTest {
+
+    @Test
+    void check_must_return_no_flags_for_valid_product(){
+        int flags = ProductValidator.check(ProductId.newId(), "code", "name", "description", new byte[0],
+            "category", 10.0, 10, "internalReference", 1, Product.InventoryStatus.INSTOCK, 5);
+
+        assertEquals(0, flags);
+    }
+
+    @Test
+    void check_must_report_every_broken_rule_at_once(){
+        ProductViolations violations = new ProductViolations();
+
+        ProductValidator.check(ProductId.newId(), " ", "", "description", null,
+            null, -1.0, -1, "\t", 1, Product.InventoryStatus.INSTOCK, 6, violations);
+
+        assertEquals(7, violations.count());
+        assertTrue(violations.contains(ProductViolations.CODE_EMPTY));
+        assertTrue(violations.contains(ProductViolations.RATING_OUT_OF_RANGE));
+        assertFalse(violations.contains(ProductViolations.INVENTORY_STATUS_MISSING));
+        assertEquals(List.of(
+            "Product quantity cannot be negative",
+            "Product price cannot be negative",
+            "Product code cannot be empty",
+            "Product name cannot be empty",
+            "Product category cannot be empty",
+            "Product internal reference cannot be empty",
+            "Product rating must be between 0 and 5"
+        ), violations.messages());
+    }
+
+    @Test
+    void check_must_clear_reused_violations(){
+        ProductViolations violations = new ProductViolations().record(ProductViolations.NAME_EMPTY);
+
+        ProductViolations result = ProductValidator.check(ProductId.newId(), "code", "name", null, null,
+            "category", 10.0, 10, "internalReference", 1, null, 0, violations);
+
+        assertSame(violations, result);
+        assertTrue(result.isValid());
+    }
+
+    @Test
+    void requireValid_must_keep_single_message_and_join_several(){
+        IllegalArgumentException single = assertThrows(IllegalArgumentException.class,
+            () -> ProductViolations.requireValid(ProductViolations.NAME_EMPTY));
+        InvalidProductException several = assertThrows(InvalidProductException.class,
+            () -> new Product(ProductId.newId(), "code", "", "description", null, "category",
+                -1.0, 10, "internalReference", 1, Product.InventoryStatus.INSTOCK, 5, 0L, 0L));
+
+        assertEquals("Product name cannot be empty", single.getMessage());
+        assertEquals("Product price cannot be negative; Product name cannot be empty", several.getMessage());
+        assertEquals(ProductViolations.PRICE_NEGATIVE | ProductViolations.NAME_EMPTY, several.violations());
+    }
+}
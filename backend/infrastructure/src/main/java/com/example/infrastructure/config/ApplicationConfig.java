@@ -1,16 +1,67 @@
 package com.example.infrastructure.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.example.application.product.port.in.ProductBulkTransferUseCase;
+import com.example.application.product.port.in.ProductUseCases;
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.application.product.port.out.ProductImageStore;
 import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.service.ProductBulkTransferService;
 import com.example.application.product.service.ProductService;
+import com.example.application.search.IndexingProductBulkStore;
+import com.example.application.search.IndexingProductRepository;
+import com.example.application.search.ProductSearchIndex;
+import com.example.infrastructure.product.dto.ProductDto;
+import com.example.infrastructure.product.metrics.ProductMetrics;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 
 @Configuration
 public class ApplicationConfig {
 
+    /**
+     * Writes made through the service also update the search index, when there is one. With
+     * metrics enabled, the use cases and the ports they call are timed.
+     */
     @Bean
-    public ProductService productService(ProductRepository productRepository) {
-        return new ProductService(productRepository);
+    public ProductUseCases productService(ProductRepository productRepository, ProductImageStore productImageStore,
+                                          ObjectProvider<ProductSearchIndex> searchIndex,
+                                          ObjectProvider<ProductMetrics> productMetrics) {
+        ProductSearchIndex index = searchIndex.getIfAvailable();
+        ProductMetrics metrics = productMetrics.getIfAvailable();
+        ProductRepository repository = index != null ? new IndexingProductRepository(productRepository, index) : productRepository;
+        ProductImageStore imageStore = productImageStore;
+        if (metrics != null) {
+            repository = metrics.repository(repository);
+            imageStore = metrics.imageStore(imageStore);
+        }
+        ProductUseCases service = new ProductService(repository, imageStore);
+        return metrics != null ? metrics.useCases(service) : service;
+    }
+
+    /**
+     * {@link ProductDto} carries a property filter for {@code fields=} projections; every other
+     * response serializes all of its properties.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer productFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+            .addFilter(ProductDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Bean
+    public ProductBulkTransferUseCase productBulkTransferService(ProductBulkStore productBulkStore,
+                                                                 ProductRepository productRepository,
+                                                                 ObjectProvider<ProductSearchIndex> searchIndex,
+                                                                 ObjectProvider<ProductMetrics> productMetrics) {
+        ProductSearchIndex index = searchIndex.getIfAvailable();
+        ProductBulkTransferUseCase service = new ProductBulkTransferService(
+            index != null ? new IndexingProductBulkStore(productBulkStore, index, productRepository) : productBulkStore);
+        ProductMetrics metrics = productMetrics.getIfAvailable();
+        return metrics != null ? metrics.bulkTransfer(service) : service;
     }
 }
\ No newline at end of file
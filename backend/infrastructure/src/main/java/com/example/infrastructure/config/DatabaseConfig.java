@@ -1,10 +1,43 @@
 package com.example.infrastructure.config;
 
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.Properties;
+
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.infrastructure.jdbc.AdmissionControlledDataSource;
+import com.example.infrastructure.product.cache.CacheEvictingProductBulkStore;
+import com.example.infrastructure.product.cache.CacheEvictingProductImageStore;
+import com.example.infrastructure.product.cache.CachingProductRepository;
+import com.example.infrastructure.product.cache.ProductCache;
+import com.example.infrastructure.product.cache.ProductChangeListener;
+import com.example.infrastructure.product.metrics.ProductMetrics;
+import com.example.infrastructure.product.persistence.PostgresProductBulkStore;
+import com.example.infrastructure.product.persistence.PostgresProductImageStore;
+import com.example.infrastructure.product.persistence.PostgresProductRepository;
+import com.example.infrastructure.product.persistence.ProductTombstonePruner;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Configuration
 public class DatabaseConfig {
@@ -13,4 +46,121 @@ public class DatabaseConfig {
     public JdbcTemplate jdbcTemplate(DataSource dataSource) {
         return new JdbcTemplate(dataSource);
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps deletions in the change feed for {@code products.changes.tombstone-retention}; older
+     * watermarks are answered with a request to resync.
+     */
+    @Bean
+    public ProductTombstonePruner productTombstonePruner(
+            JdbcTemplate jdbcTemplate,
+            @Value("${products.changes.tombstone-retention:30d}") Duration retention,
+            @Value("${products.changes.prune-interval:1h}") Duration pruneInterval) {
+        return new ProductTombstonePruner(jdbcTemplate, retention, pruneInterval);
+    }
+
+    /**
+     * Wraps the pooled data source in a fair admission gate with as many permits as the pool
+     * has connections, so that callers (thousands, on virtual threads) queue in arrival order
+     * with a bounded wait instead of contending inside the pool. Disable with
+     * {@code products.jdbc.gate.enabled=false}.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "products.jdbc.gate", name = "enabled", matchIfMissing = true)
+    static class JdbcGateConfig {
+
+        @Bean
+        public static BeanPostProcessor jdbcAdmissionGate(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                        return bean;
+                    }
+                    int permits = environment.getProperty("products.jdbc.gate.permits", Integer.class, 0);
+                    if (permits <= 0 && bean instanceof HikariDataSource hikari) {
+                        permits = hikari.getMaximumPoolSize();
+                    }
+                    if (permits <= 0) {
+                        return bean;
+                    }
+                    Duration acquireTimeout = environment.getProperty(
+                        "products.jdbc.gate.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+                    return new AdmissionControlledDataSource(dataSource, permits, acquireTimeout,
+                        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+                }
+            };
+        }
+    }
+
+    /**
+     * Puts an in-process product cache in front of the Postgres adapters. Every adapter that
+     * writes product rows is decorated so that local writes never leave stale entries behind.
+     * Disable with {@code products.cache.enabled=false}.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "products.cache", name = "enabled", matchIfMissing = true)
+    static class ProductCacheConfig {
+
+        @Bean
+        public ProductCache productCache(
+                @Value("${products.cache.maximum-size:100000}") long maximumSize,
+                @Value("${products.cache.maximum-weight:128MB}") DataSize maximumWeight,
+                @Value("${products.cache.ttl:10m}") Duration ttl,
+                @Value("${products.cache.negative-ttl:30s}") Duration negativeTtl,
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            ProductCache cache = new ProductCache(maximumSize, maximumWeight.toBytes(), ttl, negativeTtl);
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), "products"));
+            return cache;
+        }
+
+        /**
+         * Evicts entries changed by other nodes and passes the changes on to any
+         * {@link ProductChangeListener.Subscriber} beans. Uses its own connection outside the pool
+         * so that a long-lived LISTEN never holds a pooled connection.
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "products.cache.invalidation", name = "enabled", matchIfMissing = true)
+        public ProductChangeListener productChangeListener(
+                DataSourceProperties dataSourceProperties,
+                ProductCache productCache,
+                ObjectProvider<ProductChangeListener.Subscriber> subscribers,
+                @Value("${products.cache.invalidation.poll-interval:10s}") Duration pollInterval,
+                @Value("${products.cache.invalidation.initial-backoff:500ms}") Duration initialBackoff,
+                @Value("${products.cache.invalidation.max-backoff:30s}") Duration maxBackoff) {
+            String url = dataSourceProperties.determineUrl();
+            Properties connectionProperties = new Properties();
+            if (dataSourceProperties.determineUsername() != null) {
+                connectionProperties.setProperty("user", dataSourceProperties.determineUsername());
+            }
+            if (dataSourceProperties.determinePassword() != null) {
+                connectionProperties.setProperty("password", dataSourceProperties.determinePassword());
+            }
+            connectionProperties.setProperty("ApplicationName", "product-change-listener");
+            connectionProperties.setProperty("tcpKeepAlive", "true");
+            return new ProductChangeListener(() -> DriverManager.getConnection(url, connectionProperties),
+                productCache, subscribers.orderedStream().toList(), pollInterval, initialBackoff, maxBackoff);
+        }
+
+        @Bean
+        @Primary
+        public ProductRepository cachingProductRepository(PostgresProductRepository repository, ProductCache productCache,
+                                                          ObjectProvider<ProductMetrics> productMetrics) {
+            // Metered behind the cache too, so database latency is not diluted by cache hits
+            ProductMetrics metrics = productMetrics.getIfAvailable();
+            return new CachingProductRepository(metrics != null ? metrics.database(repository) : repository, productCache);
+        }
+
+        @Bean
+        @Primary
+        public ProductImageStore cacheEvictingProductImageStore(PostgresProductImageStore imageStore, ProductCache productCache) {
+            return new CacheEvictingProductImageStore(imageStore, productCache);
+        }
+
+        @Bean
+        @Primary
+        public ProductBulkStore cacheEvictingProductBulkStore(PostgresProductBulkStore bulkStore, ProductCache productCache) {
+            return new CacheEvictingProductBulkStore(bulkStore, productCache);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.infrastructure.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.infrastructure.product.metrics.ProductMetrics;
+import com.example.infrastructure.product.persistence.RowMappingTimer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Times the product use cases and the repository and image store ports behind them (see
+ * {@link ApplicationConfig}), the repository calls that reach the database (see
+ * {@link DatabaseConfig}) and the mapping of their rows; connection pool metrics
+ * ({@code hikaricp.*}) come from Spring Boot. Disable with {@code products.metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "products.metrics", name = "enabled", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public ProductMetrics productMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ProductMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public RowMappingTimer productRowMappingTimer(ProductMetrics productMetrics) {
+        return productMetrics.rowMapping();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.infrastructure.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.example.application.product.service.ReactiveProductService;
+import com.example.infrastructure.product.persistence.ReactivePostgresProductRepository;
+import com.example.infrastructure.product.web.ReactiveProductHandler;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Serves the product API through WebFlux and R2DBC when the {@code reactive} profile is active
+ * (which also switches the application to a reactive web server). The R2DBC pool connects to
+ * the same database as {@code spring.datasource}, unless {@code products.reactive.r2dbc.url}
+ * says otherwise.
+ * <p>
+ * The pool is deliberately not a {@code ConnectionFactory} bean: Spring Boot backs off from
+ * creating the JDBC data source when one exists, and Flyway and the blocking adapters still need it.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * Netty rather than Tomcat, which the servlet starter also puts on the classpath: idle
+     * long-polling and streaming connections then cost no thread.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient productDatabaseClient(
+            DataSourceProperties dataSourceProperties,
+            @Value("${products.reactive.r2dbc.url:}") String url,
+            @Value("${products.reactive.r2dbc.pool-size:10}") int poolSize) {
+        String r2dbcUrl = url.isEmpty() ? dataSourceProperties.determineUrl().replaceFirst("^jdbc:", "r2dbc:") : url;
+        ConnectionFactoryOptions parsed = ConnectionFactoryOptions.parse(r2dbcUrl);
+        ConnectionFactoryOptions.Builder options = parsed.mutate();
+        if (!parsed.hasOption(ConnectionFactoryOptions.USER) && dataSourceProperties.determineUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername());
+        }
+        if (!parsed.hasOption(ConnectionFactoryOptions.PASSWORD) && dataSourceProperties.determinePassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword());
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+            .name("products-r2dbc")
+            .maxSize(poolSize)
+            .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public ReactiveProductService reactiveProductService(DatabaseClient productDatabaseClient) {
+        return new ReactiveProductService(new ReactivePostgresProductRepository(productDatabaseClient));
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveProductRoutes(ReactiveProductService reactiveProductService) {
+        return new ReactiveProductHandler(reactiveProductService).routes();
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.infrastructure.config;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.search.ProductSearchIndex;
+import com.example.domain.product.ProductId;
+import com.example.infrastructure.product.cache.ProductChangeListener;
+
+/**
+ * In-memory typeahead index, loaded from the repository at startup and kept current by the
+ * writes of this instance (see {@link ApplicationConfig}) and by the changes of other nodes
+ * heard through the {@link ProductChangeListener}. That listener only runs with the product
+ * cache and its invalidation enabled; without it the index sees other nodes' writes only on
+ * the next rebuild. Disable with {@code products.search-index.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "products.search-index", name = "enabled", matchIfMissing = true)
+public class SearchIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexConfig.class);
+
+    @Bean
+    public ProductSearchIndex productSearchIndex() {
+        return new ProductSearchIndex();
+    }
+
+    @Bean
+    public ApplicationRunner productSearchIndexLoader(ProductSearchIndex index, ProductRepository productRepository) {
+        return args -> {
+            long start = System.nanoTime();
+            index.rebuild(productRepository);
+            log.info("Indexed {} products for suggestions in {} ms (~{} KB)",
+                index.size(), (System.nanoTime() - start) / 1_000_000, index.estimatedMemoryBytes() / 1024);
+        };
+    }
+
+    @Bean
+    public IndexRefreshingSubscriber productSearchIndexRefresher(ProductSearchIndex index,
+                                                                 ProductRepository productRepository) {
+        return new IndexRefreshingSubscriber(index, productRepository);
+    }
+
+    /**
+     * Applies changes heard from other nodes to the index. Reads and rescans run on a thread of
+     * their own so they never hold up cache invalidation on the listener thread; a rebuild
+     * already waiting there absorbs further requests for one.
+     */
+    static class IndexRefreshingSubscriber implements ProductChangeListener.Subscriber, AutoCloseable {
+
+        private final ProductSearchIndex index;
+        private final ProductRepository repository;
+        private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("search-index-refresh").daemon().factory());
+        private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+        IndexRefreshingSubscriber(ProductSearchIndex index, ProductRepository repository) {
+            this.index = index;
+            this.repository = repository;
+        }
+
+        @Override
+        public void changed(Map<ProductId, Long> written, Collection<ProductId> deleted) {
+            submit(() -> index.refresh(written, deleted, repository));
+        }
+
+        @Override
+        public void changedAll() {
+            if (rebuildQueued.compareAndSet(false, true)) {
+                submit(() -> {
+                    rebuildQueued.set(false);
+                    index.rebuild(repository);
+                });
+            }
+        }
+
+        private void submit(Runnable task) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.warn("Could not apply product changes to the search index", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
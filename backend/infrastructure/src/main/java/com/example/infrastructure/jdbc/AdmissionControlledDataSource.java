@@ -0,0 +1,147 @@
+package com.example.infrastructure.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Admits at most {@code permits} borrowed connections at a time, queueing the rest in FIFO
+ * order on a fair semaphore. Sized to the connection pool, this keeps thousands of virtual
+ * threads from contending inside the pool itself: waiters line up here, in arrival order,
+ * and give up with a {@link SQLTransientConnectionException} after {@code acquireTimeout}.
+ * <p>
+ * The permit is returned when the borrowed connection is closed. Meters:
+ * {@code jdbc.gate.wait} (time to get a permit), {@code jdbc.gate.waiting},
+ * {@code jdbc.gate.active} and {@code jdbc.gate.timeouts}.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public AdmissionControlledDataSource(DataSource target, int permits, Duration acquireTimeout, MeterRegistry registry) {
+        super(target);
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.waitTimer = Timer.builder("jdbc.gate.wait")
+            .description("Time spent waiting for a database connection permit")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        this.timeouts = Counter.builder("jdbc.gate.timeouts")
+            .description("Callers that gave up waiting for a database connection permit")
+            .register(registry);
+        Gauge.builder("jdbc.gate.waiting", waiting, AtomicInteger::get)
+            .description("Callers queued for a database connection permit")
+            .register(registry);
+        Gauge.builder("jdbc.gate.active", this, AdmissionControlledDataSource::activePermits)
+            .description("Database connection permits in use")
+            .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrow(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return borrow(() -> super.getConnection(username, password));
+    }
+
+    public int activePermits() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public int waitingCallers() {
+        return waiting.get();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        waiting.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection permit", e);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("No database connection permit available after "
+                + Duration.ofNanos(acquireTimeoutNanos).toMillis() + "ms (" + maxPermits + " in use)");
+        }
+    }
+
+    private Connection borrow(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        return releasingOnClose(connection);
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Admitted[" + connection + "]";
+                case "close" -> {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    yield null;
+                }
+                default -> {
+                    try {
+                        yield method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.infrastructure.logging;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples repetitive errors: the first occurrence of each kind is logged, then at most one
+ * per interval, along with how many were suppressed in between. A burst of identical
+ * failures (a client retrying a bad request, a database outage) then costs a counter
+ * increment per request instead of a log line and a stack trace.
+ */
+public class ErrorLogSampler {
+
+    /** Returned by {@link #sample} when the occurrence should not be logged. */
+    public static final long SUPPRESS = -1;
+
+    // Keys are error kinds, not messages; the bound only guards against an unexpected variety
+    private static final int MAX_KEYS = 1_000;
+
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public ErrorLogSampler(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    ErrorLogSampler(Duration interval, LongSupplier nanoClock) {
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records an occurrence of {@code key} and returns {@link #SUPPRESS} if it should not be
+     * logged, otherwise the number of occurrences suppressed since the last one logged.
+     */
+    public long sample(String key) {
+        if (windows.size() >= MAX_KEYS && !windows.containsKey(key)) {
+            windows.clear();
+        }
+        Window window = windows.computeIfAbsent(key, k -> new Window(nanoClock.getAsLong()));
+        long now = nanoClock.getAsLong();
+        long next = window.nextLogAt.get();
+        if (now - next >= 0 && window.nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return SUPPRESS;
+    }
+
+    private static final class Window {
+        final AtomicLong nextLogAt;
+        final AtomicLong suppressed = new AtomicLong();
+
+        Window(long now) {
+            this.nextLogAt = new AtomicLong(now);
+        }
+    }
+}
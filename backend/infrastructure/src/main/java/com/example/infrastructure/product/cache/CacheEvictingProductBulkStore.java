@@ -0,0 +1,34 @@
+package com.example.infrastructure.product.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.example.application.product.port.out.ProductBulkStore;
+
+/**
+ * A bulk merge can touch any product, so it empties the product cache.
+ */
+public class CacheEvictingProductBulkStore implements ProductBulkStore {
+
+    private final ProductBulkStore delegate;
+    private final ProductCache cache;
+
+    public CacheEvictingProductBulkStore(ProductBulkStore delegate, ProductCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public MergeResult merge(Source source) {
+        try {
+            return delegate.merge(source);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        delegate.exportCsv(out);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.infrastructure.product.cache;
+
+import java.util.Optional;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.domain.product.ProductId;
+
+/**
+ * Image writes also change the product's image hash, so they evict the cached product.
+ */
+public class CacheEvictingProductImageStore implements ProductImageStore {
+
+    private final ProductImageStore delegate;
+    private final ProductCache cache;
+
+    public CacheEvictingProductImageStore(ProductImageStore delegate, ProductCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean save(ProductImage image) {
+        try {
+            return delegate.save(image);
+        } finally {
+            cache.invalidate(image.metadata().productId());
+        }
+    }
+
+    @Override
+    public Optional<ProductImage> findByProductId(ProductId productId) {
+        return delegate.findByProductId(productId);
+    }
+
+    @Override
+    public Optional<ProductImageMetadata> findMetadataByProductId(ProductId productId) {
+        return delegate.findMetadataByProductId(productId);
+    }
+
+    @Override
+    public boolean deleteByProductId(ProductId productId) {
+        try {
+            return delegate.deleteByProductId(productId);
+        } finally {
+            cache.invalidate(productId);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.infrastructure.product.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+/**
+ * Read-through cache for single-product lookups and facet counts. Writes go to the delegate
+ * first and then invalidate the affected entries; list, page and stream reads are not cached.
+ * <p>
+ * Written state is never put into the cache: two writers can finish their cache updates in the
+ * opposite order to their commits, which would leave the older version cached. Only loads fill
+ * the cache, and an invalidation racing with a load discards the load's result.
+ */
+public class CachingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final ProductCache cache;
+
+    public CachingProductRepository(ProductRepository delegate, ProductCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Product save(Product product) {
+        try {
+            return delegate.save(product);
+        } finally {
+            cache.invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public Optional<Product> insert(Product product) {
+        try {
+            return delegate.insert(product);
+        } finally {
+            cache.invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public Optional<Product> update(Product product, Long expectedVersion) {
+        try {
+            return delegate.update(product, expectedVersion);
+        } finally {
+            cache.invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public Optional<Product> patch(ProductId id, ProductPatch patch, long updatedAt) {
+        try {
+            return delegate.patch(id, patch, updatedAt);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public Optional<ProductDTO> findProjectedById(ProductId id, ProductProjection projection) {
+        // A cached product holds every field, so it answers any projection without a query
+        Optional<Product> cached = cache.getIfPresent(id);
+        return cached != null ? cached.map(ProductDTO::fromDomain) : delegate.findProjectedById(id, projection);
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionById(ProductId id) {
+        Optional<Product> cached = cache.getIfPresent(id);
+        return cached != null
+            ? cached.map(product -> new ProductRevision(product.getVersion(), product.getUpdatedAt()))
+            : delegate.findRevisionById(id);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(ProductPageRequest request) {
+        return delegate.findPage(request);
+    }
+
+    @Override
+    public List<ProductDTO> findProjectedPage(ProductPageRequest request) {
+        return delegate.findProjectedPage(request);
+    }
+
+    @Override
+    public List<ProductSearchHit> search(ProductSearchRequest request) {
+        return delegate.search(request);
+    }
+
+    @Override
+    public ProductFacets countFacets(ProductFacetRequest request) {
+        return cache.facets(request, delegate::countFacets);
+    }
+
+    @Override
+    public ProductChangeLog findChanges(ProductChangeCursor since, int limit) {
+        return delegate.findChanges(since, limit);
+    }
+
+    @Override
+    public void forEach(ProductFilter filter, Consumer<Product> action) {
+        delegate.forEach(filter, action);
+    }
+
+    @Override
+    public Map<ProductId, Long> insertAll(List<Product> products) {
+        try {
+            return delegate.insertAll(products);
+        } finally {
+            cache.invalidateAll(products.stream().map(Product::getId).toList());
+        }
+    }
+
+    @Override
+    public Map<ProductId, Long> updateAll(List<Product> products, Map<ProductId, Long> expectedVersions) {
+        try {
+            return delegate.updateAll(products, expectedVersions);
+        } finally {
+            cache.invalidateAll(products.stream().map(Product::getId).toList());
+        }
+    }
+
+    @Override
+    public Set<ProductId> deleteAll(Collection<ProductId> ids) {
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    @Override
+    public List<StockLevel> adjustQuantities(Map<ProductId, Long> deltas, long updatedAt) {
+        try {
+            return delegate.adjustQuantities(deltas, updatedAt);
+        } finally {
+            cache.invalidateAll(deltas.keySet());
+        }
+    }
+
+    @Override
+    public Set<ProductId> findExistingIds(Collection<ProductId> ids) {
+        return delegate.findExistingIds(ids);
+    }
+
+    @Override
+    public boolean deleteById(ProductId id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return delegate.existsByCode(code);
+    }
+
+    @Override
+    public boolean existsByCodeExcludingId(String code, ProductId excludedId) {
+        return delegate.existsByCodeExcludingId(code, excludedId);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.infrastructure.product.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * In-process cache of products by id, shared by the caching decorators. Missing ids are
+ * cached too (as empty), with their own shorter lifetime.
+ * <p>
+ * Entries are bounded both in number and in estimated bytes: every entry weighs at least
+ * {@code maximumWeight / maximumSize}, so neither bound can be exceeded. Products are
+ * mutable, so values are copied on the way in and on the way out.
+ * <p>
+ * Facet counts are kept alongside, and dropped whenever any product changes.
+ */
+public class ProductCache {
+
+    /** Rough fixed footprint of a cached product: headers, id, boxed optional, primitives. */
+    static final int ENTRY_OVERHEAD = 200;
+
+    /** Distinct facet requests kept; they differ only by filters and price breaks. */
+    static final int FACETS_MAXIMUM_SIZE = 1_000;
+
+    private final Cache<ProductId, Optional<Product>> cache;
+    private final Cache<ProductFacetRequest, ProductFacets> facets;
+    private final AtomicLong facetGeneration = new AtomicLong();
+
+    public ProductCache(long maximumSize, long maximumWeight, Duration ttl, Duration negativeTtl) {
+        this(maximumSize, maximumWeight, ttl, negativeTtl, Ticker.systemTicker());
+    }
+
+    ProductCache(long maximumSize, long maximumWeight, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        if (maximumSize <= 0 || maximumWeight <= 0) {
+            throw new IllegalArgumentException("Product cache bounds must be positive");
+        }
+        long minimumWeight = Math.max(1, maximumWeight / maximumSize);
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((ProductId id, Optional<Product> value) ->
+                (int) Math.min(Integer.MAX_VALUE, Math.max(minimumWeight, value.map(ProductCache::weigh).orElse(0L))))
+            .expireAfter(new Expiry<ProductId, Optional<Product>>() {
+                @Override
+                public long expireAfterCreate(ProductId id, Optional<Product> value, long currentTime) {
+                    return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(ProductId id, Optional<Product> value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(id, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(ProductId id, Optional<Product> value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .ticker(ticker)
+            .recordStats()
+            .build();
+        this.facets = Caffeine.newBuilder()
+            .maximumSize(FACETS_MAXIMUM_SIZE)
+            .expireAfterWrite(ttl)
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Returns the cached product, loading it on a miss. Concurrent misses for one id share a
+     * single load, and an invalidation racing with a load waits for it and then removes its result.
+     */
+    public Optional<Product> get(ProductId id, Function<ProductId, Optional<Product>> loader) {
+        return cache.get(id, key -> loader.apply(key).map(ProductCache::copy)).map(ProductCache::copy);
+    }
+
+    /** Returns the cached entry without loading, or {@code null} when nothing is cached for the id. */
+    public Optional<Product> getIfPresent(ProductId id) {
+        Optional<Product> cached = cache.getIfPresent(id);
+        return cached != null ? cached.map(ProductCache::copy) : null;
+    }
+
+    public void invalidate(ProductId id) {
+        cache.invalidate(id);
+        invalidateFacets();
+    }
+
+    public void invalidateAll(Collection<ProductId> ids) {
+        cache.invalidateAll(ids);
+        invalidateFacets();
+    }
+
+    /**
+     * Drops each entry unless it already holds the given version or a newer one, so a change this
+     * node has already loaded (typically the echo of its own write) does not evict it again.
+     * Cached misses are always dropped.
+     */
+    public void invalidateOlder(Map<ProductId, Long> versions) {
+        versions.forEach((id, version) -> cache.asMap().computeIfPresent(id,
+            (key, cached) -> cached.isPresent() && cached.get().getVersion() >= version ? cached : null));
+        invalidateFacets();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        invalidateFacets();
+    }
+
+    /**
+     * Returns cached facet counts, computing them on a miss. Any product change drops every
+     * facet entry; a computation overlapping such a change is returned but not kept.
+     */
+    public ProductFacets facets(ProductFacetRequest request, Function<ProductFacetRequest, ProductFacets> loader) {
+        long generation = facetGeneration.get();
+        ProductFacets result = facets.get(request, loader);
+        if (facetGeneration.get() != generation) {
+            facets.invalidate(request);
+        }
+        return result;
+    }
+
+    private void invalidateFacets() {
+        facetGeneration.incrementAndGet();
+        facets.invalidateAll();
+    }
+
+    /** The underlying cache, for metrics binding. */
+    public Cache<ProductId, Optional<Product>> nativeCache() {
+        return cache;
+    }
+
+    static long weigh(Product product) {
+        long chars = length(product.getCode()) + length(product.getName()) + length(product.getDescription())
+            + length(product.getCategory()) + length(product.getInternalReference()) + length(product.getImageHash());
+        byte[] image = product.getImage();
+        return ENTRY_OVERHEAD + 2 * chars + (image != null ? image.length : 0);
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static Product copy(Product product) {
+        byte[] image = product.getImage();
+        Product copy = new Product(
+            product.getId(),
+            product.getCode(),
+            product.getName(),
+            product.getDescription(),
+            image != null ? image.clone() : null,
+            product.getCategory(),
+            product.getPrice(),
+            product.getQuantity(),
+            product.getInternalReference(),
+            product.getShellId(),
+            product.getInventoryStatus(),
+            product.getRating(),
+            product.getCreatedAt(),
+            product.getUpdatedAt()
+        );
+        copy.setImageHash(product.getImageHash());
+        copy.setVersion(product.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.infrastructure.product.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import com.example.domain.product.ProductId;
+
+/**
+ * Keeps the local {@link ProductCache} coherent with writes made by other nodes. Holds one
+ * dedicated connection listening on {@value #CHANNEL}, fed by the triggers on
+ * {@code products}, and evicts the ids it is told about.
+ * <p>
+ * Written rows arrive as {@code id:version} and only evict a cached copy older than that
+ * version, so echoes of changes this node has already loaded are ignored; deleted rows arrive
+ * as a bare id and always evict. {@link Subscriber}s are told about the same changes once the
+ * cache has applied them.
+ * <p>
+ * Notifications sent while the connection is down are lost, so every (re)connect flushes
+ * the whole cache once {@code LISTEN} is in place. Failed connections are retried with
+ * exponential backoff.
+ */
+public class ProductChangeListener implements SmartLifecycle {
+
+    static final String CHANNEL = "product_changed";
+
+    /** Payload asking listeners to drop everything. */
+    static final String FLUSH_ALL = "*";
+
+    /** Separates the id of a written row from its new version. */
+    static final char VERSION_SEPARATOR = ':';
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeListener.class);
+
+    /**
+     * Something else kept in step with the catalog, such as the search index. Called on the
+     * listener thread, so slow work belongs on a thread of the subscriber's own.
+     */
+    public interface Subscriber {
+        /** Rows were written (with their new version) or deleted, by this node or another. */
+        void changed(Map<ProductId, Long> written, Collection<ProductId> deleted);
+
+        /** Anything may have changed: a mass change, or notifications missed while disconnected. */
+        void changedAll();
+    }
+
+    /** Opens the dedicated listening connection; it is never returned to a pool. */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection connect() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final ProductCache cache;
+    private final List<Subscriber> subscribers;
+    private final Duration pollInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public ProductChangeListener(ConnectionFactory connectionFactory, ProductCache cache, List<Subscriber> subscribers,
+                                 Duration pollInterval, Duration initialBackoff, Duration maxBackoff) {
+        this.connectionFactory = connectionFactory;
+        this.cache = cache;
+        this.subscribers = List.copyOf(subscribers);
+        this.pollInterval = pollInterval;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "product-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            closeQuietly(connection);
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration backoff = initialBackoff;
+        while (running) {
+            try (Connection listening = connectionFactory.connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything may have changed while nobody was listening
+                changedAll();
+                backoff = initialBackoff;
+                log.info("Listening for product changes on channel {}", CHANNEL);
+                poll(listening);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                cache.invalidateAll();
+                log.warn("Product change listener lost its connection, retrying in {}", backoff, e);
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void poll(Connection listening) throws SQLException {
+        PGConnection pgConnection = listening.unwrap(PGConnection.class);
+        int timeoutMillis = (int) pollInterval.toMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications == null || notifications.length == 0) {
+                // A quiet channel must still prove the connection is alive; a half-open
+                // socket would otherwise silently stop delivering notifications
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                apply(notification.getParameter());
+            }
+        }
+    }
+
+    void apply(String payload) {
+        if (payload == null || payload.isEmpty() || payload.equals(FLUSH_ALL)) {
+            changedAll();
+            return;
+        }
+        List<ProductId> deleted = new ArrayList<>();
+        Map<ProductId, Long> written = new HashMap<>();
+        try {
+            for (String change : payload.split(",")) {
+                int separator = change.indexOf(VERSION_SEPARATOR);
+                if (separator < 0) {
+                    deleted.add(ProductId.of(change));
+                } else {
+                    written.merge(ProductId.of(change.substring(0, separator)),
+                        Long.parseLong(change.substring(separator + 1)), Math::max);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Unreadable product change notification '{}', flushing the product cache", payload);
+            changedAll();
+            return;
+        }
+        if (!deleted.isEmpty()) {
+            cache.invalidateAll(deleted);
+        }
+        if (!written.isEmpty()) {
+            cache.invalidateOlder(written);
+        }
+        for (Subscriber subscriber : subscribers) {
+            tell(subscriber, () -> subscriber.changed(written, deleted));
+        }
+    }
+
+    private void changedAll() {
+        cache.invalidateAll();
+        for (Subscriber subscriber : subscribers) {
+            tell(subscriber, subscriber::changedAll);
+        }
+    }
+
+    /** A failing subscriber must not stop the listener, nor keep the others from hearing about it. */
+    private static void tell(Subscriber subscriber, Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            log.warn("Product change subscriber {} failed", subscriber, e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The listener thread is reconnecting or exiting anyway
+        }
+    }
+}
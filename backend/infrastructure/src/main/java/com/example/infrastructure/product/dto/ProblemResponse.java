@@ -0,0 +1,42 @@
+package com.example.infrastructure.product.dto;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * RFC 7807 problem details returned with {@code application/problem+json} for every rejected
+ * request. Immutable, so responses whose content never varies share a single instance.
+ */
+@Schema(description = "RFC 7807 problem details")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProblemResponse(
+    @Schema(description = "URI identifying the kind of problem") URI type,
+    @Schema(description = "Short summary of the kind of problem") String title,
+    @Schema(description = "HTTP status code") int status,
+    @Schema(description = "Explanation specific to this occurrence") String detail,
+    @Schema(description = "Stable machine-readable code of the kind of problem") String errorCode,
+    @Schema(description = "Current version of the product, on version conflicts") Long currentVersion,
+    @Schema(description = "Every broken product rule, on validation errors") List<String> violations
+) {
+    public static ProblemResponse of(int status, String errorCode, String title, String detail) {
+        URI type = URI.create("urn:problem-type:products:" + errorCode.toLowerCase(Locale.ROOT).replace('_', '-'));
+        return new ProblemResponse(type, title, status, detail, errorCode, null, null);
+    }
+
+    public ProblemResponse withDetail(String detail) {
+        return new ProblemResponse(type, title, status, detail, errorCode, currentVersion, violations);
+    }
+
+    public ProblemResponse withCurrentVersion(long currentVersion) {
+        return new ProblemResponse(type, title, status, detail, errorCode, currentVersion, violations);
+    }
+
+    public ProblemResponse withViolations(List<String> violations) {
+        return new ProblemResponse(type, title, status, detail, errorCode, currentVersion, violations);
+    }
+}
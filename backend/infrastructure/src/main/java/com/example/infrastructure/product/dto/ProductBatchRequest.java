@@ -0,0 +1,31 @@
+package com.example.infrastructure.product.dto;
+
+import java.util.List;
+
+import com.example.application.product.dto.ProductBatchOperation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Web payload of {@code POST /api/products/:batch}.
+ */
+@Schema(description = "Bulk create/update/delete request")
+public record ProductBatchRequest(
+    @Schema(description = "Operations to apply; results are reported in the same order")
+    List<Operation> operations
+) {
+
+    @Schema(description = "One bulk operation")
+    public record Operation(
+        @Schema(description = "Operation type", allowableValues = {"CREATE", "UPDATE", "DELETE"}, example = "UPDATE")
+        ProductBatchOperation.Type type,
+        @Schema(description = "Product ID, required for deletes", example = "123e4567-e89b-12d3-a456-426614174000")
+        String id,
+        @Schema(description = "Product payload, required for creates and updates")
+        ProductDto product
+    ) {
+        public ProductBatchOperation toApplicationOperation() {
+            return new ProductBatchOperation(type, id, product != null ? product.toApplicationDto() : null);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.infrastructure.product.dto;
+
+import java.util.List;
+
+import com.example.application.product.dto.ProductBatchItemResult;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Web payload returned by {@code POST /api/products/:batch}.
+ */
+@Schema(description = "Per-item results of a bulk request")
+public record ProductBatchResponse(
+    @Schema(description = "Number of operations that succeeded") int succeeded,
+    @Schema(description = "Number of operations that failed") int failed,
+    @Schema(description = "One result per operation, in request order") List<ProductBatchItemResult> results
+) {
+    public static ProductBatchResponse of(List<ProductBatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(ProductBatchItemResult::isSuccess).count();
+        return new ProductBatchResponse(succeeded, results.size() - succeeded, results);
+    }
+}
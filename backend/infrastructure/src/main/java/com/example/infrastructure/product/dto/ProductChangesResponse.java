@@ -0,0 +1,27 @@
+package com.example.infrastructure.product.dto;
+
+import java.util.List;
+
+import com.example.application.product.dto.ProductChanges;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Web payload returned by {@code GET /api/products/changes}.
+ */
+@Schema(description = "Products changed since a watermark")
+public record ProductChangesResponse(
+    @Schema(description = "Watermark to pass as 'since' on the next call") String watermark,
+    @Schema(description = "True when the response was truncated; call again right away") boolean hasMore,
+    @Schema(description = "Products created or updated since the watermark, in their current state") List<ProductDto> changed,
+    @Schema(description = "Ids of products deleted since the watermark") List<String> deleted
+) {
+    public static ProductChangesResponse of(ProductChanges changes) {
+        return new ProductChangesResponse(
+            changes.watermark(),
+            changes.hasMore(),
+            changes.changed().stream().map(ProductDto::fromApplicationDto).toList(),
+            changes.deleted()
+        );
+    }
+}
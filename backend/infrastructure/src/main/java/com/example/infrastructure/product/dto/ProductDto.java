@@ -5,13 +5,22 @@ import java.util.Base64;
 
 import com.example.application.product.dto.ProductDTO;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
  * DTO for the web layer. This converts between the application layer DTO and JSON representations.
  */
 @Schema(description = "Product data transfer object")
+@JsonFilter(ProductDto.FIELDS_FILTER)
 public class ProductDto {
+    /** Jackson filter restricting the serialized properties to the requested {@code fields}. */
+    public static final String FIELDS_FILTER = "productFields";
+
+    private static final int IMAGE_VERSION_LENGTH = 12;
+
     @Schema(description = "Unique identifier of the product", example = "123e4567-e89b-12d3-a456-426614174000")
     private String id;
     
@@ -24,9 +33,22 @@ public class ProductDto {
     @Schema(description = "Description of the product", example = "Latest model with advanced features")
     private String description;
     
-    @Schema(description = "Image of the product in Base64 encoding")
+    @Schema(description = "Image of the product in Base64 encoding. Write-only: reads expose imageUrl instead",
+            accessMode = Schema.AccessMode.WRITE_ONLY)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String image; // Base64 encoded for JSON
     
+    @Schema(description = "URL of the product image, or null when the product has none",
+            example = "/api/products/123e4567-e89b-12d3-a456-426614174000/image?v=9f86d081884c",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String imageUrl;
+    
+    @Schema(description = "SHA-256 of the product image, or null when the product has none",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String imageHash;
+    
     @Schema(description = "Category of the product", example = "Electronics")
     private String category;
     
@@ -58,6 +80,10 @@ public class ProductDto {
     @Schema(description = "Timestamp when the product was last updated", example = "1633651200000")
     private long updatedAt;
     
+    @Schema(description = "Version of the product. Send it back on updates (or as If-Match) to reject concurrent changes",
+            example = "3")
+    private Long version;
+    
     public ProductDto() {
         // Default constructor for Jackson
     }
@@ -82,18 +108,16 @@ public class ProductDto {
     }
     
     /**
-     * Convert from application DTO to web DTO
+     * Convert from application DTO to web DTO. Image bytes are never embedded; the
+     * image is referenced by a URL that changes whenever its content does.
      */
     public static ProductDto fromApplicationDto(ProductDTO productDTO) {
-        String base64Image = productDTO.getImage() != null ? 
-            Base64.getEncoder().encodeToString(productDTO.getImage()) : null;
-            
-        return new ProductDto(
+        ProductDto productDto = new ProductDto(
             productDTO.getId(),
             productDTO.getCode(),
             productDTO.getName(),
             productDTO.getDescription(),
-            base64Image,
+            null,
             productDTO.getCategory(),
             productDTO.getPrice(),
             productDTO.getQuantity(),
@@ -104,6 +128,22 @@ public class ProductDto {
             productDTO.getCreatedAt(),
             productDTO.getUpdatedAt()
         );
+        if (productDTO.getImageHash() != null) {
+            productDto.setImageHash(productDTO.getImageHash());
+            productDto.setImageUrl(imageUrl(productDTO.getId(), productDTO.getImageHash()));
+        }
+        productDto.setVersion(productDTO.getVersion());
+        return productDto;
+    }
+
+    /** Versioned image URL: the {@code v} parameter lets caches keep it forever. */
+    public static String imageUrl(String productId, String imageHash) {
+        return "/api/products/" + productId + "/image?v=" + imageVersion(imageHash);
+    }
+
+    /** Short form of an image hash used as a cache-busting URL parameter. */
+    public static String imageVersion(String imageHash) {
+        return imageHash.substring(0, IMAGE_VERSION_LENGTH);
     }
     
     /**
@@ -128,6 +168,7 @@ public class ProductDto {
             createdAt,
             updatedAt
         );
+        productDTO.setVersion(version);
         
         return productDTO;
     }
@@ -173,6 +214,22 @@ public class ProductDto {
         this.image = image;
     }
 
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -245,6 +302,14 @@ public class ProductDto {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "ProductDto{" +
@@ -253,6 +318,7 @@ public class ProductDto {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", image='" + (image != null ? "[image data]" : "null") + '\'' +
+                ", imageHash='" + imageHash + '\'' +
                 ", category='" + category + '\'' +
                 ", price=" + price +
                 ", quantity=" + quantity +
@@ -262,6 +328,7 @@ public class ProductDto {
                 ", rating=" + rating +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.infrastructure.product.dto;
+
+import java.util.List;
+
+import com.example.application.product.dto.StockAdjustment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Web payload of {@code POST /api/products/stock:batch}.
+ */
+@Schema(description = "Batch of stock adjustments")
+public record StockAdjustmentRequest(
+    @Schema(description = "Adjustments to apply; entries for the same product are summed, results keep request order")
+    List<StockAdjustment> adjustments
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.infrastructure.product.dto;
+
+import java.util.List;
+
+import com.example.application.product.dto.StockAdjustmentResult;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Web payload returned by {@code POST /api/products/stock:batch}.
+ */
+@Schema(description = "Per-item results of a stock adjustment batch")
+public record StockAdjustmentResponse(
+    @Schema(description = "Number of adjustments applied") int succeeded,
+    @Schema(description = "Number of adjustments refused") int failed,
+    @Schema(description = "One result per adjustment, in request order") List<StockAdjustmentResult> results
+) {
+    public static StockAdjustmentResponse of(List<StockAdjustmentResult> results) {
+        int succeeded = (int) results.stream().filter(StockAdjustmentResult::isSuccess).count();
+        return new StockAdjustmentResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.infrastructure.product.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+
+import com.example.application.product.dto.ProductImportReport;
+import com.example.application.product.port.in.ProductBulkTransferUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times CSV imports and exports as {@code products.usecase} operations and records the
+ * number of rows each import received.
+ */
+public class MeteredProductBulkTransferUseCase implements ProductBulkTransferUseCase {
+
+    private final ProductBulkTransferUseCase delegate;
+    private final PortMeters meters;
+
+    public MeteredProductBulkTransferUseCase(ProductBulkTransferUseCase delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.meters = new PortMeters(registry, "products.usecase", "operation", "Time spent in a product use case");
+    }
+
+    @Override
+    public ProductImportReport importCsv(Reader csv) {
+        ProductImportReport report = meters.time("importCsv", () -> delegate.importCsv(csv));
+        meters.rows("importCsv", report.received());
+        return report;
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        long start = meters.start();
+        try {
+            delegate.exportCsv(out);
+            meters.record("exportCsv", start, null);
+        } catch (IOException | RuntimeException | Error e) {
+            meters.record("exportCsv", start, e);
+            throw e;
+        }
+    }
+}
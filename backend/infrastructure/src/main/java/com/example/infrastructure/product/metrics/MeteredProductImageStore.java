@@ -0,0 +1,76 @@
+package com.example.infrastructure.product.metrics;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.domain.product.ProductId;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times every {@link ProductImageStore} call ({@code products.image.store}, tagged
+ * {@code method}) and measures the image payloads moved: {@code products.image.bytes}
+ * per read or write, and {@code products.image.last.bytes}, the size of the latest one.
+ */
+public class MeteredProductImageStore implements ProductImageStore {
+
+    private final ProductImageStore delegate;
+    private final PortMeters meters;
+    private final DistributionSummary readBytes;
+    private final DistributionSummary writtenBytes;
+    private final AtomicLong lastImageBytes = new AtomicLong();
+
+    public MeteredProductImageStore(ProductImageStore delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.meters = new PortMeters(registry, "products.image.store", "method", "Time spent in a product image store call");
+        this.readBytes = payloadSummary(registry, "read");
+        this.writtenBytes = payloadSummary(registry, "write");
+        Gauge.builder("products.image.last.bytes", lastImageBytes, AtomicLong::get)
+            .description("Size of the most recently read or written product image")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    @Override
+    public boolean save(ProductImage image) {
+        boolean saved = meters.time("save", () -> delegate.save(image));
+        record(writtenBytes, image.content().length);
+        return saved;
+    }
+
+    @Override
+    public Optional<ProductImage> findByProductId(ProductId productId) {
+        Optional<ProductImage> image = meters.time("findByProductId", () -> delegate.findByProductId(productId));
+        image.ifPresent(found -> record(readBytes, found.content().length));
+        return image;
+    }
+
+    @Override
+    public Optional<ProductImageMetadata> findMetadataByProductId(ProductId productId) {
+        return meters.time("findMetadataByProductId", () -> delegate.findMetadataByProductId(productId));
+    }
+
+    @Override
+    public boolean deleteByProductId(ProductId productId) {
+        return meters.time("deleteByProductId", () -> delegate.deleteByProductId(productId));
+    }
+
+    private void record(DistributionSummary summary, int bytes) {
+        summary.record(bytes);
+        lastImageBytes.set(bytes);
+    }
+
+    private static DistributionSummary payloadSummary(MeterRegistry registry, String direction) {
+        return DistributionSummary.builder("products.image.bytes")
+            .description("Size of the product images read from or written to the store")
+            .baseUnit("bytes")
+            .tag("direction", direction)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
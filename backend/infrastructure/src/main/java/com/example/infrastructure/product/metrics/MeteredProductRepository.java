@@ -0,0 +1,185 @@
+package com.example.infrastructure.product.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times every {@link ProductRepository} call ({@code products.repository}, tagged
+ * {@code method}) and records the rows each read returns or each bulk write affects
+ * ({@code products.repository.rows}). Wraps the port as the application sees it, so reads
+ * answered by the cache show up as fast samples of the same method; a second instance around
+ * the Postgres adapter, under {@code products.database}, shows the calls that reached it.
+ */
+public class MeteredProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final PortMeters meters;
+
+    public MeteredProductRepository(ProductRepository delegate, MeterRegistry registry) {
+        this(delegate, registry, "products.repository", "Time spent in a product repository call");
+    }
+
+    public MeteredProductRepository(ProductRepository delegate, MeterRegistry registry, String name, String description) {
+        this.delegate = delegate;
+        this.meters = new PortMeters(registry, name, "method", description);
+    }
+
+    @Override
+    public Product save(Product product) {
+        return meters.time("save", () -> delegate.save(product));
+    }
+
+    @Override
+    public Optional<Product> insert(Product product) {
+        return meters.time("insert", () -> delegate.insert(product));
+    }
+
+    @Override
+    public Optional<Product> update(Product product, Long expectedVersion) {
+        return meters.time("update", () -> delegate.update(product, expectedVersion));
+    }
+
+    @Override
+    public Optional<Product> patch(ProductId id, ProductPatch patch, long updatedAt) {
+        return meters.time("patch", () -> delegate.patch(id, patch, updatedAt));
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return meters.time("findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<ProductDTO> findProjectedById(ProductId id, ProductProjection projection) {
+        return meters.time("findProjectedById", () -> delegate.findProjectedById(id, projection));
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionById(ProductId id) {
+        return meters.time("findRevisionById", () -> delegate.findRevisionById(id));
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return meters.timeRows("findAll", delegate::findAll);
+    }
+
+    @Override
+    public List<Product> findPage(ProductPageRequest request) {
+        return meters.timeRows("findPage", () -> delegate.findPage(request));
+    }
+
+    @Override
+    public List<ProductDTO> findProjectedPage(ProductPageRequest request) {
+        return meters.timeRows("findProjectedPage", () -> delegate.findProjectedPage(request));
+    }
+
+    @Override
+    public List<ProductSearchHit> search(ProductSearchRequest request) {
+        return meters.timeRows("search", () -> delegate.search(request));
+    }
+
+    @Override
+    public ProductFacets countFacets(ProductFacetRequest request) {
+        return meters.time("countFacets", () -> delegate.countFacets(request));
+    }
+
+    @Override
+    public ProductChangeLog findChanges(ProductChangeCursor since, int limit) {
+        ProductChangeLog changes = meters.time("findChanges", () -> delegate.findChanges(since, limit));
+        meters.rows("findChanges", changes.entries().size());
+        return changes;
+    }
+
+    @Override
+    public void forEach(ProductFilter filter, Consumer<Product> action) {
+        // Only the repository's own work is timed: the time the caller spends on each row (for
+        // a streaming export, writing it to the client) is taken back out of the sample
+        long[] rows = new long[1];
+        long[] inAction = new long[1];
+        long start = meters.start();
+        try {
+            delegate.forEach(filter, product -> {
+                rows[0]++;
+                long handedOver = meters.start();
+                try {
+                    action.accept(product);
+                } finally {
+                    inAction[0] += meters.start() - handedOver;
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            meters.record("forEach", start + inAction[0], e);
+            throw e;
+        }
+        meters.record("forEach", start + inAction[0], null);
+        meters.rows("forEach", rows[0]);
+    }
+
+    @Override
+    public Map<ProductId, Long> insertAll(List<Product> products) {
+        Map<ProductId, Long> inserted = meters.time("insertAll", () -> delegate.insertAll(products));
+        meters.rows("insertAll", inserted.size());
+        return inserted;
+    }
+
+    @Override
+    public Map<ProductId, Long> updateAll(List<Product> products, Map<ProductId, Long> expectedVersions) {
+        Map<ProductId, Long> updated = meters.time("updateAll", () -> delegate.updateAll(products, expectedVersions));
+        meters.rows("updateAll", updated.size());
+        return updated;
+    }
+
+    @Override
+    public Set<ProductId> deleteAll(Collection<ProductId> ids) {
+        return meters.timeRows("deleteAll", () -> delegate.deleteAll(ids));
+    }
+
+    @Override
+    public List<StockLevel> adjustQuantities(Map<ProductId, Long> deltas, long updatedAt) {
+        return meters.timeRows("adjustQuantities", () -> delegate.adjustQuantities(deltas, updatedAt));
+    }
+
+    @Override
+    public Set<ProductId> findExistingIds(Collection<ProductId> ids) {
+        return meters.timeRows("findExistingIds", () -> delegate.findExistingIds(ids));
+    }
+
+    @Override
+    public boolean deleteById(ProductId id) {
+        return meters.time("deleteById", () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return meters.time("existsByCode", () -> delegate.existsByCode(code));
+    }
+
+    @Override
+    public boolean existsByCodeExcludingId(String code, ProductId excludedId) {
+        return meters.time("existsByCodeExcludingId", () -> delegate.existsByCodeExcludingId(code, excludedId));
+    }
+}
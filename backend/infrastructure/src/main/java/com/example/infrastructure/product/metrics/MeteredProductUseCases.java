@@ -0,0 +1,153 @@
+package com.example.infrastructure.product.metrics;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.example.application.product.dto.ProductBatchItemResult;
+import com.example.application.product.dto.ProductBatchOperation;
+import com.example.application.product.dto.ProductChanges;
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockAdjustment;
+import com.example.application.product.dto.StockAdjustmentResult;
+import com.example.application.product.port.in.ProductUseCases;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchRequest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times every product use case ({@code products.usecase}, tagged {@code operation}) and
+ * records how many products the list-returning ones hand back ({@code products.usecase.rows}).
+ */
+public class MeteredProductUseCases implements ProductUseCases {
+
+    private final ProductUseCases delegate;
+    private final PortMeters meters;
+
+    public MeteredProductUseCases(ProductUseCases delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.meters = new PortMeters(registry, "products.usecase", "operation", "Time spent in a product use case");
+    }
+
+    @Override
+    public ProductDTO create(ProductDTO productDTO) {
+        return meters.time("create", () -> delegate.create(productDTO));
+    }
+
+    @Override
+    public ProductDTO update(ProductDTO productDTO) {
+        return meters.time("update", () -> delegate.update(productDTO));
+    }
+
+    @Override
+    public ProductDTO patch(String id, ProductPatch patch) {
+        return meters.time("patch", () -> delegate.patch(id, patch));
+    }
+
+    @Override
+    public void deleteById(String id) {
+        meters.time("deleteById", () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public Optional<ProductDTO> getById(String id) {
+        return meters.time("getById", () -> delegate.getById(id));
+    }
+
+    @Override
+    public Optional<ProductDTO> getById(String id, ProductProjection projection) {
+        return meters.time("getProjectedById", () -> delegate.getById(id, projection));
+    }
+
+    @Override
+    public Optional<ProductRevision> getRevision(String id) {
+        return meters.time("getRevision", () -> delegate.getRevision(id));
+    }
+
+    @Override
+    public boolean isCodeAvailable(String code, String excludedId) {
+        return meters.time("isCodeAvailable", () -> delegate.isCodeAvailable(code, excludedId));
+    }
+
+    @Override
+    public List<ProductDTO> getAll() {
+        return meters.timeRows("getAll", delegate::getAll);
+    }
+
+    @Override
+    public ProductPage getPage(ProductPageRequest request) {
+        ProductPage page = meters.time("getPage", () -> delegate.getPage(request));
+        meters.rows("getPage", page.items().size());
+        return page;
+    }
+
+    @Override
+    public ProductChanges getChanges(ProductChangeCursor since, int limit) {
+        ProductChanges changes = meters.time("getChanges", () -> delegate.getChanges(since, limit));
+        meters.rows("getChanges", changes.changed().size() + changes.deleted().size());
+        return changes;
+    }
+
+    @Override
+    public void exportAll(ProductFilter filter, Consumer<ProductDTO> action) {
+        long[] exported = new long[1];
+        meters.time("exportAll", () -> delegate.exportAll(filter, product -> {
+            exported[0]++;
+            action.accept(product);
+        }));
+        meters.rows("exportAll", exported[0]);
+    }
+
+    @Override
+    public ProductPage search(ProductSearchRequest request) {
+        ProductPage page = meters.time("search", () -> delegate.search(request));
+        meters.rows("search", page.items().size());
+        return page;
+    }
+
+    @Override
+    public ProductFacets getFacets(ProductFacetRequest request) {
+        return meters.time("getFacets", () -> delegate.getFacets(request));
+    }
+
+    @Override
+    public List<ProductBatchItemResult> executeBatch(List<ProductBatchOperation> operations) {
+        return meters.timeRows("executeBatch", () -> delegate.executeBatch(operations));
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments) {
+        return meters.timeRows("adjustStock", () -> delegate.adjustStock(adjustments));
+    }
+
+    @Override
+    public Optional<ProductImage> getImage(String productId) {
+        return meters.time("getImage", () -> delegate.getImage(productId));
+    }
+
+    @Override
+    public Optional<ProductImageMetadata> getImageMetadata(String productId) {
+        return meters.time("getImageMetadata", () -> delegate.getImageMetadata(productId));
+    }
+
+    @Override
+    public ProductImageMetadata putImage(String productId, byte[] content) {
+        return meters.time("putImage", () -> delegate.putImage(productId, content));
+    }
+
+    @Override
+    public void deleteImage(String productId) {
+        meters.time("deleteImage", () -> delegate.deleteImage(productId));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.infrastructure.product.metrics;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers and row-count summaries for the operations of one port. Each operation gets a timer
+ * named {@code name}, tagged with the operation and with the simple name of the exception it
+ * threw ({@code none} on success), and publishing a percentile histogram; operations that
+ * return collections also record their size in {@code name.rows}.
+ * <p>
+ * Meters are looked up once per operation and then kept, so that the hot path costs a map
+ * lookup and a clock read rather than a registry search.
+ */
+final class PortMeters {
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String operationTag;
+    private final String description;
+    private final ConcurrentMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    PortMeters(MeterRegistry registry, String name, String operationTag, String description) {
+        this.registry = registry;
+        this.name = name;
+        this.operationTag = operationTag;
+        this.description = description;
+    }
+
+    <T> T time(String operation, Supplier<T> call) {
+        long start = registry.config().clock().monotonicTime();
+        try {
+            T result = call.get();
+            record(operation, start, null);
+            return result;
+        } catch (RuntimeException | Error e) {
+            record(operation, start, e);
+            throw e;
+        }
+    }
+
+    void time(String operation, Runnable call) {
+        time(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /** Times {@code call} and records the size of the collection it returns. */
+    <C extends Collection<?>> C timeRows(String operation, Supplier<C> call) {
+        C rows = time(operation, call);
+        rows(operation, rows.size());
+        return rows;
+    }
+
+    long start() {
+        return registry.config().clock().monotonicTime();
+    }
+
+    /** Records an operation started at {@code start}; {@code failure} is {@code null} on success. */
+    void record(String operation, long start, Throwable failure) {
+        long elapsed = registry.config().clock().monotonicTime() - start;
+        Timer timer = failure == null
+            ? successTimers.computeIfAbsent(operation, key -> timer(key, NO_EXCEPTION))
+            : timer(operation, failure.getClass().getSimpleName());
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    void rows(String operation, long count) {
+        rowSummaries.computeIfAbsent(operation, key -> DistributionSummary.builder(name + ".rows")
+                .description("Rows returned per call")
+                .baseUnit("rows")
+                .tag(operationTag, key)
+                .publishPercentileHistogram()
+                .register(registry))
+            .record(count);
+    }
+
+    // Failures are rare enough to register lazily; the registry returns the existing timer
+    private Timer timer(String operation, String exception) {
+        return Timer.builder(name)
+            .description(description)
+            .tag(operationTag, operation)
+            .tag("exception", exception)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.infrastructure.product.metrics;
+
+import com.example.application.product.port.in.ProductBulkTransferUseCase;
+import com.example.application.product.port.in.ProductUseCases;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.infrastructure.product.persistence.RowMappingTimer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/** Wraps product ports in their metered decorators, all reporting to one registry. */
+public class ProductMetrics {
+
+    private final MeterRegistry registry;
+
+    public ProductMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public ProductUseCases useCases(ProductUseCases useCases) {
+        return new MeteredProductUseCases(useCases, registry);
+    }
+
+    public ProductBulkTransferUseCase bulkTransfer(ProductBulkTransferUseCase bulkTransfer) {
+        return new MeteredProductBulkTransferUseCase(bulkTransfer, registry);
+    }
+
+    public ProductRepository repository(ProductRepository repository) {
+        return new MeteredProductRepository(repository, registry);
+    }
+
+    /** Meters the Postgres adapter itself, behind the cache: the calls that reached the database. */
+    public ProductRepository database(ProductRepository repository) {
+        return new MeteredProductRepository(repository, registry, "products.database",
+            "Time spent in a product repository call that reached the database");
+    }
+
+    public RowMappingTimer rowMapping() {
+        return new MeteredRowMapping(registry);
+    }
+
+    public ProductImageStore imageStore(ProductImageStore imageStore) {
+        return new MeteredProductImageStore(imageStore, registry);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.infrastructure.product.persistence;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.application.product.dto.ProductImportRejection;
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.domain.product.Product;
+
+/**
+ * Bulk loads and dumps through the PostgreSQL COPY protocol. Imports stream into a
+ * temporary staging table, are cleaned of rows that cannot be merged, then merged into
+ * {@code products} with one INSERT ... ON CONFLICT, all in a single transaction.
+ */
+@Repository
+public class PostgresProductBulkStore implements ProductBulkStore {
+
+    /** Bytes buffered before each write to the COPY stream. */
+    static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String STAGING_COLUMNS = "line, id, code, name, description, category, price, quantity, " +
+        "internal_reference, shell_id, inventory_status, rating, created_at, updated_at";
+
+    // Text columns are unbounded here so an oversized value is rejected per row instead of failing the COPY
+    private static final String CREATE_STAGING =
+        "CREATE TEMP TABLE product_import_staging (" +
+        "line BIGINT NOT NULL, id UUID NOT NULL, code TEXT NOT NULL, name TEXT NOT NULL, description TEXT, " +
+        "category TEXT NOT NULL, price NUMERIC NOT NULL, quantity INTEGER NOT NULL, internal_reference TEXT NOT NULL, " +
+        "shell_id INTEGER NOT NULL, inventory_status TEXT NOT NULL, rating INTEGER NOT NULL, " +
+        "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL" +
+        ") ON COMMIT DROP";
+
+    private static final String COPY_INTO_STAGING =
+        "COPY product_import_staging (" + STAGING_COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String REJECT_OVERSIZED =
+        "DELETE FROM product_import_staging " +
+        "WHERE length(code) > 50 OR length(name) > 255 OR length(category) > 100 " +
+        "OR length(internal_reference) > 100 OR price >= 100000000 " +
+        "RETURNING line, code";
+
+    private static final String REJECT_REPEATED_CODES =
+        "DELETE FROM product_import_staging s USING product_import_staging later " +
+        "WHERE s.code = later.code AND s.id <> later.id AND s.line < later.line " +
+        "RETURNING s.line, s.code";
+
+    private static final String REJECT_TAKEN_CODES =
+        "DELETE FROM product_import_staging s USING products p " +
+        "WHERE p.code = s.code AND p.id <> s.id " +
+        "RETURNING s.line, s.code";
+
+    // DISTINCT ON keeps the last occurrence of an id; xmax = 0 identifies freshly inserted rows
+    private static final String MERGE =
+        "WITH merged AS (" +
+        "  INSERT INTO products (id, code, name, description, category, price, quantity, " +
+        "    internal_reference, shell_id, inventory_status, rating, created_at, updated_at) " +
+        "  SELECT DISTINCT ON (id) id, code, name, description, category, price, quantity, " +
+        "    internal_reference, shell_id, inventory_status, rating, created_at, updated_at " +
+        "  FROM product_import_staging ORDER BY id, line DESC " +
+        "  ON CONFLICT (id) DO UPDATE SET " +
+        "    code = EXCLUDED.code, name = EXCLUDED.name, description = EXCLUDED.description, " +
+        "    category = EXCLUDED.category, price = EXCLUDED.price, quantity = EXCLUDED.quantity, " +
+        "    internal_reference = EXCLUDED.internal_reference, shell_id = EXCLUDED.shell_id, " +
+        "    inventory_status = EXCLUDED.inventory_status, rating = EXCLUDED.rating, " +
+        "    updated_at = EXCLUDED.updated_at " +
+        "  RETURNING (xmax = 0) AS inserted" +
+        ") " +
+        "SELECT count(*) FILTER (WHERE inserted) AS inserted, count(*) FILTER (WHERE NOT inserted) AS updated FROM merged";
+
+    // Timestamps are cast through the session time zone, which PgJDBC sets to the JVM's, so
+    // exported epochs match what the JDBC read path reports
+    private static final String EXPORT =
+        "COPY (SELECT id, code, name, description, category, price, quantity, " +
+        "internal_reference AS \"internalReference\", shell_id AS \"shellId\", " +
+        "inventory_status AS \"inventoryStatus\", rating, " +
+        "(extract(epoch FROM created_at::timestamptz) * 1000)::bigint AS \"createdAt\", " +
+        "(extract(epoch FROM updated_at::timestamptz) * 1000)::bigint AS \"updatedAt\" " +
+        "FROM products ORDER BY id) TO STDOUT WITH (FORMAT csv, HEADER)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresProductBulkStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public MergeResult merge(Source source) {
+        return jdbcTemplate.execute((ConnectionCallback<MergeResult>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                MergeResult result = stageAndMerge(connection, source);
+                if (autoCommit) {
+                    connection.commit();
+                }
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        });
+    }
+
+    private MergeResult stageAndMerge(Connection connection, Source source) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING);
+        try {
+            CopyWriter writer = new CopyWriter(copyIn);
+            source.writeTo(writer);
+            writer.flush();
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        List<ProductImportRejection> rejections = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            // Fresh statistics let the planner pick hash joins for the clean-up deletes below
+            statement.execute("ANALYZE product_import_staging");
+            collectRejections(statement, REJECT_OVERSIZED, "A field exceeds its maximum length or precision", rejections);
+            collectRejections(statement, REJECT_REPEATED_CODES, "Code is used again by another product later in the file", rejections);
+            collectRejections(statement, REJECT_TAKEN_CODES, "Product with this code already exists", rejections);
+
+            try (ResultSet rs = statement.executeQuery(MERGE)) {
+                rs.next();
+                return new MergeResult(rs.getLong("inserted"), rs.getLong("updated"), rejections);
+            }
+        }
+    }
+
+    private static void collectRejections(Statement statement, String sql, String reason,
+                                          List<ProductImportRejection> rejections) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                rejections.add(new ProductImportRejection(rs.getLong("line"), rs.getString("code"), reason));
+            }
+        }
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try {
+                    connection.unwrap(PGConnection.class).getCopyAPI().copyOut(EXPORT, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Encodes products as PostgreSQL CSV rows and feeds them to the COPY stream in
+     * {@link #COPY_BUFFER_SIZE} chunks.
+     */
+    private final class CopyWriter implements Sink {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE);
+
+        CopyWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void accept(long line, Product product) {
+            buffer.append(line).append(',')
+                  .append(product.getId()).append(',');
+            appendText(product.getCode()).append(',');
+            appendText(product.getName()).append(',');
+            appendText(product.getDescription()).append(',');
+            appendText(product.getCategory()).append(',');
+            buffer.append(product.getPrice()).append(',')
+                  .append(product.getQuantity()).append(',');
+            appendText(product.getInternalReference()).append(',');
+            buffer.append(product.getShellId()).append(',')
+                  .append(product.getInventoryStatus().name()).append(',')
+                  .append(product.getRating()).append(',')
+                  .append(new Timestamp(product.getCreatedAt())).append(',')
+                  .append(new Timestamp(product.getUpdatedAt())).append('\n');
+            if (buffer.length() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        /** Non-null values are always quoted so that empty strings are not read back as NULL. */
+        private StringBuilder appendText(String value) {
+            if (value == null) {
+                return buffer;
+            }
+            buffer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            return buffer.append('"');
+        }
+
+        void flush() {
+            if (buffer.length() == 0) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY product_import_staging", COPY_INTO_STAGING, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.infrastructure.product.persistence;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.domain.product.ProductId;
+
+@Repository
+public class PostgresProductImageStore implements ProductImageStore {
+
+    private static final String METADATA_COLUMNS = "product_id, content_type, content_length, sha256, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RowMapper<ProductImageMetadata> metadataRowMapper;
+
+    public PostgresProductImageStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metadataRowMapper = (rs, rowNum) -> new ProductImageMetadata(
+            ProductId.of(rs.getString("product_id")),
+            rs.getString("content_type"),
+            rs.getInt("content_length"),
+            rs.getString("sha256"),
+            rs.getTimestamp("updated_at").getTime()
+        );
+    }
+
+    @Override
+    public boolean save(ProductImage image) {
+        ProductImageMetadata metadata = image.metadata();
+        // Stamping the hash on the product row and upserting the image is one statement,
+        // so the two can never disagree; an unknown product updates (and inserts) nothing.
+        // The product's representation changes with its image, so updated_at moves too.
+        String sql = "WITH product AS (" +
+                     "  UPDATE products SET image_hash = ?, updated_at = ? WHERE id = ?::uuid RETURNING id" +
+                     ") " +
+                     "INSERT INTO product_images(product_id, content, content_type, content_length, sha256, updated_at) " +
+                     "SELECT id, ?, ?, ?, ?, ? FROM product " +
+                     "ON CONFLICT (product_id) DO UPDATE SET content = EXCLUDED.content, " +
+                     "content_type = EXCLUDED.content_type, content_length = EXCLUDED.content_length, " +
+                     "sha256 = EXCLUDED.sha256, updated_at = EXCLUDED.updated_at";
+
+        int rows = jdbcTemplate.update(sql,
+            metadata.sha256(),
+            new Timestamp(metadata.updatedAt()),
+            metadata.productId().toString(),
+            image.content(),
+            metadata.contentType(),
+            metadata.contentLength(),
+            metadata.sha256(),
+            new Timestamp(metadata.updatedAt())
+        );
+        return rows > 0;
+    }
+
+    @Override
+    public Optional<ProductImage> findByProductId(ProductId productId) {
+        String sql = "SELECT " + METADATA_COLUMNS + ", content FROM product_images WHERE product_id = ?::uuid";
+        List<ProductImage> images = jdbcTemplate.query(sql,
+            (rs, rowNum) -> new ProductImage(metadataRowMapper.mapRow(rs, rowNum), rs.getBytes("content")),
+            productId.toString());
+        return images.stream().findFirst();
+    }
+
+    @Override
+    public Optional<ProductImageMetadata> findMetadataByProductId(ProductId productId) {
+        String sql = "SELECT " + METADATA_COLUMNS + " FROM product_images WHERE product_id = ?::uuid";
+        return jdbcTemplate.query(sql, metadataRowMapper, productId.toString()).stream().findFirst();
+    }
+
+    @Override
+    public boolean deleteByProductId(ProductId productId) {
+        String sql = "WITH deleted AS (" +
+                     "  DELETE FROM product_images WHERE product_id = ?::uuid RETURNING product_id" +
+                     ") " +
+                     "UPDATE products SET image_hash = NULL, updated_at = ? FROM deleted WHERE products.id = deleted.product_id";
+        return jdbcTemplate.update(sql, productId.toString(), new Timestamp(System.currentTimeMillis())) > 0;
+    }
+}
@@ -1,73 +1,188 @@
 package com.example.infrastructure.product.persistence;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
+import org.postgresql.util.PSQLException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.exception.DuplicateProductException;
 import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductCursor;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductField;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.application.product.query.ProductSort;
 import com.example.domain.product.Product;
 import com.example.domain.product.ProductId;
 
 @Repository
 public class PostgresProductRepository implements ProductRepository {
 
+    /** Rows fetched per round trip while streaming through a server-side cursor. */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    /** Rows per multi-row INSERT or JDBC batch; keeps bind parameters well under the protocol limit. */
+    static final int BATCH_CHUNK_SIZE = 500;
+
+    /** Name Postgres gives the UNIQUE constraint declared on products.code. */
+    static final String CODE_UNIQUE_CONSTRAINT = "products_code_key";
+
+    private static final String CHANGE_FEED_COLUMNS = "code, name, description, image_hash, category, price, quantity, " +
+        "internal_reference, shell_id, inventory_status, rating, created_at, updated_at, version";
+
+    /** Columns a full Product is read from. Bookkeeping columns such as change_xid stay on the server. */
+    private static final String PRODUCT_COLUMNS = "id, " + CHANGE_FEED_COLUMNS;
+
+    // Tombstones carry no product state; the NULLs only line the rows up for the UNION
+    private static final String CHANGE_FEED_TOMBSTONE_COLUMNS = "NULL, NULL, NULL, NULL, NULL, NULL::numeric, NULL::integer, " +
+        "NULL, NULL::integer, NULL, NULL::integer, NULL::timestamp, NULL::timestamp, NULL::bigint";
+
+    // GROUPING(category, inventory_status, rating, price_bucket) of each grouping set: one
+    // bit per argument, set when that column is aggregated away
+    private static final int FACET_CATEGORY = 0b0111;
+    private static final int FACET_INVENTORY_STATUS = 0b1011;
+    private static final int FACET_RATING = 0b1101;
+    private static final int FACET_PRICE = 0b1110;
+    private static final int FACET_TOTAL = 0b1111;
+
+    /** Maps a row of {@link #PRODUCT_COLUMNS} to a product; shared by every read that returns whole products. */
+    static final RowMapper<Product> PRODUCT_ROW_MAPPER = (rs, rowNum) -> {
+        ProductId id = ProductId.of(rs.getString("id"));
+        String code = rs.getString("code");
+        String name = rs.getString("name");
+        String description = rs.getString("description");
+        String category = rs.getString("category");
+        double price = rs.getDouble("price");
+        int quantity = rs.getInt("quantity");
+        String internalReference = rs.getString("internal_reference");
+        int shellId = rs.getInt("shell_id");
+        Product.InventoryStatus inventoryStatus = Product.InventoryStatus.valueOf(rs.getString("inventory_status"));
+        int rating = rs.getInt("rating");
+        long createdAt = rs.getTimestamp("created_at").getTime();
+        long updatedAt = rs.getTimestamp("updated_at").getTime();
+        
+        Product product = new Product(
+            id, code, name, description, null, category, 
+            price, quantity, internalReference, shellId, 
+            inventoryStatus, rating, createdAt, updatedAt
+        );
+        // Image bytes live in product_images; rows only carry their hash
+        product.setImageHash(rs.getString("image_hash"));
+        product.setVersion(rs.getLong("version"));
+        
+        return product;
+    };
+
     private final JdbcTemplate jdbcTemplate;
+    private final RowMappingTimer rowMappingTimer;
     private final RowMapper<Product> productRowMapper;
 
     public PostgresProductRepository(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, RowMappingTimer.NONE);
+    }
+
+    /** With metrics enabled, every row mapped is timed by {@code rowMappingTimer}. */
+    @Autowired
+    public PostgresProductRepository(JdbcTemplate jdbcTemplate, ObjectProvider<RowMappingTimer> rowMappingTimer) {
+        this(jdbcTemplate, rowMappingTimer.getIfAvailable(() -> RowMappingTimer.NONE));
+    }
+
+    private PostgresProductRepository(JdbcTemplate jdbcTemplate, RowMappingTimer rowMappingTimer) {
         this.jdbcTemplate = jdbcTemplate;
-        this.productRowMapper = (rs, rowNum) -> {
-            ProductId id = ProductId.of(rs.getString("id"));
-            String code = rs.getString("code");
-            String name = rs.getString("name");
-            String description = rs.getString("description");
-            byte[] image = rs.getBytes("image");
-            String category = rs.getString("category");
-            double price = rs.getDouble("price");
-            int quantity = rs.getInt("quantity");
-            String internalReference = rs.getString("internal_reference");
-            int shellId = rs.getInt("shell_id");
-            Product.InventoryStatus inventoryStatus = Product.InventoryStatus.valueOf(rs.getString("inventory_status"));
-            int rating = rs.getInt("rating");
-            long createdAt = rs.getTimestamp("created_at").getTime();
-            long updatedAt = rs.getTimestamp("updated_at").getTime();
-            
-            Product product = new Product(
-                id, code, name, description, image, category, 
-                price, quantity, internalReference, shellId, 
-                inventoryStatus, rating, createdAt, updatedAt
-            );
-            
-            return product;
-        };
+        this.rowMappingTimer = rowMappingTimer;
+        this.productRowMapper = rowMappingTimer.timed("product", PRODUCT_ROW_MAPPER);
     }
 
+    private static final int INSERT_COLUMN_COUNT = 14;
+    private static final String INSERT_ROW_PLACEHOLDERS = "(?::uuid, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_INTO_PRODUCTS =
+        "INSERT INTO products(id, code, name, description, image_hash, category, price, " +
+        "quantity, internal_reference, shell_id, inventory_status, rating, created_at, updated_at) VALUES ";
+    private static final String INSERT_PRODUCT = INSERT_INTO_PRODUCTS + INSERT_ROW_PLACEHOLDERS;
+    private static final int UPDATE_COLUMN_COUNT = 13;
+    private static final String UPDATE_ROW_PLACEHOLDERS =
+        "(?::uuid, ?, ?, ?::text, ?, ?::numeric, ?::integer, ?, ?::integer, ?, ?::integer, ?::timestamp, ?::bigint)";
+
+    private static final String INSERT_INTO_PRODUCT_IMAGES =
+        "INSERT INTO product_images(product_id, content, content_type, content_length, sha256, updated_at) ";
+
+    // Stores the image of the row returned by the "written" CTE; hash and timestamp come from that row
+    private static final String UPSERT_WRITTEN_IMAGE = INSERT_INTO_PRODUCT_IMAGES +
+        "SELECT id, ?, ?, ?, image_hash, updated_at FROM written " +
+        "ON CONFLICT (product_id) DO UPDATE SET content = EXCLUDED.content, " +
+        "content_type = EXCLUDED.content_type, content_length = EXCLUDED.content_length, " +
+        "sha256 = EXCLUDED.sha256, updated_at = EXCLUDED.updated_at";
+
     @Override
     public Product save(Product product) {
-        if (findById(product.getId()).isPresent()) {
-            updateProduct(product);
-        } else {
-            insertProduct(product);
-        }
-        return product;
+        // Single round trip: the id conflict decides between insert and update in the database.
+        // created_at is deliberately not overwritten on update, nor the image hash when no image is sent.
+        String sql = INSERT_PRODUCT + " ON CONFLICT (id) DO UPDATE SET " +
+                     "code = EXCLUDED.code, name = EXCLUDED.name, description = EXCLUDED.description, " +
+                     "image_hash = COALESCE(EXCLUDED.image_hash, products.image_hash), " +
+                     "category = EXCLUDED.category, price = EXCLUDED.price, quantity = EXCLUDED.quantity, " +
+                     "internal_reference = EXCLUDED.internal_reference, shell_id = EXCLUDED.shell_id, " +
+                     "inventory_status = EXCLUDED.inventory_status, rating = EXCLUDED.rating, " +
+                     "updated_at = EXCLUDED.updated_at " +
+                     "RETURNING " + PRODUCT_COLUMNS;
+        return writeWithImage(product, sql, insertArgs(product)).orElseThrow();
     }
 
-    private void insertProduct(Product product) {
-        String sql = "INSERT INTO products(id, code, name, description, image, category, price, " +
-                     "quantity, internal_reference, shell_id, inventory_status, rating, created_at, updated_at) " +
-                     "VALUES (?::uuid, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    @Override
+    public Optional<Product> insert(Product product) {
+        String sql = INSERT_PRODUCT + " ON CONFLICT (id) DO NOTHING RETURNING " + PRODUCT_COLUMNS;
+        return writeWithImage(product, sql, insertArgs(product));
+    }
+
+    @Override
+    public Optional<Product> update(Product product, Long expectedVersion) {
+        // The version itself is incremented by the row trigger; here it only guards the write
+        String sql = "UPDATE products SET code = ?, name = ?, description = ?, image_hash = COALESCE(?, image_hash), " +
+                     "category = ?, price = ?, quantity = ?, internal_reference = ?, " +
+                     "shell_id = ?, inventory_status = ?, rating = ?, updated_at = ? " +
+                     "WHERE id = ?::uuid AND (?::bigint IS NULL OR version = ?) RETURNING " + PRODUCT_COLUMNS;
         
-        jdbcTemplate.update(sql,
-            product.getId().toString(),
+        return writeWithImage(product, sql,
             product.getCode(),
             product.getName(),
             product.getDescription(),
-            product.getImage(),
+            product.getImageHash(),
             product.getCategory(),
             product.getPrice(),
             product.getQuantity(),
@@ -75,22 +190,225 @@ public class PostgresProductRepository implements ProductRepository {
             product.getShellId(),
             product.getInventoryStatus().name(),
             product.getRating(),
-            new java.sql.Timestamp(product.getCreatedAt()),
-            new java.sql.Timestamp(product.getUpdatedAt())
+            new Timestamp(product.getUpdatedAt()),
+            product.getId().toString(),
+            expectedVersion,
+            expectedVersion
         );
     }
 
-    private void updateProduct(Product product) {
-        String sql = "UPDATE products SET code = ?, name = ?, description = ?, image = ?, " +
-                     "category = ?, price = ?, quantity = ?, internal_reference = ?, " +
-                     "shell_id = ?, inventory_status = ?, rating = ?, updated_at = ? " +
-                     "WHERE id = ?::uuid";
-        
-        jdbcTemplate.update(sql,
+    @Override
+    public Optional<Product> patch(ProductId id, ProductPatch patch, long updatedAt) {
+        // Only the touched columns are sent and rewritten; the image lives in its own table
+        StringBuilder sql = new StringBuilder("UPDATE products SET ");
+        List<Object> args = new ArrayList<>();
+        for (ProductPatch.Field field : patch.fields()) {
+            sql.append(patchColumn(field)).append(" = ?, ");
+            Object value = patch.get(field);
+            args.add(value instanceof Product.InventoryStatus status ? status.name() : value);
+        }
+        sql.append("updated_at = ? WHERE id = ?::uuid RETURNING ").append(PRODUCT_COLUMNS);
+        args.add(new Timestamp(updatedAt));
+        args.add(id.toString());
+
+        return write((String) patch.get(ProductPatch.Field.CODE), sql.toString(), args.toArray()).stream().findFirst();
+    }
+
+    private static String patchColumn(ProductPatch.Field field) {
+        return switch (field) {
+            case CODE -> "code";
+            case NAME -> "name";
+            case DESCRIPTION -> "description";
+            case CATEGORY -> "category";
+            case PRICE -> "price";
+            case QUANTITY -> "quantity";
+            case INTERNAL_REFERENCE -> "internal_reference";
+            case SHELL_ID -> "shell_id";
+            case INVENTORY_STATUS -> "inventory_status";
+            case RATING -> "rating";
+        };
+    }
+
+    @Override
+    public Map<ProductId, Long> insertAll(List<Product> products) {
+        Map<ProductId, Long> inserted = new HashMap<>();
+        for (int from = 0; from < products.size(); from += BATCH_CHUNK_SIZE) {
+            List<Product> chunk = products.subList(from, Math.min(from + BATCH_CHUNK_SIZE, products.size()));
+
+            // One multi-row statement per chunk. ON CONFLICT DO NOTHING (no target) skips rows that
+            // clash on id or code instead of aborting the chunk; RETURNING reports the ones that landed.
+            String insert = INSERT_INTO_PRODUCTS + String.join(", ", Collections.nCopies(chunk.size(), INSERT_ROW_PLACEHOLDERS)) +
+                            " ON CONFLICT DO NOTHING";
+            String sql = insert + " RETURNING id, version";
+            List<Object> args = new ArrayList<>(chunk.size() * INSERT_COLUMN_COUNT);
+            for (Product product : chunk) {
+                Collections.addAll(args, insertArgs(product));
+            }
+
+            // Embedded images are inserted by the same statement, joined to the rows that landed;
+            // a skipped row takes its image with it. Only the first row of a repeated id can land.
+            Map<ProductId, Product> imaged = new LinkedHashMap<>();
+            for (Product product : chunk) {
+                if (hasImage(product)) {
+                    imaged.putIfAbsent(product.getId(), product);
+                }
+            }
+            if (!imaged.isEmpty()) {
+                sql = "WITH written AS (" + insert + " RETURNING id, version, image_hash, updated_at), image AS (" + INSERT_INTO_PRODUCT_IMAGES +
+                      "SELECT w.id, i.content, i.content_type, i.content_length, w.image_hash, w.updated_at " +
+                      "FROM written w JOIN (VALUES " + String.join(", ", Collections.nCopies(imaged.size(), "(?::uuid, ?::bytea, ?, ?::integer)")) +
+                      ") AS i(id, content, content_type, content_length) ON i.id = w.id) SELECT id, version FROM written";
+                for (Product product : imaged.values()) {
+                    byte[] image = product.getImage();
+                    Collections.addAll(args, product.getId().toString(), image, ProductImage.detectContentType(image), image.length);
+                }
+            }
+            jdbcTemplate.query(sql, rs -> {
+                inserted.put(ProductId.of(rs.getString("id")), rs.getLong("version"));
+            }, args.toArray());
+        }
+        return inserted;
+    }
+
+    @Override
+    public Map<ProductId, Long> updateAll(List<Product> products, Map<ProductId, Long> expectedVersions) {
+        // Rows carrying an image are written one statement each, row and image together; the
+        // image bytes dwarf a round trip, so batching them would save nothing.
+        Map<ProductId, Long> updated = new HashMap<>();
+        List<Product> plain = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (!hasImage(product)) {
+                plain.add(product);
+                continue;
+            }
+            try {
+                update(product, expectedVersions.get(product.getId())).ifPresent(p -> updated.put(p.getId(), p.getVersion()));
+            } catch (DuplicateProductException duplicateCode) {
+                // reported as a conflict by the caller
+            }
+        }
+
+        // One multi-row statement per chunk, so RETURNING can report the version each row was
+        // written at. Like update(), a stale expected version matches no row. The NOT EXISTS guard
+        // turns a code clash into "row not updated" so one bad row cannot abort the chunk.
+        for (int from = 0; from < plain.size(); from += BATCH_CHUNK_SIZE) {
+            List<Product> chunk = plain.subList(from, Math.min(from + BATCH_CHUNK_SIZE, plain.size()));
+            String sql = "UPDATE products p SET code = v.code, name = v.name, description = v.description, " +
+                         "category = v.category, price = v.price, quantity = v.quantity, internal_reference = v.internal_reference, " +
+                         "shell_id = v.shell_id, inventory_status = v.inventory_status, rating = v.rating, updated_at = v.updated_at " +
+                         "FROM (VALUES " + String.join(", ", Collections.nCopies(chunk.size(), UPDATE_ROW_PLACEHOLDERS)) + ") " +
+                         "AS v(id, code, name, description, category, price, quantity, internal_reference, " +
+                         "shell_id, inventory_status, rating, updated_at, expected_version) " +
+                         "WHERE p.id = v.id AND (v.expected_version IS NULL OR p.version = v.expected_version) AND NOT EXISTS (" +
+                         "SELECT 1 FROM products other WHERE other.code = v.code AND other.id <> v.id) " +
+                         "RETURNING p.id, p.version";
+            List<Object> args = new ArrayList<>(chunk.size() * UPDATE_COLUMN_COUNT);
+            for (Product product : chunk) {
+                Collections.addAll(args,
+                    product.getId().toString(),
+                    product.getCode(),
+                    product.getName(),
+                    product.getDescription(),
+                    product.getCategory(),
+                    product.getPrice(),
+                    product.getQuantity(),
+                    product.getInternalReference(),
+                    product.getShellId(),
+                    product.getInventoryStatus().name(),
+                    product.getRating(),
+                    new Timestamp(product.getUpdatedAt()),
+                    expectedVersions.get(product.getId()));
+            }
+
+            try {
+                Map<ProductId, Long> written = new HashMap<>();
+                jdbcTemplate.query(sql, rs -> {
+                    written.put(ProductId.of(rs.getString("id")), rs.getLong("version"));
+                }, args.toArray());
+                updated.putAll(written);
+            } catch (DuplicateKeyException e) {
+                // Two rows of the chunk, or a concurrent writer, took the same code past the guard.
+                // The statement was rolled back as a whole, so replay the chunk row by row.
+                for (Product product : chunk) {
+                    try {
+                        update(product, expectedVersions.get(product.getId())).ifPresent(p -> updated.put(p.getId(), p.getVersion()));
+                    } catch (DuplicateProductException duplicateCode) {
+                        // reported as a conflict by the caller
+                    }
+                }
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public Set<ProductId> deleteAll(Collection<ProductId> ids) {
+        return queryIds("DELETE FROM products WHERE id = ANY (?) RETURNING id", ids);
+    }
+
+    @Override
+    public Set<ProductId> findExistingIds(Collection<ProductId> ids) {
+        return queryIds("SELECT id FROM products WHERE id = ANY (?)", ids);
+    }
+
+    @Override
+    public List<StockLevel> adjustQuantities(Map<ProductId, Long> deltas, long updatedAt) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        // One statement, no read-modify-write: rows are locked in id order so concurrent
+        // batches cannot deadlock, and the UPDATE re-checks the bounds against the latest
+        // committed quantity. Refused and adjusted rows are both reported back.
+        String sql = "WITH net(id, delta) AS (SELECT * FROM unnest(?::uuid[], ?::bigint[])), " +
+                     "locked AS (SELECT p.id, p.quantity, p.inventory_status FROM products p JOIN net n ON n.id = p.id " +
+                     "ORDER BY p.id FOR UPDATE OF p), " +
+                     "adjusted AS (UPDATE products p SET quantity = p.quantity + n.delta, " +
+                     "inventory_status = CASE WHEN p.quantity + n.delta <= 0 THEN 'OUTOFSTOCK' " +
+                     "WHEN p.quantity + n.delta <= ? THEN 'LOWSTOCK' ELSE 'INSTOCK' END, updated_at = ? " +
+                     "FROM net n WHERE n.id = p.id AND p.id IN (SELECT id FROM locked) " +
+                     "AND p.quantity + n.delta BETWEEN 0 AND " + Integer.MAX_VALUE + " " +
+                     "RETURNING p.id, p.quantity, p.inventory_status) " +
+                     "SELECT l.id, COALESCE(a.quantity, l.quantity) AS quantity, " +
+                     "COALESCE(a.inventory_status, l.inventory_status) AS inventory_status, a.id IS NOT NULL AS adjusted " +
+                     "FROM locked l LEFT JOIN adjusted a ON a.id = l.id";
+        Object[] ids = deltas.keySet().stream().map(ProductId::value).toArray();
+        Object[] amounts = deltas.values().toArray();
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("bigint", amounts));
+            statement.setInt(3, Product.InventoryStatus.LOW_STOCK_THRESHOLD);
+            statement.setTimestamp(4, new Timestamp(updatedAt));
+            return statement;
+        }, (rs, rowNum) -> new StockLevel(
+            ProductId.of(rs.getString("id")),
+            rs.getInt("quantity"),
+            Product.InventoryStatus.valueOf(rs.getString("inventory_status")),
+            rs.getBoolean("adjusted")
+        ));
+    }
+
+    /** Runs a statement taking a single uuid[] parameter and returning ids. */
+    private Set<ProductId> queryIds(String sql, Collection<ProductId> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Object[] uuids = ids.stream().map(ProductId::value).toArray();
+        List<ProductId> result = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("uuid", uuids));
+            return statement;
+        }, (rs, rowNum) -> ProductId.of(rs.getString("id")));
+        return new HashSet<>(result);
+    }
+
+    private static Object[] insertArgs(Product product) {
+        return new Object[] {
+            product.getId().toString(),
             product.getCode(),
             product.getName(),
             product.getDescription(),
-            product.getImage(),
+            product.getImageHash(),
             product.getCategory(),
             product.getPrice(),
             product.getQuantity(),
@@ -98,15 +416,58 @@ public class PostgresProductRepository implements ProductRepository {
             product.getShellId(),
             product.getInventoryStatus().name(),
             product.getRating(),
-            new Timestamp(product.getUpdatedAt()),
-            product.getId().toString()
-        );
+            new Timestamp(product.getCreatedAt()),
+            new Timestamp(product.getUpdatedAt())
+        };
+    }
+
+    /**
+     * Runs a single-product write returning {@link #PRODUCT_COLUMNS}. When the product carries
+     * image bytes, the same statement upserts them from the written row, so the row's image hash,
+     * its one version bump and the image land together or not at all.
+     */
+    private Optional<Product> writeWithImage(Product product, String sql, Object... args) {
+        if (!hasImage(product)) {
+            return write(product.getCode(), sql, args).stream().findFirst();
+        }
+        byte[] image = product.getImage();
+        String withImage = "WITH written AS (" + sql + "), image AS (" + UPSERT_WRITTEN_IMAGE + ") SELECT * FROM written";
+        Object[] withImageArgs = Arrays.copyOf(args, args.length + 3);
+        withImageArgs[args.length] = image;
+        withImageArgs[args.length + 1] = ProductImage.detectContentType(image);
+        withImageArgs[args.length + 2] = image.length;
+        return write(product.getCode(), withImage, withImageArgs).stream().findFirst();
+    }
+
+    private static boolean hasImage(Product product) {
+        return product.getImage() != null && product.getImage().length > 0;
+    }
+
+    /**
+     * Runs a write returning the affected rows. A violation of the unique constraint on
+     * {@code code} becomes the domain's duplicate-code error; any other conflict propagates.
+     */
+    private List<Product> write(String code, String sql, Object... args) {
+        try {
+            return jdbcTemplate.query(sql, productRowMapper, args);
+        } catch (DuplicateKeyException e) {
+            if (isCodeConflict(e)) {
+                throw DuplicateProductException.code(code, e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isCodeConflict(DuplicateKeyException e) {
+        return e.getMostSpecificCause() instanceof PSQLException psql
+            && psql.getServerErrorMessage() != null
+            && CODE_UNIQUE_CONSTRAINT.equals(psql.getServerErrorMessage().getConstraint());
     }
 
     @Override
     public Optional<Product> findById(ProductId id) {
         try {
-            String sql = "SELECT * FROM products WHERE id = ?::uuid";
+            String sql = "SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id = ?::uuid";
             Product product = jdbcTemplate.queryForObject(sql, productRowMapper, id.toString());
             return Optional.ofNullable(product);
         } catch (EmptyResultDataAccessException e) {
@@ -114,22 +475,341 @@ public class PostgresProductRepository implements ProductRepository {
         }
     }
 
+    @Override
+    public Optional<ProductDTO> findProjectedById(ProductId id, ProductProjection projection) {
+        String sql = "SELECT " + projectedColumns(projection) + " FROM products WHERE id = ?::uuid";
+        return jdbcTemplate.query(sql, projectedRowMapper(projection), id.toString()).stream().findFirst();
+    }
+
+    @Override
+    public Optional<ProductRevision> findRevisionById(ProductId id) {
+        String sql = "SELECT version, updated_at FROM products WHERE id = ?::uuid";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ProductRevision(rs.getLong("version"), rs.getTimestamp("updated_at").getTime()), id.toString())
+            .stream()
+            .findFirst();
+    }
+
     @Override
     public List<Product> findAll() {
-        String sql = "SELECT * FROM products";
+        String sql = "SELECT " + PRODUCT_COLUMNS + " FROM products";
         return jdbcTemplate.query(sql, productRowMapper);
     }
 
     @Override
-    public void deleteById(ProductId id) {
+    public List<Product> findPage(ProductPageRequest request) {
+        List<Object> args = new ArrayList<>();
+        String sql = pageQuery(request, PRODUCT_COLUMNS, args);
+        return jdbcTemplate.query(sql, productRowMapper, args.toArray());
+    }
+
+    @Override
+    public List<ProductDTO> findProjectedPage(ProductPageRequest request) {
+        List<Object> args = new ArrayList<>();
+        String sql = pageQuery(request, projectedColumns(request.projection()), args);
+        return jdbcTemplate.query(sql, projectedRowMapper(request.projection()), args.toArray());
+    }
+
+    private String pageQuery(ProductPageRequest request, String columns, List<Object> args) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM products WHERE 1 = 1");
+        appendFilter(sql, args, request.filter());
+
+        String column = sortColumn(request.sort());
+        String comparison = request.descending() ? "<" : ">";
+        String direction = request.descending() ? "DESC" : "ASC";
+
+        ProductCursor after = request.after();
+        if (after != null) {
+            if (request.sort() == ProductSort.ID) {
+                sql.append(" AND id ").append(comparison).append(" ?::uuid");
+            } else {
+                sql.append(" AND (").append(column).append(", id) ").append(comparison).append(" (?, ?::uuid)");
+                args.add(sortValue(request.afterSortValue()));
+            }
+            args.add(after.id().toString());
+        }
+
+        if (request.sort() == ProductSort.ID) {
+            sql.append(" ORDER BY id ").append(direction);
+        } else {
+            sql.append(" ORDER BY ").append(column).append(' ').append(direction)
+               .append(", id ").append(direction);
+        }
+        sql.append(" LIMIT ?");
+        args.add(request.size() + 1);
+        return sql.toString();
+    }
+
+    @Override
+    public List<ProductSearchHit> search(ProductSearchRequest request) {
+        // The GIN index finds the matches; only those get ranked. Rank is a real, which
+        // survives the cursor round trip exactly since the driver asks for full precision.
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM (SELECT ").append(PRODUCT_COLUMNS)
+            .append(", ts_rank(search_vector, query) AS rank")
+            .append(" FROM products, websearch_to_tsquery('english', ?) AS query WHERE search_vector @@ query");
+        args.add(request.text());
+        appendFilter(sql, args, request.filter());
+        sql.append(") ranked");
+
+        ProductCursor after = request.after();
+        if (after != null) {
+            sql.append(" WHERE (rank, id) < (?, ?::uuid)");
+            args.add(request.afterRank());
+            args.add(after.id().toString());
+        }
+        sql.append(" ORDER BY rank DESC, id DESC LIMIT ?");
+        args.add(request.size() + 1);
+
+        return jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new ProductSearchHit(productRowMapper.mapRow(rs, rowNum), rs.getFloat("rank")),
+            args.toArray());
+    }
+
+    @Override
+    public ProductFacets countFacets(ProductFacetRequest request) {
+        // One scan feeds every facet; GROUPING() tells which set a row belongs to, and
+        // width_bucket numbers the price buckets 0 (below the first break) to breaks.size().
+        List<Object> args = new ArrayList<>();
+        StringBuilder filtered = new StringBuilder(
+            "SELECT category, inventory_status, rating, width_bucket(price, ?::numeric[]) AS price_bucket " +
+            "FROM products WHERE 1 = 1");
+        appendFilter(filtered, args, request.filter());
+        String sql = "SELECT GROUPING(category, inventory_status, rating, price_bucket) AS facet, " +
+                     "category, inventory_status, rating, price_bucket, count(*) AS count " +
+                     "FROM (" + filtered + ") p " +
+                     "GROUP BY GROUPING SETS ((category), (inventory_status), (rating), (price_bucket), ())";
+        Object[] breaks = request.priceBreaks().stream().map(BigDecimal::valueOf).toArray();
+
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (Product.InventoryStatus status : Product.InventoryStatus.values()) {
+            statuses.put(status.name(), 0L);
+        }
+        Map<Integer, Long> ratings = new TreeMap<>(Comparator.reverseOrder());
+        long[] buckets = new long[breaks.length + 1];
+        long[] total = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("numeric", breaks));
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 2, args.get(i));
+            }
+            return statement;
+        }, (ResultSet rs) -> {
+            long count = rs.getLong("count");
+            switch (rs.getInt("facet")) {
+                case FACET_CATEGORY -> categories.put(rs.getString("category"), count);
+                case FACET_INVENTORY_STATUS -> statuses.put(rs.getString("inventory_status"), count);
+                case FACET_RATING -> ratings.put(rs.getInt("rating"), count);
+                case FACET_PRICE -> buckets[rs.getInt("price_bucket")] = count;
+                case FACET_TOTAL -> total[0] = count;
+                default -> throw new IllegalStateException("Unexpected grouping set " + rs.getInt("facet"));
+            }
+        });
+
+        Map<String, Long> sortedCategories = new LinkedHashMap<>();
+        categories.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .forEach(entry -> sortedCategories.put(entry.getKey(), entry.getValue()));
+        List<Double> priceBreaks = request.priceBreaks();
+        List<ProductFacets.PriceBucket> prices = new ArrayList<>(buckets.length);
+        for (int i = 0; i < buckets.length; i++) {
+            prices.add(new ProductFacets.PriceBucket(
+                i > 0 ? priceBreaks.get(i - 1) : null,
+                i < priceBreaks.size() ? priceBreaks.get(i) : null,
+                buckets[i]));
+        }
+        return new ProductFacets(total[0], sortedCategories, statuses, ratings, prices);
+    }
+
+    private static String projectedColumns(ProductProjection projection) {
+        StringBuilder columns = new StringBuilder();
+        for (ProductField field : projection.fields()) {
+            if (!columns.isEmpty()) {
+                columns.append(", ");
+            }
+            columns.append(projectedColumn(field));
+        }
+        return columns.toString();
+    }
+
+    private static String projectedColumn(ProductField field) {
+        return switch (field) {
+            case ID -> "id";
+            case CODE -> "code";
+            case NAME -> "name";
+            case DESCRIPTION -> "description";
+            case IMAGE -> "image_hash";
+            case CATEGORY -> "category";
+            case PRICE -> "price";
+            case QUANTITY -> "quantity";
+            case INTERNAL_REFERENCE -> "internal_reference";
+            case SHELL_ID -> "shell_id";
+            case INVENTORY_STATUS -> "inventory_status";
+            case RATING -> "rating";
+            case CREATED_AT -> "created_at";
+            case UPDATED_AT -> "updated_at";
+            case VERSION -> "version";
+        };
+    }
+
+    /** Fills in only the projected fields; no Product is built, so partial rows skip domain validation. */
+    private RowMapper<ProductDTO> projectedRowMapper(ProductProjection projection) {
+        return rowMappingTimer.timed("projected", (rs, rowNum) -> {
+            ProductDTO product = new ProductDTO();
+            for (ProductField field : projection.fields()) {
+                switch (field) {
+                    case ID -> product.setId(rs.getString("id"));
+                    case CODE -> product.setCode(rs.getString("code"));
+                    case NAME -> product.setName(rs.getString("name"));
+                    case DESCRIPTION -> product.setDescription(rs.getString("description"));
+                    case IMAGE -> product.setImageHash(rs.getString("image_hash"));
+                    case CATEGORY -> product.setCategory(rs.getString("category"));
+                    case PRICE -> product.setPrice(rs.getDouble("price"));
+                    case QUANTITY -> product.setQuantity(rs.getInt("quantity"));
+                    case INTERNAL_REFERENCE -> product.setInternalReference(rs.getString("internal_reference"));
+                    case SHELL_ID -> product.setShellId(rs.getInt("shell_id"));
+                    case INVENTORY_STATUS -> product.setInventoryStatus(rs.getString("inventory_status"));
+                    case RATING -> product.setRating(rs.getInt("rating"));
+                    case CREATED_AT -> product.setCreatedAt(rs.getTimestamp("created_at").getTime());
+                    case UPDATED_AT -> product.setUpdatedAt(rs.getTimestamp("updated_at").getTime());
+                    case VERSION -> product.setVersion(rs.getLong("version"));
+                }
+            }
+            return product;
+        });
+    }
+
+    @Override
+    public ProductChangeLog findChanges(ProductChangeCursor since, int limit) {
+        // One statement, so the horizon comes from the same snapshot that reads the changes:
+        // every transaction below the snapshot's xmin has finished and is fully visible.
+        // Both branches are read in (change_xid, id) order from their indexes and merged.
+        String after = since.isComplete() ? "change_xid >= ?" : "(change_xid, id) > (?, ?::uuid)";
+        String sql = "SELECT c.*, h.horizon, h.pruned_through FROM (" +
+                     "  SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS horizon," +
+                     "         (SELECT coalesce(max(pruned_through), 0) FROM product_tombstone_pruning) AS pruned_through" +
+                     ") h LEFT JOIN LATERAL (" +
+                     "  (SELECT id, change_xid, false AS deleted, " + CHANGE_FEED_COLUMNS + " FROM products" +
+                     "   WHERE " + after + " AND change_xid < h.horizon ORDER BY change_xid, id LIMIT ?)" +
+                     "  UNION ALL" +
+                     "  (SELECT id, change_xid, true AS deleted, " + CHANGE_FEED_TOMBSTONE_COLUMNS + " FROM product_tombstones" +
+                     "   WHERE " + after + " AND change_xid < h.horizon ORDER BY change_xid, id LIMIT ?)" +
+                     "  ORDER BY change_xid, id LIMIT ?" +
+                     ") c ON true";
+
+        List<Object> args = new ArrayList<>();
+        for (int branch = 0; branch < 2; branch++) {
+            args.add(since.position());
+            if (!since.isComplete()) {
+                args.add(since.afterId().toString());
+            }
+            args.add(limit + 1);
+        }
+        args.add(limit + 1);
+
+        long[] bounds = new long[2]; // horizon, pruned through
+        List<ProductChangeLog.Entry> entries = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            bounds[0] = rs.getLong("horizon");
+            bounds[1] = rs.getLong("pruned_through");
+            if (rs.getString("id") == null) {
+                return;
+            }
+            ProductId id = ProductId.of(rs.getString("id"));
+            long position = rs.getLong("change_xid");
+            Product product = rs.getBoolean("deleted") ? null : productRowMapper.mapRow(rs, rs.getRow());
+            entries.add(new ProductChangeLog.Entry(id, position, product));
+        }, args.toArray());
+        return new ProductChangeLog(entries, bounds[0], bounds[1]);
+    }
+
+    @Override
+    public void forEach(ProductFilter filter, Consumer<Product> action) {
+        StringBuilder sql = new StringBuilder("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY id");
+
+        // PgJDBC only honours the fetch size (server-side cursor) when auto-commit is off,
+        // otherwise it buffers the whole result set in memory before returning.
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    int rowNum = 0;
+                    while (rs.next()) {
+                        action.accept(productRowMapper.mapRow(rs, rowNum++));
+                    }
+                }
+                if (autoCommit) {
+                    connection.commit();
+                }
+            } catch (RuntimeException e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, ProductFilter filter) {
+        if (filter.category() != null) {
+            sql.append(" AND category = ?");
+            args.add(filter.category());
+        }
+        if (filter.inventoryStatus() != null) {
+            sql.append(" AND inventory_status = ?");
+            args.add(filter.inventoryStatus().name());
+        }
+    }
+
+    private static String sortColumn(ProductSort sort) {
+        return switch (sort) {
+            case ID -> "id";
+            case CODE -> "code";
+            case NAME -> "name";
+            case PRICE -> "price";
+            case CREATED_AT -> "created_at";
+            case UPDATED_AT -> "updated_at";
+        };
+    }
+
+    /** Binds a cursor value already checked by the page request; timestamps are epoch millis. */
+    private static Object sortValue(Object cursorValue) {
+        return cursorValue instanceof Long epochMillis ? new Timestamp(epochMillis) : cursorValue;
+    }
+
+    @Override
+    public boolean deleteById(ProductId id) {
         String sql = "DELETE FROM products WHERE id = ?::uuid";
-        jdbcTemplate.update(sql, id.toString());
+        return jdbcTemplate.update(sql, id.toString()) > 0;
     }
 
     @Override
     public boolean existsByCode(String code) {
-        String sql = "SELECT COUNT(*) FROM products WHERE code = ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, code);
-        return count != null && count > 0;
+        // EXISTS stops at the first index hit instead of counting every match
+        String sql = "SELECT EXISTS (SELECT 1 FROM products WHERE code = ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, code));
+    }
+
+    @Override
+    public boolean existsByCodeExcludingId(String code, ProductId excludedId) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM products WHERE code = ? AND id <> ?::uuid)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, code, excludedId.toString()));
     }
 }
\ No newline at end of file
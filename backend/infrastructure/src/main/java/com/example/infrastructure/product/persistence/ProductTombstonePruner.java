@@ -0,0 +1,85 @@
+package com.example.infrastructure.product.persistence;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deletes tombstones older than the retention period, so that {@code product_tombstones} does
+ * not grow with every product ever deleted. The highest change position pruned is recorded in
+ * the same statement; {@link PostgresProductRepository#findChanges} reports it so that feeds
+ * resumed from an older watermark are told to resync instead of silently missing deletions.
+ * Runs every {@code interval} on a thread of its own, starting right away.
+ */
+public class ProductTombstonePruner implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductTombstonePruner.class);
+
+    private static final String PRUNE_SQL =
+        "WITH pruned AS (" +
+        "  DELETE FROM product_tombstones WHERE deleted_at < localtimestamp - make_interval(secs => ?)" +
+        "  RETURNING change_xid" +
+        "), recorded AS (" +
+        "  UPDATE product_tombstone_pruning SET pruned_through = (SELECT max(change_xid) FROM pruned)" +
+        "  WHERE (SELECT max(change_xid) FROM pruned) > pruned_through" +
+        ") SELECT count(*) FROM pruned";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    public ProductTombstonePruner(JdbcTemplate jdbcTemplate, Duration retention, Duration interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.interval = interval;
+    }
+
+    /** Deletes the tombstones older than the retention period and returns how many there were. */
+    public int prune() {
+        Integer pruned = jdbcTemplate.queryForObject(PRUNE_SQL, Integer.class, retention.toSeconds());
+        return pruned != null ? pruned : 0;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("product-tombstone-pruner").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::pruneQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void pruneQuietly() {
+        try {
+            int pruned = prune();
+            if (pruned > 0) {
+                log.info("Pruned {} product tombstones older than {}", pruned, retention);
+            }
+        } catch (RuntimeException e) {
+            // Retried on the next run; tombstones are only kept longer meanwhile
+            log.warn("Could not prune product tombstones", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.infrastructure.product.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.exception.DuplicateProductException;
+import com.example.application.product.port.out.ReactiveProductRepository;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.ProductId;
+
+import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.spi.Row;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC implementation of {@link ReactiveProductRepository}. Runs the same statements as
+ * {@link PostgresProductRepository} without blocking a thread per call; streamed reads fetch
+ * {@link PostgresProductRepository#STREAM_FETCH_SIZE} rows per round trip, and only as
+ * subscribers request them.
+ */
+public class ReactivePostgresProductRepository implements ReactiveProductRepository {
+
+    private static final String PRODUCT_COLUMNS = "id, code, name, description, image_hash, category, price, quantity, " +
+        "internal_reference, shell_id, inventory_status, rating, created_at, updated_at, version";
+
+    private static final String INSERT_PRODUCT =
+        "INSERT INTO products(id, code, name, description, category, price, " +
+        "quantity, internal_reference, shell_id, inventory_status, rating, created_at, updated_at) " +
+        "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13) " +
+        "ON CONFLICT (id) DO NOTHING RETURNING " + PRODUCT_COLUMNS;
+
+    // The version itself is incremented by the row trigger; here it only guards the write
+    private static final String UPDATE_PRODUCT =
+        "UPDATE products SET code = $1, name = $2, description = $3, " +
+        "category = $4, price = $5, quantity = $6, internal_reference = $7, " +
+        "shell_id = $8, inventory_status = $9, rating = $10, updated_at = $11 " +
+        "WHERE id = $12 AND ($13::bigint IS NULL OR version = $13) RETURNING " + PRODUCT_COLUMNS;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactivePostgresProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public CompletionStage<Optional<Product>> findById(ProductId id) {
+        return optional(databaseClient.sql("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id = $1")
+            .bind(0, id.value())
+            .map((row, metadata) -> toProduct(row))
+            .one());
+    }
+
+    @Override
+    public CompletionStage<Optional<ProductRevision>> findRevisionById(ProductId id) {
+        return optional(databaseClient.sql("SELECT version, updated_at FROM products WHERE id = $1")
+            .bind(0, id.value())
+            .map((row, metadata) -> new ProductRevision(row.get("version", Long.class), millis(row.get("updated_at", LocalDateTime.class))))
+            .one());
+    }
+
+    @Override
+    public Flow.Publisher<Product> findAll(ProductFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE 1 = 1");
+        int index = 0;
+        if (filter.category() != null) {
+            sql.append(" AND category = $").append(++index);
+        }
+        if (filter.inventoryStatus() != null) {
+            sql.append(" AND inventory_status = $").append(++index);
+        }
+        sql.append(" ORDER BY id");
+
+        GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+            .filter(statement -> statement.fetchSize(PostgresProductRepository.STREAM_FETCH_SIZE));
+        index = 0;
+        if (filter.category() != null) {
+            spec = spec.bind(index++, filter.category());
+        }
+        if (filter.inventoryStatus() != null) {
+            spec = spec.bind(index, filter.inventoryStatus().name());
+        }
+        return JdkFlowAdapter.publisherToFlowPublisher(spec.map((row, metadata) -> toProduct(row)).all());
+    }
+
+    @Override
+    public CompletionStage<Optional<Product>> insert(Product product) {
+        GenericExecuteSpec spec = databaseClient.sql(INSERT_PRODUCT)
+            .bind(0, product.getId().value())
+            .bind(1, product.getCode())
+            .bind(2, product.getName());
+        spec = bindNullable(spec, 3, product.getDescription(), String.class);
+        spec = bindNullable(spec, 4, product.getCategory(), String.class);
+        spec = spec.bind(5, BigDecimal.valueOf(product.getPrice()))
+            .bind(6, product.getQuantity());
+        spec = bindNullable(spec, 7, product.getInternalReference(), String.class);
+        spec = spec.bind(8, product.getShellId())
+            .bind(9, product.getInventoryStatus().name())
+            .bind(10, product.getRating())
+            .bind(11, timestamp(product.getCreatedAt()))
+            .bind(12, timestamp(product.getUpdatedAt()));
+        return write(product.getCode(), spec);
+    }
+
+    @Override
+    public CompletionStage<Optional<Product>> update(Product product, Long expectedVersion) {
+        GenericExecuteSpec spec = databaseClient.sql(UPDATE_PRODUCT)
+            .bind(0, product.getCode())
+            .bind(1, product.getName());
+        spec = bindNullable(spec, 2, product.getDescription(), String.class);
+        spec = bindNullable(spec, 3, product.getCategory(), String.class);
+        spec = spec.bind(4, BigDecimal.valueOf(product.getPrice()))
+            .bind(5, product.getQuantity());
+        spec = bindNullable(spec, 6, product.getInternalReference(), String.class);
+        spec = spec.bind(7, product.getShellId())
+            .bind(8, product.getInventoryStatus().name())
+            .bind(9, product.getRating())
+            .bind(10, timestamp(product.getUpdatedAt()))
+            .bind(11, product.getId().value());
+        spec = bindNullable(spec, 12, expectedVersion, Long.class);
+        return write(product.getCode(), spec);
+    }
+
+    @Override
+    public CompletionStage<Boolean> deleteById(ProductId id) {
+        return databaseClient.sql("DELETE FROM products WHERE id = $1")
+            .bind(0, id.value())
+            .fetch()
+            .rowsUpdated()
+            .map(rows -> rows > 0)
+            .toFuture();
+    }
+
+    /**
+     * Runs a write returning the affected row. A violation of the unique constraint on
+     * {@code code} becomes the domain's duplicate-code error; any other conflict propagates.
+     */
+    private static CompletionStage<Optional<Product>> write(String code, GenericExecuteSpec spec) {
+        return optional(spec.map((row, metadata) -> toProduct(row))
+            .one()
+            .onErrorMap(DuplicateKeyException.class, e -> isCodeConflict(e)
+                ? DuplicateProductException.code(code, e)
+                : e));
+    }
+
+    private static boolean isCodeConflict(DuplicateKeyException e) {
+        return e.getMostSpecificCause() instanceof PostgresqlException postgres
+            && postgres.getErrorDetails().getConstraintName()
+                .filter(PostgresProductRepository.CODE_UNIQUE_CONSTRAINT::equals)
+                .isPresent();
+    }
+
+    private static <T> CompletionStage<Optional<T>> optional(Mono<T> result) {
+        return result.map(Optional::of).defaultIfEmpty(Optional.empty()).toFuture();
+    }
+
+    private static <T> GenericExecuteSpec bindNullable(GenericExecuteSpec spec, int index, T value, Class<T> type) {
+        return value != null ? spec.bind(index, value) : spec.bindNull(index, type);
+    }
+
+    // Timestamps are stored without a zone, in the server's local time, like the JDBC adapter does
+    private static LocalDateTime timestamp(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long millis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Product toProduct(Row row) {
+        Product product = new Product(
+            ProductId.of(row.get("id", UUID.class)),
+            row.get("code", String.class),
+            row.get("name", String.class),
+            row.get("description", String.class),
+            null,
+            row.get("category", String.class),
+            orZero(row.get("price", BigDecimal.class)).doubleValue(),
+            orZero(row.get("quantity", Integer.class)),
+            row.get("internal_reference", String.class),
+            orZero(row.get("shell_id", Integer.class)),
+            Product.InventoryStatus.valueOf(row.get("inventory_status", String.class)),
+            orZero(row.get("rating", Integer.class)),
+            millis(row.get("created_at", LocalDateTime.class)),
+            millis(row.get("updated_at", LocalDateTime.class))
+        );
+        // Image bytes live in product_images; rows only carry their hash
+        product.setImageHash(row.get("image_hash", String.class));
+        product.setVersion(row.get("version", Long.class));
+        return product;
+    }
+
+    // Mirrors ResultSet.getInt/getDouble, which read SQL NULL as zero
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.infrastructure.product.persistence;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Wraps the row mappers of the Postgres adapter so that turning result rows into objects can be
+ * timed apart from the queries that fetched them. {@link #NONE} leaves the mappers as they are.
+ */
+public interface RowMappingTimer {
+
+    RowMappingTimer NONE = new RowMappingTimer() {
+        @Override
+        public <T> RowMapper<T> timed(String mapper, RowMapper<T> rowMapper) {
+            return rowMapper;
+        }
+    };
+
+    /** Returns {@code rowMapper}, timed under the name {@code mapper}. */
+    <T> RowMapper<T> timed(String mapper, RowMapper<T> rowMapper);
+}
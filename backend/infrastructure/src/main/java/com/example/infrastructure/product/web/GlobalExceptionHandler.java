@@ -1,68 +1,107 @@
 package com.example.infrastructure.product.web;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
 
-import org.springframework.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.example.domain.product.ProductException;
+import com.example.infrastructure.logging.ErrorLogSampler;
+import com.example.infrastructure.product.dto.ProblemResponse;
+
+/**
+ * Maps exceptions to RFC 7807 problem responses, by exception type (see {@link ProductProblems}).
+ * Rejections are logged as they happen, but sampled per kind (see {@link ErrorLogSampler}) so
+ * that a flood of identical failures cannot swamp the log.
+ */
 @ControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final ErrorLogSampler errorLogSampler;
+
+    public GlobalExceptionHandler(@Value("${products.logging.error-sample-interval:10s}") Duration errorSampleInterval) {
+        this.errorLogSampler = new ErrorLogSampler(errorSampleInterval);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("message", "Invalid request body format or content");
-        body.put("error", "Bad Request");
-        body.put("details", ex.getMessage());
-        
-        System.err.println("HttpMessageNotReadableException: " + ex.getMessage());
-        
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
+        long suppressed = errorLogSampler.sample("UNREADABLE_BODY");
+        if (suppressed != ErrorLogSampler.SUPPRESS) {
+            log.atWarn().addKeyValue("suppressed", suppressed).log("Unreadable request body: {}", ex.getMessage());
+        }
+        return problem(ProductProblems.UNREADABLE_BODY);
     }
-    
+
+    @ExceptionHandler(CannotGetJdbcConnectionException.class)
+    public ResponseEntity<ProblemResponse> handleNoConnection(CannotGetJdbcConnectionException ex) {
+        long suppressed = errorLogSampler.sample("DATABASE_BUSY");
+        if (suppressed != ErrorLogSampler.SUPPRESS) {
+            log.atWarn().addKeyValue("suppressed", suppressed).log("No database connection available: {}", ex.getMessage());
+        }
+        return ResponseEntity.status(ProductProblems.DATABASE_BUSY.status())
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .body(ProductProblems.DATABASE_BUSY);
+    }
+
+    /** Product exceptions and any other rejected argument; the former are mapped by type. */
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex) {
-        Map<String, Object> body = new HashMap<>();
-        String message = ex.getMessage();
-        
-        // Specific handling for known error messages
-        if (message.contains("No enum constant")) {
-            body.put("message", "Invalid inventory status. Valid values are: INSTOCK, LOWSTOCK, OUTOFSTOCK");
-            body.put("errorCode", "INVALID_INVENTORY_STATUS");
-        } else if (message.contains("already exists")) {
-            body.put("message", "A product with this code already exists");
-            body.put("errorCode", "DUPLICATE_PRODUCT_CODE");
-        } else if (message.contains("Invalid UUID")) {
-            body.put("message", "ID must be in UUID format (e.g., 123e4567-e89b-12d3-a456-426614174000)");
-            body.put("errorCode", "INVALID_UUID_FORMAT");
-        } else {
-            body.put("message", message);
-            body.put("errorCode", "VALIDATION_ERROR");
+    public ResponseEntity<ProblemResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ProblemResponse problem = ProductProblems.of(ex);
+        long suppressed = errorLogSampler.sample(problem.errorCode());
+        if (suppressed != ErrorLogSampler.SUPPRESS) {
+            log.atWarn().addKeyValue("errorCode", problem.errorCode()).addKeyValue("suppressed", suppressed)
+                .log("Rejected request: {}", ex.getMessage());
         }
-        
-        body.put("error", "Bad Request");
-        body.put("status", 400);
-        
-        System.err.println("IllegalArgumentException: " + message);
-        
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        return problem(problem);
     }
-    
+
+    /**
+     * The {@code @Repository} proxy hands the adapters' exceptions to the JPA translator, which
+     * wraps any {@link IllegalArgumentException} (a duplicate code found by the insert, ...);
+     * typed product exceptions are unwrapped and mapped as if they had not been.
+     */
+    @ExceptionHandler(InvalidDataAccessApiUsageException.class)
+    public ResponseEntity<?> handleInvalidDataAccessApiUsage(InvalidDataAccessApiUsageException ex) {
+        if (ex.getCause() instanceof ProductException productException) {
+            return handleIllegalArgumentException(productException);
+        }
+        return handleGenericException(ex);
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleGenericException(Exception ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("message", "An unexpected error occurred");
-        body.put("error", "Internal Server Error");
-        body.put("details", ex.getMessage());
-        body.put("exception", ex.getClass().getName());
-        body.put("status", 500);
-        
-        System.err.println("Unexpected exception: " + ex.getMessage());
-        
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<?> handleGenericException(Exception ex) {
+        // Spring's own request errors (unknown path, unsupported method, ...) carry their status
+        if (ex instanceof ErrorResponse errorResponse && errorResponse.getStatusCode().is4xxClientError()) {
+            return ResponseEntity.status(errorResponse.getStatusCode())
+                .headers(errorResponse.getHeaders())
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(errorResponse.getBody());
+        }
+
+        // Sampled per exception type; the stack trace comes with every logged occurrence
+        long suppressed = errorLogSampler.sample(ex.getClass().getName());
+        if (suppressed != ErrorLogSampler.SUPPRESS) {
+            log.atError().setCause(ex).addKeyValue("suppressed", suppressed).log("Unexpected exception: {}", ex.getMessage());
+        }
+        return problem(ProductProblems.INTERNAL_ERROR);
+    }
+
+    private static ResponseEntity<ProblemResponse> problem(ProblemResponse problem) {
+        return ResponseEntity.status(problem.status()).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(problem);
     }
-}
\ No newline at end of file
+}
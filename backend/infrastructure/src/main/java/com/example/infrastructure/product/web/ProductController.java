@@ -1,65 +1,439 @@
 package com.example.infrastructure.product.web;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import com.example.application.product.service.ProductService;
+import com.example.application.product.dto.ProductBatchItemResult;
+import com.example.application.product.dto.ProductChanges;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.dto.ProductImportReport;
+import com.example.application.product.dto.ProductPage;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.dto.StockAdjustment;
+import com.example.application.product.dto.StockAdjustmentResult;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.application.product.port.in.GetProductsUseCase;
+import com.example.application.product.port.in.ProductBulkTransferUseCase;
+import com.example.application.product.port.in.ProductUseCases;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductCursor;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductField;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.application.product.query.ProductSort;
+import com.example.domain.product.Product;
+import com.example.infrastructure.product.dto.ProductBatchRequest;
+import com.example.infrastructure.product.dto.ProductBatchResponse;
+import com.example.infrastructure.product.dto.ProductChangesResponse;
 import com.example.infrastructure.product.dto.ProductDto;
+import com.example.infrastructure.product.dto.StockAdjustmentRequest;
+import com.example.infrastructure.product.dto.StockAdjustmentResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
 @RequestMapping("/api/products")
+@Profile("!reactive")
 @Tag(name = "Product", description = "Product management API")
 public class ProductController {
 
-    private final ProductService productService;
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
 
-    public ProductController(ProductService productService) {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String CONTENT_TYPE_OPTIONS_HEADER = "X-Content-Type-Options";
+    static final String FIELDS_PARAM_DESCRIPTION = "Comma-separated fields to return, e.g. id,name,price (default: all). " +
+                                                   "Unrequested columns are not read from the database.";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final Set<String> PATCH_READ_ONLY_PROPERTIES =
+        Set.of("image", "imageUrl", "imageHash", "createdAt", "updatedAt", "version");
+
+    private final ProductUseCases productService;
+    private final ProductBulkTransferUseCase productBulkTransferService;
+    private final ObjectMapper objectMapper;
+
+    public ProductController(ProductUseCases productService, ProductBulkTransferUseCase productBulkTransferService,
+                             ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productBulkTransferService = productBulkTransferService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Get all products", description = "Retrieves a list of all available products")
-    @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        List<com.example.application.product.dto.ProductDTO> products = productService.getAll();
-        List<ProductDto> productDtos = products.stream()
+    @Operation(
+        summary = "List products",
+        description = "Retrieves one page of products using keyset pagination. Follow the Link header " +
+                      "(rel=\"next\") or pass the X-Next-Cursor value as 'cursor' to fetch the next page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))),
+        @ApiResponse(responseCode = "304", description = "Page not modified (If-None-Match)", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, sort key, page size, cursor or field", content = @Content)
+    })
+    public ResponseEntity<MappingJacksonValue> getAllProducts(
+            @RequestParam(required = false) @Parameter(description = "Only products of this category") String category,
+            @RequestParam(required = false) @Parameter(description = "Only products with this inventory status") String inventoryStatus,
+            @RequestParam(defaultValue = "createdAt") @Parameter(description = "Sort key (id, code, name, price, createdAt, updatedAt); prefix with '-' for descending order") String sort,
+            @RequestParam(defaultValue = "" + ProductPageRequest.DEFAULT_SIZE) @Parameter(description = "Page size (1-" + ProductPageRequest.MAX_SIZE + ")") int size,
+            @RequestParam(required = false) @Parameter(description = "Cursor returned by the previous page") String cursor,
+            @RequestParam(required = false) @Parameter(description = FIELDS_PARAM_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        boolean descending = sort.startsWith("-");
+        ProductProjection projection = ProductProjection.parse(fields);
+        ProductPageRequest request = new ProductPageRequest(
+            filter(category, inventoryStatus),
+            ProductSort.fromParam(descending ? sort.substring(1) : sort),
+            descending,
+            size,
+            cursor != null ? ProductCursor.decode(cursor) : null,
+            projection
+        );
+
+        ProductPage page = productService.getPage(request);
+        String etag = pageEtag(page, projection);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        List<ProductDto> productDtos = page.items().stream()
                 .map(ProductDto::fromApplicationDto)
                 .toList();
-        return ResponseEntity.ok(productDtos);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        addNextPageHeaders(response, page);
+        return response.body(project(productDtos, projection));
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search products",
+        description = "Full-text search over name, code, category and description, most relevant first. " +
+                      "Accepts web search syntax: \"quoted phrases\", 'or' and -excluded words. " +
+                      "Paginated like the listing, through the Link header or X-Next-Cursor."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching products",
+                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))),
+        @ApiResponse(responseCode = "400", description = "Missing or too long query, invalid filter, page size or cursor", content = @Content)
+    })
+    public ResponseEntity<List<ProductDto>> searchProducts(
+            @RequestParam @Parameter(description = "Search text, e.g. bamboo watch -plastic") String q,
+            @RequestParam(required = false) @Parameter(description = "Only products of this category") String category,
+            @RequestParam(required = false) @Parameter(description = "Only products with this inventory status") String inventoryStatus,
+            @RequestParam(defaultValue = "" + ProductPageRequest.DEFAULT_SIZE) @Parameter(description = "Page size (1-" + ProductPageRequest.MAX_SIZE + ")") int size,
+            @RequestParam(required = false) @Parameter(description = "Cursor returned by the previous page") String cursor) {
+        ProductPage page = productService.search(new ProductSearchRequest(
+            q,
+            filter(category, inventoryStatus),
+            size,
+            cursor != null ? ProductCursor.decode(cursor) : null
+        ));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        addNextPageHeaders(response, page);
+        return response.body(page.items().stream().map(ProductDto::fromApplicationDto).toList());
+    }
+
+    @GetMapping("/facets")
+    @Operation(
+        summary = "Count products per facet",
+        description = "Counts of the products matching the listing filters per category, inventory status, " +
+                      "rating and price bucket, computed in one pass. Answers If-None-Match with 304."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Facet counts"),
+        @ApiResponse(responseCode = "304", description = "Counts not modified (If-None-Match)", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or price breaks", content = @Content)
+    })
+    public ResponseEntity<ProductFacets> getFacets(
+            @RequestParam(required = false) @Parameter(description = "Only products of this category") String category,
+            @RequestParam(required = false) @Parameter(description = "Only products with this inventory status") String inventoryStatus,
+            @RequestParam(required = false) @Parameter(description = "Increasing price boundaries, e.g. 10,50,100 (default: 10,25,50,100,250,500)") List<Double> priceBreaks,
+            WebRequest webRequest) {
+        ProductFacets facets = productService.getFacets(new ProductFacetRequest(filter(category, inventoryStatus), priceBreaks));
+        String etag = "W/\"" + HexFormat.of().formatHex(
+            sha256().digest(facets.toString().getBytes(StandardCharsets.UTF_8)), 0, 16) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(facets);
+    }
+
+    /** Link (rel="next") and X-Next-Cursor headers pointing at the page after {@code page}, if any. */
+    private static void addNextPageHeaders(ResponseEntity.BodyBuilder response, ProductPage page) {
+        if (page.hasNext()) {
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+    }
+
+    /** Restricts the serialized properties of the product(s) in {@code body} to the projection. */
+    private static MappingJacksonValue project(Object body, ProductProjection projection) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!projection.isAll()) {
+            Set<String> properties = new HashSet<>();
+            for (ProductField field : projection.fields()) {
+                if (field == ProductField.IMAGE) {
+                    properties.add("imageUrl");
+                    properties.add("imageHash");
+                } else {
+                    properties.add(field.param());
+                }
+            }
+            value.setFilters(new SimpleFilterProvider()
+                .addFilter(ProductDto.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+        }
+        return value;
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export products",
+        description = "Streams every matching product as it is read from the database, either as " +
+                      "newline-delimited JSON (format=ndjson, default) or as a single JSON array (format=json). " +
+                      "format=csv dumps the unfiltered catalog through COPY in the layout accepted by the import endpoint."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) @Parameter(description = "Only products of this category") String category,
+            @RequestParam(required = false) @Parameter(description = "Only products with this inventory status") String inventoryStatus,
+            @RequestParam(defaultValue = "ndjson") @Parameter(description = "Output format: ndjson, json or csv") String format) {
+        ProductFilter filter = filter(category, inventoryStatus);
+        if (format.equals("csv")) {
+            if (!filter.equals(ProductFilter.none())) {
+                throw new IllegalArgumentException("CSV exports cannot be filtered");
+            }
+            return ResponseEntity.ok()
+                    .contentType(CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\"")
+                    .body(productBulkTransferService::exportCsv);
+        }
+
+        boolean jsonArray = switch (format) {
+            case "ndjson" -> false;
+            case "json" -> true;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                try (SequenceWriter writer = jsonArray
+                        ? objectMapper.writerFor(ProductDto.class).writeValuesAsArray(generator)
+                        : objectMapper.writerFor(ProductDto.class).withRootValueSeparator("\n").writeValues(generator)) {
+                    productService.exportAll(filter, product -> {
+                        try {
+                            writer.write(ProductDto.fromApplicationDto(product));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(jsonArray ? MediaType.APPLICATION_JSON : NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get product changes",
+        description = "Returns products created or updated and ids deleted since a watermark, plus the watermark " +
+                      "for the next call. Omit 'since' for a full initial sync; keep calling while hasMore is true."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid watermark or limit", content = @Content),
+        @ApiResponse(responseCode = "410", description = "Watermark older than the retained deletions; sync again without 'since'", content = @Content)
+    })
+    public ResponseEntity<ProductChangesResponse> getProductChanges(
+            @RequestParam(required = false) @Parameter(description = "Watermark returned by the previous call") String since,
+            @RequestParam(defaultValue = "" + GetProductsUseCase.DEFAULT_CHANGES_LIMIT) @Parameter(description = "Most changes to return (1-" + GetProductsUseCase.MAX_CHANGES_LIMIT + ")") int limit) {
+        ProductChanges changes = productService.getChanges(since != null ? ProductChangeCursor.decode(since) : null, limit);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(ProductChangesResponse.of(changes));
+    }
+
+    @GetMapping("/code-availability")
+    @Operation(
+        summary = "Check product code availability",
+        description = "Tells whether a code is free, optionally ignoring the product being edited"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability computed"),
+        @ApiResponse(responseCode = "400", description = "Empty code or invalid product ID", content = @Content)
+    })
+    public ResponseEntity<Map<String, Object>> checkCodeAvailability(
+            @RequestParam @Parameter(description = "Product code to check") String code,
+            @RequestParam(required = false) @Parameter(description = "ID of the product being edited") String excludeId) {
+        return ResponseEntity.ok(Map.of("code", code, "available", productService.isCodeAvailable(code, excludeId)));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get product by ID", description = "Retrieves a product by its unique identifier")
+    @Operation(
+        summary = "Get product by ID",
+        description = "Retrieves a product by its unique identifier. Supports If-None-Match/If-Modified-Since (304). " +
+                      "The ETag names the product version and can be sent back as If-Match on updates."
+    )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "200", description = "Product found",
+                     content = @Content(schema = @Schema(implementation = ProductDto.class))),
+        @ApiResponse(responseCode = "304", description = "Product not modified", content = @Content),
         @ApiResponse(responseCode = "404", description = "Product not found", content = @Content)
     })
-    public ResponseEntity<ProductDto> getProductById(@PathVariable @Parameter(description = "Product ID") String id) {
-        Optional<com.example.application.product.dto.ProductDTO> product = productService.getById(id);
+    public ResponseEntity<MappingJacksonValue> getProductById(
+            @PathVariable @Parameter(description = "Product ID") String id,
+            @RequestParam(required = false) @Parameter(description = FIELDS_PARAM_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        ProductProjection projection = ProductProjection.parse(fields);
+        // Revalidation only needs version and updated_at, so a 304 never loads or serializes the product
+        Optional<ProductRevision> revision = productService.getRevision(id);
+        if (revision.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = productEtag(id, revision.get().version(), projection);
+        if (webRequest.checkNotModified(etag, revision.get().updatedAt())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // The validators come from the revision, so the projection need not include them
+        Optional<com.example.application.product.dto.ProductDTO> product = productService.getById(id, projection);
         return product
-                .map(ProductDto::fromApplicationDto)
-                .map(ResponseEntity::ok)
+                .map(dto -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .lastModified(revision.get().updatedAt())
+                        .cacheControl(CacheControl.noCache())
+                        .body(project(ProductDto.fromApplicationDto(dto), projection)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /** Strong validator for a product representation: it changes with every write of the row. */
+    static String productEtag(String id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Validator for a possibly projected representation. Projections get their own, weak,
+     * validators so that they are never mistaken for the full product in If-Match.
+     */
+    static String productEtag(String id, long version, ProductProjection projection) {
+        if (projection.isAll()) {
+            return productEtag(id, version);
+        }
+        return "W/\"" + id + "-" + version + "-" + Integer.toHexString(projection.key().hashCode()) + "\"";
+    }
+
+    /**
+     * Version named by an If-Match value produced by {@link #productEtag}, or {@code null} when
+     * it cannot name any version of this product (weak, foreign or several tags).
+     */
+    static Long versionFromEtag(String id, String ifMatch) {
+        String etag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!etag.startsWith(prefix) || !etag.endsWith("\"") || etag.length() <= prefix.length() + 1) {
+            return null;
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Weak validator for a listing page, derived from the ids and versions of its items (every
+     * write, image changes included, bumps the version), the projection and the next cursor.
+     */
+    static String pageEtag(ProductPage page, ProductProjection projection) {
+        MessageDigest digest = sha256();
+        digest.update((projection.key() + "\n").getBytes(StandardCharsets.UTF_8));
+        for (com.example.application.product.dto.ProductDTO product : page.items()) {
+            digest.update((product.getId() + "|" + product.getVersion() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        if (page.nextCursor() != null) {
+            digest.update(page.nextCursor().getBytes(StandardCharsets.UTF_8));
+        }
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     @PostMapping
     @Operation(
         summary = "Create product", 
@@ -67,66 +441,300 @@ public class ProductController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Product created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Product id or code already taken", content = @Content)
     })
     public ResponseEntity<ProductDto> createProduct(@RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Product information") ProductDto productDto) {
-        try {
-            System.out.println("Received product: " + productDto);
-            System.out.println("Product name: " + productDto.getName());
-            System.out.println("Product price: " + productDto.getPrice());
-            
-            com.example.application.product.dto.ProductDTO applicationDto = productDto.toApplicationDto();
-            com.example.application.product.dto.ProductDTO createdDto = productService.create(applicationDto);
-            return ResponseEntity
-                    .status(HttpStatus.CREATED)
-                    .body(ProductDto.fromApplicationDto(createdDto));
-        } catch (IllegalArgumentException e) {
-            System.err.println("IllegalArgumentException: " + e.getMessage());
-            e.printStackTrace();
-            // Let the GlobalExceptionHandler handle it instead of returning ResponseEntity.badRequest().build()
-            throw e;
-        } catch (Exception e) {
-            System.err.println("Unexpected exception: " + e.getMessage());
-            e.printStackTrace();
-            throw e; // Let global exception handler catch it
+        log.debug("Creating product code={} name={} price={}", productDto.getCode(), productDto.getName(), productDto.getPrice());
+        com.example.application.product.dto.ProductDTO createdDto = productService.create(productDto.toApplicationDto());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ProductDto.fromApplicationDto(createdDto));
+    }
+
+    @PostMapping(path = "/import", consumes = "text/csv")
+    @Operation(
+        summary = "Import products from CSV",
+        description = "Loads a CSV catalog (header row required, same columns as the CSV export) through COPY " +
+                      "in one transaction. Rows are inserted or update the product with the same id; invalid rows " +
+                      "are skipped and reported."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import committed; inspect the rejections"),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid header row", content = @Content)
+    })
+    public ResponseEntity<ProductImportReport> importProducts(InputStream body) {
+        return ResponseEntity.ok(productBulkTransferService.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    @PostMapping(":batch")
+    @Operation(
+        summary = "Bulk create, update and delete products",
+        description = "Applies creates, then updates, then deletes using batched statements. " +
+                      "Each operation succeeds or fails on its own; results are returned in request order. " +
+                      "An update carrying a version only applies while the product is still at that version, " +
+                      "otherwise it is reported as a conflict. A product id may appear only once per batch; " +
+                      "later operations on the same id are reported as invalid."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; inspect per-item results"),
+        @ApiResponse(responseCode = "400", description = "Malformed or oversized batch", content = @Content)
+    })
+    public ResponseEntity<ProductBatchResponse> batchProducts(
+            @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Operations to apply") ProductBatchRequest request) {
+        if (request.operations() == null) {
+            throw new IllegalArgumentException("Batch operations are required");
         }
+        List<ProductBatchItemResult> results = productService.executeBatch(request.operations().stream()
+                .map(ProductBatchRequest.Operation::toApplicationOperation)
+                .toList());
+        return ResponseEntity.ok(ProductBatchResponse.of(results));
+    }
+
+    @PostMapping("/{id}/stock")
+    @Operation(
+        summary = "Adjust product stock",
+        description = "Atomically adds delta (negative to take stock) to the quantity and re-derives inventoryStatus. " +
+                      "The quantity never drops below zero."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock adjusted"),
+        @ApiResponse(responseCode = "400", description = "Invalid delta or id", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Not enough stock; the body reports the current quantity")
+    })
+    public ResponseEntity<StockAdjustmentResult> adjustStock(
+            @PathVariable @Parameter(description = "Product ID") String id,
+            @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Quantity change") StockAdjustment adjustment) {
+        if (adjustment.id() != null && !adjustment.id().equals(id)) {
+            throw new IllegalArgumentException("Product id does not match the path");
+        }
+        StockAdjustmentResult result = productService.adjustStock(id, adjustment.delta());
+        HttpStatus status = switch (result.outcome()) {
+            case ADJUSTED -> HttpStatus.OK;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INSUFFICIENT_STOCK -> HttpStatus.CONFLICT;
+            case INVALID -> HttpStatus.BAD_REQUEST;
+        };
+        return ResponseEntity.status(status).body(result);
+    }
+
+    @PostMapping("/stock:batch")
+    @Operation(
+        summary = "Adjust stock of many products",
+        description = "Applies all adjustments in one statement. Entries for the same product are summed and succeed or " +
+                      "fail together; results are returned in request order."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; inspect per-item results"),
+        @ApiResponse(responseCode = "400", description = "Malformed or oversized batch", content = @Content)
+    })
+    public ResponseEntity<StockAdjustmentResponse> adjustStockBatch(
+            @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Adjustments to apply") StockAdjustmentRequest request) {
+        if (request.adjustments() == null) {
+            throw new IllegalArgumentException("Stock adjustments are required");
+        }
+        return ResponseEntity.ok(StockAdjustmentResponse.of(productService.adjustStock(request.adjustments())));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update product", description = "Updates an existing product")
+    @Operation(
+        summary = "Update product",
+        description = "Updates an existing product. Pass the ETag as If-Match, or the version in the body, to have the " +
+                      "update rejected when someone else changed the product since it was read."
+    )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Product updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
-        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Body version is stale, or the code is taken", content = @Content),
+        @ApiResponse(responseCode = "412", description = "If-Match does not name the current version", content = @Content)
     })
     public ResponseEntity<ProductDto> updateProduct(
             @PathVariable @Parameter(description = "Product ID") String id, 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Parameter(description = "ETag of the version the update is based on") String ifMatch,
             @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Updated product information") ProductDto productDto) {
         try {
             com.example.application.product.dto.ProductDTO applicationDto = productDto.toApplicationDto();
             if (applicationDto.getId() == null) {
                 applicationDto.setId(id);
             }
+            // If-Match: * only requires the product to exist, which any update does
+            if (ifMatch != null && !ifMatch.trim().equals("*")) {
+                Long version = versionFromEtag(id, ifMatch);
+                if (version == null) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+                applicationDto.setVersion(version);
+            }
             
             com.example.application.product.dto.ProductDTO updatedDto = productService.update(applicationDto);
-            return ResponseEntity.ok(ProductDto.fromApplicationDto(updatedDto));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.ok()
+                    .eTag(productEtag(id, updatedDto.getVersion()))
+                    .body(ProductDto.fromApplicationDto(updatedDto));
+        } catch (ProductVersionConflictException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(productEtag(id, e.getCurrentVersion())).build();
         }
     }
 
+    @PatchMapping(path = "/{id}", consumes = { MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @Operation(
+        summary = "Patch product",
+        description = "Applies a JSON Merge Patch (RFC 7396): only the fields present in the body are validated and written. " +
+                      "Read-only fields (image, imageUrl, imageHash, createdAt, updatedAt, version) are ignored."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product patched successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid field or value", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Code already taken", content = @Content)
+    })
+    public ResponseEntity<ProductDto> patchProduct(
+            @PathVariable @Parameter(description = "Product ID") String id,
+            @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields to change; null clears optional fields") JsonNode body) {
+        com.example.application.product.dto.ProductDTO patched = productService.patch(id, toPatch(id, body));
+        return ResponseEntity.ok(ProductDto.fromApplicationDto(patched));
+    }
+
+    private static ProductPatch toPatch(String id, JsonNode body) {
+        if (!body.isObject()) {
+            throw new IllegalArgumentException("Patch body must be a JSON object");
+        }
+        ProductPatch patch = new ProductPatch();
+        body.fields().forEachRemaining(entry -> {
+            String property = entry.getKey();
+            JsonNode value = entry.getValue();
+            if (PATCH_READ_ONLY_PROPERTIES.contains(property)) {
+                return;
+            }
+            if (property.equals("id")) {
+                if (!value.isNull() && !value.asText().equals(id)) {
+                    throw new IllegalArgumentException("Product id cannot be changed");
+                }
+                return;
+            }
+            ProductPatch.Field field = ProductPatch.Field.fromProperty(property);
+            patch.set(field, patchValue(field, value));
+        });
+        return patch;
+    }
+
+    private static Object patchValue(ProductPatch.Field field, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (field.type() == String.class && value.isTextual()) {
+            return value.textValue();
+        }
+        if (field.type() == Double.class && value.isNumber()) {
+            return value.doubleValue();
+        }
+        if (field.type() == Integer.class && value.canConvertToInt() && value.isIntegralNumber()) {
+            return value.intValue();
+        }
+        if (field.type() == Product.InventoryStatus.class && value.isTextual()) {
+            return Product.InventoryStatus.parse(value.textValue());
+        }
+        throw new IllegalArgumentException("Product " + field.property() + " has an invalid value");
+    }
+
+    @GetMapping("/{id}/image")
+    @Operation(
+        summary = "Get product image",
+        description = "Returns the raw image bytes. Supports If-None-Match/If-Modified-Since (304) and Range requests (206). " +
+                      "When requested through the versioned imageUrl the response may be cached indefinitely."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Image returned"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range returned", content = @Content),
+        @ApiResponse(responseCode = "304", description = "Image not modified", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Product has no image", content = @Content)
+    })
+    public ResponseEntity<Resource> getProductImage(
+            @PathVariable @Parameter(description = "Product ID") String id,
+            @RequestParam(required = false) @Parameter(description = "Image version from imageUrl") String v,
+            WebRequest webRequest) {
+        Optional<ProductImageMetadata> metadata = productService.getImageMetadata(id);
+        if (metadata.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + metadata.get().sha256() + "\"";
+        CacheControl cacheControl = v != null && v.equals(ProductDto.imageVersion(metadata.get().sha256()))
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        if (webRequest.checkNotModified(etag, metadata.get().updatedAt())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        Optional<ProductImage> image = productService.getImage(id);
+        if (image.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Images stored before uploads were sniffed may carry any declared type; never serve
+        // those as something a browser would render from this origin
+        String contentType = image.get().metadata().contentType();
+        if (!ProductImage.RASTER_CONTENT_TYPES.contains(contentType)) {
+            contentType = ProductImage.DEFAULT_CONTENT_TYPE;
+        }
+        // Returning a Resource lets Spring MVC answer Range requests with 206 partial content
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .eTag("\"" + image.get().metadata().sha256() + "\"")
+                .lastModified(image.get().metadata().updatedAt())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(CONTENT_TYPE_OPTIONS_HEADER, "nosniff")
+                .body(new ByteArrayResource(image.get().content()));
+    }
+
+    @PutMapping("/{id}/image")
+    @Operation(summary = "Replace product image",
+               description = "Stores the raw request body as the product image. The content type is detected from the " +
+                             "bytes, whatever the request declares; only PNG, JPEG, GIF and WebP pictures are accepted.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Image stored"),
+        @ApiResponse(responseCode = "400", description = "Empty, oversized or non-raster image", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content)
+    })
+    public ResponseEntity<Void> putProductImage(
+            @PathVariable @Parameter(description = "Product ID") String id,
+            @RequestBody byte[] content) {
+        ProductImageMetadata metadata = productService.putImage(id, content);
+        return ResponseEntity.noContent()
+                .eTag("\"" + metadata.sha256() + "\"")
+                .location(URI.create(ProductDto.imageUrl(id, metadata.sha256())))
+                .build();
+    }
+
+    @DeleteMapping("/{id}/image")
+    @Operation(summary = "Delete product image", description = "Removes the image of a product")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Image deleted"),
+        @ApiResponse(responseCode = "400", description = "Invalid product ID", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Product has no image", content = @Content)
+    })
+    public ResponseEntity<Void> deleteProductImage(@PathVariable @Parameter(description = "Product ID") String id) {
+        productService.deleteImage(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete product", description = "Deletes a product by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Product deleted successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid product ID", content = @Content),
         @ApiResponse(responseCode = "404", description = "Product not found", content = @Content)
     })
     public ResponseEntity<Void> deleteProduct(@PathVariable @Parameter(description = "Product ID to delete") String id) {
-        try {
-            productService.deleteById(id);
-            return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
-        }
+        productService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ProductFilter filter(String category, String inventoryStatus) {
+        return new ProductFilter(category, inventoryStatus != null ? Product.InventoryStatus.parse(inventoryStatus) : null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.infrastructure.product.web;
+
+import com.example.application.product.exception.DuplicateProductException;
+import com.example.application.product.exception.InvalidProductCursorException;
+import com.example.application.product.exception.ProductChangesExpiredException;
+import com.example.application.product.exception.ProductNotFoundException;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.domain.product.InvalidInventoryStatusException;
+import com.example.domain.product.InvalidProductException;
+import com.example.domain.product.InvalidProductIdException;
+import com.example.domain.product.ProductException;
+import com.example.infrastructure.product.dto.ProblemResponse;
+
+/**
+ * Problem responses of the product API, shared by the servlet and reactive adapters. Errors are
+ * classified by exception type; the responses that never vary are built once.
+ */
+final class ProductProblems {
+
+    static final ProblemResponse VALIDATION_ERROR = ProblemResponse.of(400, "VALIDATION_ERROR",
+        "Invalid request", null);
+    static final ProblemResponse INVALID_UUID_FORMAT = ProblemResponse.of(400, "INVALID_UUID_FORMAT",
+        "Invalid product id", "ID must be in UUID format (e.g., 123e4567-e89b-12d3-a456-426614174000)");
+    static final ProblemResponse INVALID_INVENTORY_STATUS = ProblemResponse.of(400, "INVALID_INVENTORY_STATUS",
+        "Invalid inventory status", "Invalid inventory status. Valid values are: INSTOCK, LOWSTOCK, OUTOFSTOCK");
+    static final ProblemResponse INVALID_CURSOR = ProblemResponse.of(400, "INVALID_CURSOR",
+        "Invalid cursor", "The cursor is not valid for this query; start again from the first page");
+    static final ProblemResponse UNREADABLE_BODY = ProblemResponse.of(400, "UNREADABLE_BODY",
+        "Unreadable request body", "Invalid request body format or content");
+    static final ProblemResponse PRODUCT_NOT_FOUND = ProblemResponse.of(404, "PRODUCT_NOT_FOUND",
+        "Product not found", null);
+    static final ProblemResponse DUPLICATE_PRODUCT_CODE = ProblemResponse.of(409, "DUPLICATE_PRODUCT_CODE",
+        "Duplicate product", "A product with this code already exists");
+    static final ProblemResponse DUPLICATE_PRODUCT_ID = ProblemResponse.of(409, "DUPLICATE_PRODUCT_ID",
+        "Duplicate product", "A product with this id already exists");
+    static final ProblemResponse VERSION_CONFLICT = ProblemResponse.of(409, "VERSION_CONFLICT",
+        "Version conflict", "The product was modified concurrently; reload it and retry");
+    static final ProblemResponse CHANGES_EXPIRED = ProblemResponse.of(410, "CHANGES_EXPIRED",
+        "Full resync required", "Deletions after this watermark are no longer kept; sync again without 'since'");
+    static final ProblemResponse DATABASE_BUSY = ProblemResponse.of(503, "DATABASE_BUSY",
+        "Service busy", "The service is busy; retry shortly");
+    static final ProblemResponse INTERNAL_ERROR = ProblemResponse.of(500, "INTERNAL_ERROR",
+        "Internal error", "An unexpected error occurred");
+
+    private ProductProblems() {
+    }
+
+    static ProblemResponse of(ProductException exception) {
+        return switch (exception) {
+            case InvalidProductException invalid -> VALIDATION_ERROR.withDetail(invalid.getMessage()).withViolations(invalid.messages());
+            case InvalidProductIdException invalidId -> INVALID_UUID_FORMAT;
+            case InvalidInventoryStatusException invalidStatus -> INVALID_INVENTORY_STATUS;
+            case InvalidProductCursorException invalidCursor -> INVALID_CURSOR;
+            case ProductNotFoundException notFound -> PRODUCT_NOT_FOUND.withDetail(notFound.getMessage());
+            case DuplicateProductException duplicate -> duplicate.getProperty() == DuplicateProductException.Property.CODE
+                ? DUPLICATE_PRODUCT_CODE
+                : DUPLICATE_PRODUCT_ID;
+            case ProductVersionConflictException conflict -> VERSION_CONFLICT.withCurrentVersion(conflict.getCurrentVersion());
+            case ProductChangesExpiredException expired -> CHANGES_EXPIRED;
+            default -> VALIDATION_ERROR.withDetail(exception.getMessage());
+        };
+    }
+
+    /** Any other rejected argument: the message is written for clients and passed on as is. */
+    static ProblemResponse of(IllegalArgumentException exception) {
+        return exception instanceof ProductException productException
+            ? of(productException)
+            : VALIDATION_ERROR.withDetail(exception.getMessage());
+    }
+}
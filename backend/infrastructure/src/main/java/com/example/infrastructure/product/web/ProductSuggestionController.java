@@ -0,0 +1,54 @@
+package com.example.infrastructure.product.web;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.application.product.dto.ProductSuggestion;
+import com.example.application.product.port.in.SuggestProductsUseCase;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Typeahead endpoint, answered by the in-memory search index. Present only while the index
+ * is enabled.
+ */
+@RestController
+@RequestMapping("/api/products")
+@ConditionalOnProperty(prefix = "products.search-index", name = "enabled", matchIfMissing = true)
+@Profile("!reactive")
+@Tag(name = "Product", description = "Product management API")
+public class ProductSuggestionController {
+
+    private final SuggestProductsUseCase suggestProductsUseCase;
+
+    public ProductSuggestionController(SuggestProductsUseCase suggestProductsUseCase) {
+        this.suggestProductsUseCase = suggestProductsUseCase;
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+        summary = "Suggest products while typing",
+        description = "Products matching every word of the text, most relevant first. The last word may be " +
+                      "incomplete and words may contain small typos. Served from memory, not the database."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions (possibly none)"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public List<ProductSuggestion> suggest(
+            @RequestParam @Parameter(description = "Text typed so far, e.g. 'bamb wat'") String q,
+            @RequestParam(defaultValue = "" + SuggestProductsUseCase.DEFAULT_LIMIT)
+            @Parameter(description = "Most suggestions to return (1-" + SuggestProductsUseCase.MAX_LIMIT + ")") int limit) {
+        return suggestProductsUseCase.suggest(q, limit);
+    }
+}
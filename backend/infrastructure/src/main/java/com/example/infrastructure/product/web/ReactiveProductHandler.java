@@ -0,0 +1,102 @@
+package com.example.infrastructure.product.web;
+
+import java.net.URI;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.port.in.ReactiveProductUseCase;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.infrastructure.product.dto.ProblemResponse;
+import com.example.infrastructure.product.dto.ProductDto;
+
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux routes for the core product endpoints, served without a thread per request when
+ * the {@code reactive} profile is active. {@code GET /api/products} streams the catalog: as
+ * NDJSON when asked for {@code application/x-ndjson}, otherwise as one JSON array, reading
+ * rows from the database only as fast as the client consumes them.
+ */
+public class ReactiveProductHandler {
+
+    static final String BASE_PATH = "/api/products";
+
+    private final ReactiveProductUseCase products;
+
+    public ReactiveProductHandler(ReactiveProductUseCase products) {
+        this.products = products;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+            .GET(BASE_PATH, this::streamProducts)
+            .GET(BASE_PATH + "/{id}", this::getProduct)
+            .POST(BASE_PATH, this::createProduct)
+            .PUT(BASE_PATH + "/{id}", this::updateProduct)
+            .DELETE(BASE_PATH + "/{id}", this::deleteProduct)
+            .onError(IllegalArgumentException.class, (e, request) -> problem(ProductProblems.of((IllegalArgumentException) e)))
+            .onError(ServerWebInputException.class, (e, request) -> problem(ProductProblems.UNREADABLE_BODY))
+            .build();
+    }
+
+    Mono<ServerResponse> streamProducts(ServerRequest request) {
+        // Deferred so that an invalid filter reaches the error routes instead of escaping the handler
+        return Mono.defer(() -> {
+            ProductFilter filter = filter(request.queryParam("category").orElse(null), request.queryParam("inventoryStatus").orElse(null));
+            Flux<ProductDto> body = JdkFlowAdapter.flowPublisherToFlux(products.streamAll(filter)).map(ProductDto::fromApplicationDto);
+            MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+            return ServerResponse.ok().contentType(contentType).body(body, ProductDto.class);
+        });
+    }
+
+    Mono<ServerResponse> getProduct(ServerRequest request) {
+        return Mono.fromCompletionStage(() -> products.getById(request.pathVariable("id")))
+            .flatMap(product -> product
+                .map(found -> ServerResponse.ok().bodyValue(ProductDto.fromApplicationDto(found)))
+                .orElseGet(() -> ServerResponse.notFound().build()));
+    }
+
+    Mono<ServerResponse> createProduct(ServerRequest request) {
+        return request.bodyToMono(ProductDto.class)
+            .flatMap(productDto -> Mono.fromCompletionStage(() -> products.create(productDto.toApplicationDto())))
+            .flatMap(created -> ServerResponse.created(URI.create(BASE_PATH + "/" + created.getId()))
+                .bodyValue(ProductDto.fromApplicationDto(created)));
+    }
+
+    Mono<ServerResponse> updateProduct(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return request.bodyToMono(ProductDto.class)
+            .flatMap(productDto -> {
+                ProductDTO applicationDto = productDto.toApplicationDto();
+                if (applicationDto.getId() == null) {
+                    applicationDto.setId(id);
+                }
+                return Mono.fromCompletionStage(() -> products.update(applicationDto));
+            })
+            .flatMap(updated -> ServerResponse.ok().bodyValue(ProductDto.fromApplicationDto(updated)));
+    }
+
+    Mono<ServerResponse> deleteProduct(ServerRequest request) {
+        return Mono.fromCompletionStage(() -> products.deleteById(request.pathVariable("id")))
+            .then(ServerResponse.noContent().build());
+    }
+
+    private static Mono<ServerResponse> problem(ProblemResponse problem) {
+        return ServerResponse.status(problem.status()).contentType(MediaType.APPLICATION_PROBLEM_JSON).bodyValue(problem);
+    }
+
+    private static ProductFilter filter(String category, String inventoryStatus) {
+        return new ProductFilter(category, inventoryStatus != null ? Product.InventoryStatus.parse(inventoryStatus) : null);
+    }
+}
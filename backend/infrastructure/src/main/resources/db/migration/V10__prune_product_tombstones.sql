@@ -0,0 +1,11 @@
+-- Tombstones are kept for a retention period only (products.changes.tombstone-retention).
+-- The highest change_xid pruned so far is recorded here: a change feed client whose watermark
+-- is at or below it may have missed deletions and must resync from scratch.
+CREATE TABLE IF NOT EXISTS product_tombstone_pruning (
+    singleton BOOLEAN PRIMARY KEY DEFAULT true CHECK (singleton),
+    pruned_through BIGINT NOT NULL
+);
+
+INSERT INTO product_tombstone_pruning (singleton, pruned_through) VALUES (true, 0) ON CONFLICT DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at ON product_tombstones(deleted_at);
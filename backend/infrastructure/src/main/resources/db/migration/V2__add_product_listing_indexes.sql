@@ -0,0 +1,10 @@
+-- Composite indexes backing keyset pagination: (sort key, id) lets Postgres seek
+-- straight to the cursor position instead of scanning and discarding earlier rows.
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON products(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_updated_at_id ON products(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products(name, id);
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products(price, id);
+
+-- Filtered listings
+CREATE INDEX IF NOT EXISTS idx_products_category_created_at_id ON products(category, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_inventory_status ON products(inventory_status);
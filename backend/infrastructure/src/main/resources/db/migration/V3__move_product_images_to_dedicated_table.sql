@@ -0,0 +1,21 @@
+-- Image bytes move out of the products row so listings and detail reads never drag them along.
+-- The row keeps only the SHA-256 of its image, used for image URLs and ETags.
+CREATE TABLE IF NOT EXISTS product_images (
+    product_id UUID PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    content BYTEA NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    content_length INTEGER NOT NULL,
+    sha256 CHAR(64) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS image_hash CHAR(64);
+
+INSERT INTO product_images(product_id, content, content_type, content_length, sha256, updated_at)
+SELECT id, image, 'application/octet-stream', length(image), encode(sha256(image), 'hex'), updated_at
+FROM products
+WHERE image IS NOT NULL AND length(image) > 0;
+
+UPDATE products p SET image_hash = i.sha256 FROM product_images i WHERE i.product_id = p.id;
+
+ALTER TABLE products DROP COLUMN IF EXISTS image;
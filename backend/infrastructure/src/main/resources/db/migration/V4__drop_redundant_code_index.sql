@@ -0,0 +1,4 @@
+-- The UNIQUE constraint on products.code already maintains the index products_code_key,
+-- which serves code lookups and uniqueness checks. idx_products_code duplicated it and
+-- only added write amplification.
+DROP INDEX IF EXISTS idx_products_code;
@@ -0,0 +1,41 @@
+-- Publish every committed change to products on the product_changed channel so that each
+-- application node can evict its cached copies. Statement-level triggers send one
+-- notification per statement: a comma-separated list of ids, or '*' when a statement
+-- touches so many rows that listeners should simply flush everything.
+CREATE OR REPLACE FUNCTION notify_product_changed() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+    changed_ids TEXT[];
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT array_agg(id::text) INTO changed_ids FROM (SELECT id FROM old_rows LIMIT 101) changed;
+    ELSE
+        SELECT array_agg(id::text) INTO changed_ids FROM (SELECT id FROM new_rows LIMIT 101) changed;
+    END IF;
+
+    IF changed_ids IS NULL THEN
+        RETURN NULL;
+    ELSIF cardinality(changed_ids) > 100 THEN
+        PERFORM pg_notify('product_changed', '*');
+    ELSE
+        PERFORM pg_notify('product_changed', array_to_string(changed_ids, ','));
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- Transition tables are only allowed on single-event triggers, hence one trigger per operation
+DROP TRIGGER IF EXISTS products_notify_insert ON products;
+CREATE TRIGGER products_notify_insert AFTER INSERT ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_product_changed();
+
+DROP TRIGGER IF EXISTS products_notify_update ON products;
+CREATE TRIGGER products_notify_update AFTER UPDATE ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_product_changed();
+
+DROP TRIGGER IF EXISTS products_notify_delete ON products;
+CREATE TRIGGER products_notify_delete AFTER DELETE ON products
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_product_changed();
@@ -0,0 +1,54 @@
+-- Change feed support. Every product row carries the id of the transaction that last wrote
+-- it, and deletions leave a tombstone stamped the same way. A reader can then ask for every
+-- change from transaction X up to the oldest transaction still running, a range that can no
+-- longer grow once read. Ordering by commit time or a sequence would not give that guarantee,
+-- since concurrent transactions commit out of order.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION stamp_product_change() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS products_stamp_change ON products;
+CREATE TRIGGER products_stamp_change BEFORE INSERT OR UPDATE ON products
+    FOR EACH ROW EXECUTE FUNCTION stamp_product_change();
+
+CREATE INDEX IF NOT EXISTS idx_products_change_xid_id ON products(change_xid, id);
+
+CREATE TABLE IF NOT EXISTS product_tombstones (
+    id UUID PRIMARY KEY,
+    change_xid BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_change_xid_id ON product_tombstones(change_xid, id);
+
+-- Deleting records a tombstone; inserting the id again retires it, so an id is never both
+-- a live row and a tombstone
+CREATE OR REPLACE FUNCTION record_product_tombstones() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO product_tombstones (id, change_xid, deleted_at)
+        SELECT id, pg_current_xact_id()::text::bigint, localtimestamp FROM old_rows
+        ON CONFLICT (id) DO UPDATE SET change_xid = EXCLUDED.change_xid, deleted_at = EXCLUDED.deleted_at;
+    ELSE
+        DELETE FROM product_tombstones t USING new_rows n WHERE t.id = n.id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS products_record_tombstones ON products;
+CREATE TRIGGER products_record_tombstones AFTER DELETE ON products
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_product_tombstones();
+
+DROP TRIGGER IF EXISTS products_retire_tombstones ON products;
+CREATE TRIGGER products_retire_tombstones AFTER INSERT ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_product_tombstones();
@@ -0,0 +1,18 @@
+-- Optimistic concurrency. Every write of a row increments its version, whichever statement
+-- performs it (updates, upserts, stock adjustments, image changes, CSV merges), so a writer
+-- holding version N can update with "WHERE version = N" and learn from zero affected rows
+-- that someone else got there first. No row is locked between the read and the write.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION stamp_product_change() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    IF TG_OP = 'UPDATE' THEN
+        NEW.version := OLD.version + 1;
+    ELSE
+        NEW.version := 0;
+    END IF;
+    RETURN NEW;
+END;
+$$;
@@ -0,0 +1,12 @@
+-- Full-text search document, maintained by Postgres on every write. Names and codes
+-- weigh most, then the category, then the description.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(code, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(category, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+
+-- Inverted index answering @@ matches without touching non-matching rows
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
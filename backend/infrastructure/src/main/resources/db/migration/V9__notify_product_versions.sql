@@ -0,0 +1,25 @@
+-- Inserted and updated rows are now announced as 'id:version', so a listener can tell the echo
+-- of a write it has already seen (its cached copy is at that version or newer) from a change it
+-- has not. Deleted rows have no version left and are still announced by id alone, meaning
+-- "evict unconditionally". At 100 entries the payload stays well under the 8000-byte limit.
+CREATE OR REPLACE FUNCTION notify_product_changed() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+    changes TEXT[];
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT array_agg(id::text) INTO changes FROM (SELECT id FROM old_rows LIMIT 101) changed;
+    ELSE
+        SELECT array_agg(id::text || ':' || version) INTO changes FROM (SELECT id, version FROM new_rows LIMIT 101) changed;
+    END IF;
+
+    IF changes IS NULL THEN
+        RETURN NULL;
+    ELSIF cardinality(changes) > 100 THEN
+        PERFORM pg_notify('product_changed', '*');
+    ELSE
+        PERFORM pg_notify('product_changed', array_to_string(changes, ','));
+    END IF;
+    RETURN NULL;
+END;
+$$;
@@ -0,0 +1,109 @@
+package com.example.infrastructure.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControlledDataSourceTest {
+
+    private DataSource pool;
+    private SimpleMeterRegistry registry;
+    private AdmissionControlledDataSource gate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        registry = new SimpleMeterRegistry();
+        gate = new AdmissionControlledDataSource(pool, 2, Duration.ofMillis(100), registry);
+    }
+
+    @Test
+    void shouldReturnThePermitOnceWhenTheConnectionIsClosed() throws SQLException {
+        // Given
+        Connection connection = gate.getConnection();
+        assertThat(gate.activePermits()).isEqualTo(1);
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertThat(gate.activePermits()).isZero();
+        assertThat(registry.get("jdbc.gate.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldTimeOutWhenAllPermitsAreTaken() throws SQLException {
+        // Given
+        gate.getConnection();
+        gate.getConnection();
+
+        // When / Then
+        assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(registry.get("jdbc.gate.timeouts").counter().count()).isEqualTo(1);
+        assertThat(registry.get("jdbc.gate.wait").timer().max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void shouldReleaseThePermitWhenThePoolFails() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When / Then
+        assertThatThrownBy(gate::getConnection).hasMessage("pool exhausted");
+        assertThat(gate.activePermits()).isZero();
+    }
+
+    @Test
+    void shouldAdmitWaitersInArrivalOrder() throws Exception {
+        // Given
+        gate = new AdmissionControlledDataSource(pool, 1, Duration.ofSeconds(5), registry);
+        Connection held = gate.getConnection();
+        List<Integer> admitted = new CopyOnWriteArrayList<>();
+
+        // When
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<?>[] waiters = new CompletableFuture<?>[5];
+            for (int i = 0; i < waiters.length; i++) {
+                int caller = i;
+                waiters[i] = CompletableFuture.runAsync(() -> {
+                    try (Connection ignored = gate.getConnection()) {
+                        admitted.add(caller);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor);
+                while (gate.waitingCallers() < i + 1) {
+                    Thread.onSpinWait();
+                }
+            }
+            held.close();
+            CompletableFuture.allOf(waiters).get(5, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(admitted).containsExactly(0, 1, 2, 3, 4);
+        assertThat(gate.activePermits()).isZero();
+    }
+}
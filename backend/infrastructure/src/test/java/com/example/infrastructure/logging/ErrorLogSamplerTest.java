@@ -0,0 +1,36 @@
+package com.example.infrastructure.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class ErrorLogSamplerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ErrorLogSampler sampler = new ErrorLogSampler(Duration.ofSeconds(10), nanos::get);
+
+    @Test
+    void shouldLogTheFirstOccurrenceThenOncePerIntervalWithTheSuppressedCount() {
+        // When / Then: the first one goes through, the repeats within the interval do not
+        assertThat(sampler.sample("VALIDATION_ERROR")).isZero();
+        assertThat(sampler.sample("VALIDATION_ERROR")).isEqualTo(ErrorLogSampler.SUPPRESS);
+        assertThat(sampler.sample("VALIDATION_ERROR")).isEqualTo(ErrorLogSampler.SUPPRESS);
+
+        // When / Then: the next one after the interval reports what was skipped
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(sampler.sample("VALIDATION_ERROR")).isEqualTo(2);
+        assertThat(sampler.sample("VALIDATION_ERROR")).isEqualTo(ErrorLogSampler.SUPPRESS);
+    }
+
+    @Test
+    void shouldSampleEachKindOfErrorSeparately() {
+        // Given
+        sampler.sample("VALIDATION_ERROR");
+
+        // When / Then
+        assertThat(sampler.sample("DATABASE_BUSY")).isZero();
+        assertThat(sampler.sample("VALIDATION_ERROR")).isEqualTo(ErrorLogSampler.SUPPRESS);
+    }
+}
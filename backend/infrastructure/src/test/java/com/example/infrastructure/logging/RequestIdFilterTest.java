@@ -0,0 +1,61 @@
+package com.example.infrastructure.logging;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    void shouldExposeTheCallersRequestIdToLogsAndEchoIt() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/products");
+        request.addHeader(RequestIdFilter.HEADER, "checkout-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seenByHandler = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, chainRecording(seenByHandler));
+
+        // Then
+        assertThat(seenByHandler).hasValue("checkout-42");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo("checkout-42");
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void shouldReplaceMissingOrUnsafeRequestIds() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader(RequestIdFilter.HEADER, "forged\nWARN fake log line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seenByHandler = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, chainRecording(seenByHandler));
+
+        // Then
+        assertThat(seenByHandler.get()).matches("[0-9a-f]{1,16}");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo(seenByHandler.get());
+    }
+
+    private static MockFilterChain chainRecording(AtomicReference<String> requestId) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                requestId.set(MDC.get(RequestIdFilter.MDC_KEY));
+            }
+        });
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.infrastructure.product.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductRevision;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.Product.InventoryStatus;
+import com.example.domain.product.ProductId;
+
+class CachingProductRepositoryTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ProductRepository delegate;
+    private ProductCache cache;
+    private CachingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ProductRepository.class);
+        cache = new ProductCache(1_000, 1_000_000, Duration.ofMinutes(10), Duration.ofSeconds(30), nanos::get);
+        repository = new CachingProductRepository(delegate, cache);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromMemory() {
+        // Given
+        Product product = product("CACHE-1");
+        when(delegate.findById(product.getId())).thenReturn(Optional.of(product));
+
+        // When
+        Optional<Product> first = repository.findById(product.getId());
+        Optional<Product> second = repository.findById(product.getId());
+
+        // Then
+        assertThat(first).get().extracting(Product::getCode).isEqualTo("CACHE-1");
+        assertThat(second).get().extracting(Product::getCode).isEqualTo("CACHE-1");
+        verify(delegate, times(1)).findById(product.getId());
+        assertThat(cache.nativeCache().stats().hitCount()).isEqualTo(1);
+        assertThat(cache.nativeCache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheFacetsUntilAnyProductChanges() {
+        // Given
+        ProductFacetRequest request = new ProductFacetRequest(ProductFilter.none());
+        ProductFacets facets = new ProductFacets(1, Map.of("Books", 1L), Map.of(), Map.of(), List.of());
+        Product product = product("CACHE-1");
+        when(delegate.countFacets(request)).thenReturn(facets);
+        when(delegate.deleteById(product.getId())).thenReturn(true);
+
+        // When
+        repository.countFacets(request);
+        repository.countFacets(request);
+        repository.deleteById(product.getId());
+        ProductFacets afterWrite = repository.countFacets(request);
+
+        // Then
+        assertThat(afterWrite).isEqualTo(facets);
+        verify(delegate, times(2)).countFacets(request);
+    }
+
+    @Test
+    void shouldNotLeakMutationsIntoTheCache() {
+        // Given
+        Product product = product("CACHE-1");
+        when(delegate.findById(product.getId())).thenReturn(Optional.of(product));
+
+        // When
+        repository.findById(product.getId()).get().setName("Mutated");
+
+        // Then
+        assertThat(repository.findById(product.getId())).get().extracting(Product::getName).isEqualTo("Cached product");
+    }
+
+    @Test
+    void shouldAnswerRevisionLookupsFromCachedEntries() {
+        // Given
+        Product product = product("CACHE-1");
+        product.setVersion(7);
+        ProductId uncached = ProductId.newId();
+        when(delegate.findById(product.getId())).thenReturn(Optional.of(product));
+        when(delegate.findRevisionById(uncached)).thenReturn(Optional.of(new ProductRevision(1, 42L)));
+        repository.findById(product.getId());
+
+        // When & Then
+        assertThat(repository.findRevisionById(product.getId())).contains(new ProductRevision(7, product.getUpdatedAt()));
+        assertThat(repository.findRevisionById(uncached)).contains(new ProductRevision(1, 42L));
+        verify(delegate, never()).findRevisionById(product.getId());
+    }
+
+    @Test
+    void shouldCacheMissingIdsForTheNegativeTtl() {
+        // Given
+        ProductId id = ProductId.newId();
+        when(delegate.findById(id)).thenReturn(Optional.empty());
+
+        // When
+        repository.findById(id);
+        repository.findById(id);
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        repository.findById(id);
+
+        // Then
+        verify(delegate, times(2)).findById(id);
+    }
+
+    @Test
+    void shouldEvictOnWriteAndDelete() {
+        // Given
+        Product product = product("CACHE-1");
+        Product renamed = product("CACHE-2");
+        renamed.setId(product.getId());
+        when(delegate.findById(product.getId())).thenReturn(Optional.of(product), Optional.of(renamed), Optional.empty());
+        when(delegate.update(renamed, null)).thenReturn(Optional.of(renamed));
+        when(delegate.deleteById(product.getId())).thenReturn(true);
+        repository.findById(product.getId());
+
+        // When
+        repository.update(renamed, null);
+        Optional<Product> afterUpdate = repository.findById(product.getId());
+        repository.deleteById(product.getId());
+        Optional<Product> afterDelete = repository.findById(product.getId());
+
+        // Then
+        assertThat(afterUpdate).get().extracting(Product::getCode).isEqualTo("CACHE-2");
+        assertThat(afterDelete).isEmpty();
+        verify(delegate, times(3)).findById(product.getId());
+    }
+
+    @Test
+    void shouldNotCacheWritesThatFinishOutOfCommitOrder() {
+        // Given: the newer write's result is handled before the older one's
+        Product older = product("CACHE-1");
+        older.setVersion(1);
+        Product newer = product("CACHE-2");
+        newer.setId(older.getId());
+        newer.setVersion(2);
+        when(delegate.update(newer, null)).thenReturn(Optional.of(newer));
+        when(delegate.update(older, null)).thenReturn(Optional.of(older));
+        when(delegate.findById(older.getId())).thenReturn(Optional.of(newer));
+
+        // When
+        repository.update(newer, null);
+        repository.update(older, null);
+
+        // Then: nothing written was cached, so the next read goes to the database
+        assertThat(cache.getIfPresent(older.getId())).isNull();
+        assertThat(repository.findById(older.getId())).get().extracting(Product::getVersion).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldEvictBulkWrittenIds() {
+        // Given
+        Product product = product("CACHE-1");
+        when(delegate.findById(product.getId())).thenReturn(Optional.empty(), Optional.of(product));
+        repository.findById(product.getId());
+
+        // When
+        repository.insertAll(List.of(product));
+
+        // Then
+        assertThat(repository.findById(product.getId())).isPresent();
+    }
+
+    @Test
+    void shouldBoundEntriesByEstimatedWeight() {
+        // Given
+        cache = new ProductCache(1_000, 10_000, Duration.ofMinutes(10), Duration.ofSeconds(30), nanos::get);
+        Product heavy = product("HEAVY");
+        heavy.setImage(new byte[9_500]);
+
+        // When
+        load(heavy);
+        load(product("LIGHT-1"));
+        load(product("LIGHT-2"));
+        load(product("LIGHT-3"));
+        cache.nativeCache().cleanUp();
+
+        // Then
+        assertThat(cache.nativeCache().policy().eviction().get().weightedSize().getAsLong()).isLessThanOrEqualTo(10_000);
+        assertThat(cache.nativeCache().stats().evictionCount()).isPositive();
+    }
+
+    private void load(Product product) {
+        cache.get(product.getId(), id -> Optional.of(product));
+    }
+
+    private static Product product(String code) {
+        long now = System.currentTimeMillis();
+        return new Product(ProductId.newId(), code, "Cached product", null, null, "Electronics",
+            10.0, 1, "REF", 0, InventoryStatus.INSTOCK, 0, now, now);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.infrastructure.product.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.domain.product.Product;
+import com.example.domain.product.Product.InventoryStatus;
+import com.example.domain.product.ProductId;
+import com.example.infrastructure.product.persistence.PostgresProductRepository;
+import com.example.infrastructure.product.persistence.PostgresTestContainerInitializer;
+import com.example.infrastructure.product.persistence.TestSpringBootApplication;
+
+@SpringBootTest(classes = TestSpringBootApplication.class)
+@Testcontainers
+@ContextConfiguration(
+    initializers = PostgresTestContainerInitializer.class
+)
+class ProductChangeListenerTest {
+
+    // The listener's liveness probe is the only statement that runs exactly 'SELECT 1'
+    private static final String LISTENER_SESSION = "WHERE pid <> pg_backend_pid() AND query = 'SELECT 1'";
+
+    @Autowired
+    private PostgresProductRepository repository;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductCache cache;
+    private ProductChangeListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The test schema is not built by Flyway, so install the notification triggers here
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V5__notify_product_changes.sql")
+            .getContentAsString(StandardCharsets.UTF_8));
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V9__notify_product_versions.sql")
+            .getContentAsString(StandardCharsets.UTF_8));
+        jdbcTemplate.update("DELETE FROM products");
+
+        cache = new ProductCache(1_000, 1_000_000, Duration.ofMinutes(10), Duration.ofMinutes(10));
+        // A dedicated connection, as in production: a pooled one would go back to the pool on
+        // stop, where the reconnect test could kill it from under a later test
+        listener = new ProductChangeListener(() -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()), cache,
+            List.of(), Duration.ofMillis(200), Duration.ofMillis(50), Duration.ofSeconds(1));
+        listener.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void shouldEvictProductsWrittenByAnotherNode() throws Exception {
+        // Given a cached miss on this node
+        Product product = product();
+        awaitListening();
+        assertThat(cache.get(product.getId(), repository::findById)).isEmpty();
+
+        // When another node inserts the product
+        repository.save(product);
+
+        // Then the negative entry is evicted and the next read sees the row
+        assertThat(awaitEviction(product.getId())).isTrue();
+        assertThat(cache.get(product.getId(), repository::findById)).isPresent();
+    }
+
+    @Test
+    void shouldKeepEntriesAlreadyAtTheNotifiedVersion() throws Exception {
+        // Given a product this node wrote and then loaded at its new version
+        Product product = product();
+        Product sentinel = product();
+        awaitListening();
+        cache.get(sentinel.getId(), id -> Optional.empty());
+        repository.save(product);
+        assertThat(cache.get(product.getId(), repository::findById)).isPresent();
+
+        // When its echo has been delivered (notifications arrive in commit order)
+        repository.save(sentinel);
+        assertThat(awaitEviction(sentinel.getId())).isTrue();
+
+        // Then the entry survived, and only a newer version evicts it
+        assertThat(cache.getIfPresent(product.getId())).isPresent();
+        jdbcTemplate.update("UPDATE products SET rating = rating + 1 WHERE id = ?::uuid", product.getId().toString());
+        assertThat(awaitEviction(product.getId())).isTrue();
+    }
+
+    @Test
+    void shouldFlushOnMassChanges() throws Exception {
+        // Given
+        ProductId unrelated = ProductId.newId();
+        awaitListening();
+        cache.get(unrelated, id -> Optional.empty());
+
+        // When
+        for (int i = 0; i < 101; i++) {
+            repository.save(product());
+        }
+        jdbcTemplate.update("UPDATE products SET rating = rating + 1");
+
+        // Then
+        assertThat(awaitEviction(unrelated)).isTrue();
+    }
+
+    @Test
+    void shouldFlushAfterReconnecting() throws Exception {
+        // Given
+        ProductId id = ProductId.newId();
+        awaitListening();
+        cache.get(id, key -> Optional.empty());
+
+        // When the listening connection is killed
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " + LISTENER_SESSION);
+
+        // Then the listener reconnects and drops everything it may have missed
+        assertThat(awaitEviction(id)).isTrue();
+    }
+
+    /** Waits until the listener has completed a poll, i.e. its connect-time flush is behind it. */
+    private void awaitListening() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline && jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity " + LISTENER_SESSION, Long.class) == 0) {
+            Thread.sleep(20);
+        }
+    }
+
+    private boolean awaitEviction(ProductId id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (cache.nativeCache().getIfPresent(id) == null) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static Product product() {
+        long now = System.currentTimeMillis();
+        ProductId id = ProductId.newId();
+        return new Product(id, "NOTIFY-" + id.toString().substring(0, 8), "Listened product", null, null,
+            "Electronics", 10.0, 1, "REF", 0, InventoryStatus.INSTOCK, 0, now, now);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.infrastructure.product.metrics;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.domain.product.Product;
+import com.example.domain.product.Product.InventoryStatus;
+import com.example.domain.product.ProductId;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredProductRepositoryTest {
+
+    private SimpleMeterRegistry registry;
+    private ProductRepository delegate;
+    private MeteredProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        delegate = mock(ProductRepository.class);
+        repository = new MeteredProductRepository(delegate, registry);
+    }
+
+    @Test
+    void shouldTimeEachMethodAndCountTheRowsItReturns() {
+        // Given
+        when(delegate.findPage(any(ProductPageRequest.class))).thenReturn(List.of(product("METER-1"), product("METER-2")));
+
+        // When
+        repository.findPage(ProductPageRequest.firstPage());
+        repository.findPage(ProductPageRequest.firstPage());
+
+        // Then
+        assertThat(registry.get("products.repository").tags("method", "findPage", "exception", "none").timer().count())
+            .isEqualTo(2);
+        assertThat(registry.get("products.repository.rows").tag("method", "findPage").summary().totalAmount())
+            .isEqualTo(4);
+    }
+
+    @Test
+    void shouldTagFailuresWithTheExceptionAndRethrowIt() {
+        // Given
+        Product product = product("METER-DUP");
+        when(delegate.insert(product)).thenThrow(new IllegalArgumentException("Product with code METER-DUP already exists"));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.insert(product)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.get("products.repository").tags("method", "insert", "exception", "IllegalArgumentException")
+            .timer().count()).isEqualTo(1);
+        assertThat(registry.find("products.repository").tags("method", "insert", "exception", "none").timer()).isNull();
+    }
+
+    @Test
+    void shouldLeaveTheCallersTimeOutOfStreamingReads() {
+        // Given a clock the delegate advances by 1s per row and the caller by 5s per row
+        MockClock clock = new MockClock();
+        SimpleMeterRegistry clocked = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        MeteredProductRepository streaming = new MeteredProductRepository(delegate, clocked);
+        doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                clock.add(Duration.ofSeconds(1));
+                action.accept(product("METER-" + i));
+            }
+            return null;
+        }).when(delegate).forEach(any(), any());
+
+        // When
+        streaming.forEach(ProductFilter.none(), product -> clock.add(Duration.ofSeconds(5)));
+
+        // Then
+        assertThat(clocked.get("products.repository").tags("method", "forEach").timer().totalTime(TimeUnit.SECONDS))
+            .isEqualTo(3);
+        assertThat(clocked.get("products.repository.rows").tag("method", "forEach").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldTimeEachMappedRow() throws Exception {
+        // Given
+        RowMapper<String> mapper = new ProductMetrics(registry).rowMapping().timed("product", (rs, rowNum) -> "row " + rowNum);
+
+        // When
+        mapper.mapRow(mock(ResultSet.class), 0);
+        mapper.mapRow(mock(ResultSet.class), 1);
+
+        // Then
+        assertThat(registry.get("products.mapping").tag("mapper", "product").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMeasureImagePayloads() {
+        // Given
+        ProductImageStore imageDelegate = mock(ProductImageStore.class);
+        MeteredProductImageStore imageStore = new MeteredProductImageStore(imageDelegate, registry);
+        ProductId id = ProductId.newId();
+        ProductImage image = new ProductImage(new ProductImageMetadata(id, "image/png", 2_048, "hash", 0L), new byte[2_048]);
+        when(imageDelegate.save(image)).thenReturn(true);
+        when(imageDelegate.findByProductId(id)).thenReturn(Optional.of(image));
+
+        // When
+        imageStore.save(image);
+        imageStore.findByProductId(id);
+
+        // Then
+        assertThat(registry.get("products.image.bytes").tag("direction", "write").summary().totalAmount()).isEqualTo(2_048);
+        assertThat(registry.get("products.image.bytes").tag("direction", "read").summary().count()).isEqualTo(1);
+        assertThat(registry.get("products.image.last.bytes").gauge().value()).isEqualTo(2_048);
+        assertThat(registry.get("products.image.store").tags("method", "save").timer().count()).isEqualTo(1);
+    }
+
+    private static Product product(String code) {
+        long now = System.currentTimeMillis();
+        return new Product(ProductId.newId(), code, "Metered Product", "Timed", null,
+            "Books", 12.5, 3, "SKU-M", 1, InventoryStatus.INSTOCK, 4, now, now);
+    }
+}
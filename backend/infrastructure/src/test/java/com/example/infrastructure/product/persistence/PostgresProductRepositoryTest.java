@@ -1,8 +1,18 @@
 package com.example.infrastructure.product.persistence;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +23,24 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import com.example.application.product.dto.ProductDTO;
+import com.example.application.product.dto.ProductFacets;
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.dto.ProductImportRejection;
+import com.example.application.product.dto.ProductPatch;
+import com.example.application.product.dto.StockLevel;
+import com.example.application.product.port.out.ProductBulkStore;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductCursor;
+import com.example.application.product.query.ProductFacetRequest;
+import com.example.application.product.query.ProductFilter;
+import com.example.application.product.query.ProductPageRequest;
+import com.example.application.product.query.ProductProjection;
+import com.example.application.product.query.ProductSearchHit;
+import com.example.application.product.query.ProductSearchRequest;
+import com.example.application.product.query.ProductSort;
 import com.example.domain.product.Product;
 import com.example.domain.product.Product.InventoryStatus;
 import com.example.domain.product.ProductId;
@@ -27,6 +55,12 @@ class PostgresProductRepositoryTest {
     @Autowired
     private PostgresProductRepository repository;
 
+    @Autowired
+    private PostgresProductImageStore imageStore;
+
+    @Autowired
+    private PostgresProductBulkStore bulkStore;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -223,4 +257,505 @@ class PostgresProductRepositoryTest {
         assertThat(found.get().getName()).isEqualTo("Updated Product");
         assertThat(found.get().getPrice()).isEqualTo(29.99);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPaginateWithKeysetCursor() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            repository.save(new Product(
+                ProductId.of(UUID.randomUUID()), 
+                "TEST-00" + i, 
+                "Test Product " + i, 
+                "Description", 
+                new byte[0], 
+                i % 2 == 0 ? "Books" : "Electronics", 
+                10.0 * i, 
+                10, 
+                "SKU00" + i, 
+                1, 
+                InventoryStatus.INSTOCK, 
+                5, 
+                System.currentTimeMillis(), 
+                System.currentTimeMillis()
+            ));
+        }
+
+        // When
+        List<Product> firstPage = repository.findPage(
+            new ProductPageRequest(ProductFilter.none(), ProductSort.CODE, false, 2, null));
+        Product lastOfFirstPage = firstPage.get(1);
+        List<Product> secondPage = repository.findPage(new ProductPageRequest(
+            ProductFilter.none(), ProductSort.CODE, false, 2,
+            new ProductCursor(lastOfFirstPage.getCode(), lastOfFirstPage.getId())));
+        List<Product> books = repository.findPage(
+            new ProductPageRequest(new ProductFilter("Books", null), ProductSort.PRICE, true, 10, null));
+
+        // Then
+        assertThat(firstPage).extracting(Product::getCode).containsExactly("TEST-001", "TEST-002", "TEST-003");
+        assertThat(secondPage).extracting(Product::getCode).containsExactly("TEST-003", "TEST-004", "TEST-005");
+        assertThat(books).extracting(Product::getCode).containsExactly("TEST-004", "TEST-002");
+    }
+
+    @Test
+    void shouldReadOnlyProjectedColumns() {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            repository.save(new Product(
+                ProductId.of(UUID.randomUUID()), "PROJ-00" + i, "Projected Product " + i, "Description", null,
+                "Electronics", 10.0 * i, 10, "SKU00" + i, 1, InventoryStatus.INSTOCK, 5,
+                System.currentTimeMillis(), System.currentTimeMillis()
+            ));
+        }
+        ProductProjection projection = ProductProjection.parse("name,price");
+
+        // When
+        List<ProductDTO> page = repository.findProjectedPage(
+            new ProductPageRequest(ProductFilter.none(), ProductSort.PRICE, true, 10, null, projection));
+        Optional<ProductDTO> single = repository.findProjectedById(ProductId.of(page.get(0).getId()), projection);
+
+        // Then
+        assertThat(page).extracting(ProductDTO::getName)
+            .containsExactly("Projected Product 3", "Projected Product 2", "Projected Product 1");
+        assertThat(page).extracting(ProductDTO::getPrice).containsExactly(30.0, 20.0, 10.0);
+        assertThat(page).allSatisfy(product -> {
+            assertThat(product.getId()).isNotNull();
+            assertThat(product.getCode()).isNull();
+            assertThat(product.getDescription()).isNull();
+            assertThat(product.getCreatedAt()).isZero();
+        });
+        assertThat(single).isPresent();
+        assertThat(single.get().getName()).isEqualTo("Projected Product 3");
+        assertThat(single.get().getCategory()).isNull();
+        assertThat(repository.findProjectedById(ProductId.newId(), projection)).isEmpty();
+    }
+
+    @Test
+    void shouldSearchRankedMatchesWithKeysetPagination() {
+        // Given
+        String[][] rows = {
+            { "WATCH-1", "Bamboo Watch", "Hand-carved bamboo watch with a leather strap", "Accessories" },
+            { "WATCH-2", "Steel Watch", "A watch made of steel", "Accessories" },
+            { "BAND-1", "Leather Band", "Replacement strap for any watch", "Accessories" },
+            { "WATCH-3", "Plastic Watch", "Cheap plastic watch", "Toys" },
+            { "MUG-1", "Coffee Mug", "Ceramic mug", "Kitchen" }
+        };
+        for (String[] row : rows) {
+            repository.save(new Product(
+                ProductId.of(UUID.randomUUID()), row[0], row[1], row[2], null, row[3],
+                9.99, 10, "SKU-" + row[0], 1, InventoryStatus.INSTOCK, 5,
+                System.currentTimeMillis(), System.currentTimeMillis()
+            ));
+        }
+
+        // When
+        List<ProductSearchHit> all = repository.search(new ProductSearchRequest("watches", null, 10, null));
+        List<ProductSearchHit> firstPage = repository.search(new ProductSearchRequest("watches", null, 2, null));
+        ProductSearchHit lastOfFirstPage = firstPage.get(1);
+        List<ProductSearchHit> secondPage = repository.search(new ProductSearchRequest("watches", null, 2,
+            new ProductCursor(Float.toString(lastOfFirstPage.rank()), lastOfFirstPage.product().getId())));
+        List<ProductSearchHit> excluding = repository.search(new ProductSearchRequest("watch -plastic", null, 10, null));
+        List<ProductSearchHit> phrase = repository.search(new ProductSearchRequest("\"bamboo watch\"", null, 10, null));
+        List<ProductSearchHit> filtered = repository.search(new ProductSearchRequest("watch", new ProductFilter("Toys", null), 10, null));
+        List<ProductSearchHit> byCode = repository.search(new ProductSearchRequest("mug-1", null, 10, null));
+
+        // Then
+        assertThat(all).extracting(hit -> hit.product().getCode()).hasSize(4).doesNotContain("MUG-1");
+        assertThat(all.get(0).product().getName()).endsWith("Watch");
+        assertThat(all).extracting(ProductSearchHit::rank).isSortedAccordingTo((a, b) -> Float.compare(b, a));
+        assertThat(firstPage).hasSize(3);
+        assertThat(secondPage).extracting(hit -> hit.product().getId())
+            .containsExactlyElementsOf(all.subList(2, 4).stream().map(hit -> hit.product().getId()).toList());
+        assertThat(excluding).extracting(hit -> hit.product().getCode()).containsExactlyInAnyOrder("WATCH-1", "WATCH-2", "BAND-1");
+        assertThat(phrase).extracting(hit -> hit.product().getCode()).containsExactly("WATCH-1");
+        assertThat(filtered).extracting(hit -> hit.product().getCode()).containsExactly("WATCH-3");
+        assertThat(byCode).extracting(hit -> hit.product().getCode()).containsExactly("MUG-1");
+    }
+
+    @Test
+    void shouldCountEveryFacetInOnePass() {
+        // Given
+        Object[][] rows = {
+            { "Books", 5.0, 5, InventoryStatus.INSTOCK },
+            { "Books", 15.0, 4, InventoryStatus.INSTOCK },
+            { "Books", 100.0, 4, InventoryStatus.LOWSTOCK },
+            { "Toys", 30.0, 5, InventoryStatus.OUTOFSTOCK },
+            { "Games", 600.0, 2, InventoryStatus.INSTOCK }
+        };
+        for (int i = 0; i < rows.length; i++) {
+            repository.save(new Product(
+                ProductId.of(UUID.randomUUID()), "FACET-" + i, "Facet Product " + i, null, null,
+                (String) rows[i][0], (Double) rows[i][1], 10, "SKU-F" + i, 1, (InventoryStatus) rows[i][3],
+                (Integer) rows[i][2], System.currentTimeMillis(), System.currentTimeMillis()
+            ));
+        }
+
+        // When
+        ProductFacets all = repository.countFacets(new ProductFacetRequest(ProductFilter.none(), List.of(10.0, 100.0)));
+        ProductFacets inStock = repository.countFacets(new ProductFacetRequest(new ProductFilter(null, InventoryStatus.INSTOCK)));
+
+        // Then
+        assertThat(all.total()).isEqualTo(5);
+        assertThat(all.categories()).containsExactly(Map.entry("Books", 3L), Map.entry("Games", 1L), Map.entry("Toys", 1L));
+        assertThat(all.inventoryStatuses()).containsExactly(
+            Map.entry("INSTOCK", 3L), Map.entry("LOWSTOCK", 1L), Map.entry("OUTOFSTOCK", 1L));
+        assertThat(all.ratings()).containsExactly(Map.entry(5, 2L), Map.entry(4, 2L), Map.entry(2, 1L));
+        assertThat(all.prices()).containsExactly(
+            new ProductFacets.PriceBucket(null, 10.0, 1),
+            new ProductFacets.PriceBucket(10.0, 100.0, 2),
+            new ProductFacets.PriceBucket(100.0, null, 2));
+
+        assertThat(inStock.total()).isEqualTo(3);
+        assertThat(inStock.inventoryStatuses()).containsEntry("LOWSTOCK", 0L).containsEntry("INSTOCK", 3L);
+        assertThat(inStock.prices()).hasSize(ProductFacetRequest.DEFAULT_PRICE_BREAKS.size() + 1)
+            .extracting(ProductFacets.PriceBucket::count).containsExactly(1L, 1L, 0L, 0L, 0L, 0L, 1L);
+    }
+
+    @Test
+    void shouldStreamAllMatchingProducts() {
+        // Given
+        int count = PostgresProductRepository.STREAM_FETCH_SIZE + 10;
+        for (int i = 0; i < count; i++) {
+            repository.save(new Product(
+                ProductId.of(UUID.randomUUID()), 
+                "STREAM-" + i, 
+                "Streamed Product " + i, 
+                "Description", 
+                new byte[0], 
+                "Electronics", 
+                9.99, 
+                10, 
+                "SKU-" + i, 
+                1, 
+                i % 2 == 0 ? InventoryStatus.INSTOCK : InventoryStatus.LOWSTOCK, 
+                5, 
+                System.currentTimeMillis(), 
+                System.currentTimeMillis()
+            ));
+        }
+
+        // When
+        List<Product> all = new ArrayList<>();
+        repository.forEach(ProductFilter.none(), all::add);
+        List<Product> lowStock = new ArrayList<>();
+        repository.forEach(new ProductFilter(null, InventoryStatus.LOWSTOCK), lowStock::add);
+
+        // Then
+        assertThat(all).hasSize(count);
+        assertThat(lowStock).hasSize(count / 2);
+    }
+
+    @Test
+    void shouldStoreImageSeparatelyAndExposeItsHash() {
+        // Given
+        ProductId productId = ProductId.of(UUID.randomUUID());
+        repository.save(new Product(
+            productId, 
+            "IMG-001", 
+            "Pictured Product", 
+            "Description", 
+            null, 
+            "Electronics", 
+            19.99, 
+            10, 
+            "SKU001", 
+            1, 
+            InventoryStatus.INSTOCK, 
+            5, 
+            System.currentTimeMillis(), 
+            System.currentTimeMillis()
+        ));
+        String hash = "a".repeat(64);
+        ProductImageMetadata metadata = new ProductImageMetadata(productId, "image/png", 3, hash, System.currentTimeMillis());
+
+        // When
+        boolean stored = imageStore.save(new ProductImage(metadata, new byte[] { 1, 2, 3 }));
+        boolean storedForUnknown = imageStore.save(new ProductImage(
+            new ProductImageMetadata(ProductId.newId(), "image/png", 3, hash, System.currentTimeMillis()), new byte[] { 1 }));
+
+        // Then
+        assertThat(stored).isTrue();
+        assertThat(storedForUnknown).isFalse();
+        assertThat(repository.findById(productId)).get().extracting(Product::getImageHash).isEqualTo(hash);
+        assertThat(repository.findById(productId).get().getImage()).isNull();
+        assertThat(imageStore.findByProductId(productId)).get().extracting(ProductImage::content).isEqualTo(new byte[] { 1, 2, 3 });
+
+        assertThat(imageStore.deleteByProductId(productId)).isTrue();
+        assertThat(repository.findById(productId).get().getImageHash()).isNull();
+    }
+
+    @Test
+    void shouldPatchOnlyTouchedColumns() {
+        // Given
+        ProductId productId = ProductId.of(UUID.randomUUID());
+        long createdAt = System.currentTimeMillis() - 60_000;
+        repository.save(new Product(
+            productId, "PATCH-001", "Patched Product", "Description", null, "Electronics",
+            19.99, 10, "SKU001", 1, InventoryStatus.INSTOCK, 5, createdAt, createdAt
+        ));
+        String hash = "b".repeat(64);
+        imageStore.save(new ProductImage(
+            new ProductImageMetadata(productId, "image/png", 1, hash, System.currentTimeMillis()), new byte[] { 1 }));
+        ProductPatch patch = new ProductPatch()
+            .set(ProductPatch.Field.PRICE, 24.5)
+            .set(ProductPatch.Field.INVENTORY_STATUS, InventoryStatus.LOWSTOCK)
+            .set(ProductPatch.Field.DESCRIPTION, null);
+        long updatedAt = System.currentTimeMillis();
+
+        // When
+        Optional<Product> patched = repository.patch(productId, patch, updatedAt);
+        Optional<Product> missing = repository.patch(ProductId.newId(), patch, updatedAt);
+
+        // Then
+        assertThat(patched).isPresent();
+        Product product = patched.get();
+        assertThat(product.getPrice()).isEqualTo(24.5);
+        assertThat(product.getInventoryStatus()).isEqualTo(InventoryStatus.LOWSTOCK);
+        assertThat(product.getDescription()).isNull();
+        assertThat(product.getName()).isEqualTo("Patched Product");
+        assertThat(product.getQuantity()).isEqualTo(10);
+        assertThat(product.getImageHash()).isEqualTo(hash);
+        assertThat(product.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(product.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    void shouldBumpVersionOnEveryWriteAndRejectStaleUpdates() {
+        // Given
+        long now = System.currentTimeMillis();
+        Product product = repository.save(new Product(ProductId.newId(), "VER-001", "Versioned", null, null, "Electronics",
+            10.0, 20, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now));
+        assertThat(product.getVersion()).isZero();
+
+        // When: two writers both read version 0
+        product.setName("First writer");
+        Optional<Product> first = repository.update(product, 0L);
+        product.setName("Second writer");
+        Optional<Product> second = repository.update(product, 0L);
+        repository.adjustQuantities(Map.of(product.getId(), -1L), now);
+        imageStore.save(new ProductImage(
+            new ProductImageMetadata(product.getId(), "image/png", 1, "c".repeat(64), now), new byte[] { 1 }));
+
+        // Then
+        assertThat(first).get().extracting(Product::getVersion).isEqualTo(1L);
+        assertThat(second).isEmpty();
+        Product stored = repository.findById(product.getId()).get();
+        assertThat(stored.getName()).isEqualTo("First writer");
+        assertThat(stored.getVersion()).isEqualTo(3L);
+        assertThat(repository.findRevisionById(product.getId())).get()
+            .extracting(revision -> revision.version()).isEqualTo(3L);
+        assertThat(repository.update(stored, null)).get().extracting(Product::getVersion).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldWriteEmbeddedImageWithTheRowInOneVersion() {
+        // Given
+        long now = System.currentTimeMillis();
+        byte[] png = new byte[] { (byte) 0x89, 'P', 'N', 'G', 1 };
+        Product product = new Product(ProductId.newId(), "EMB-001", "Embedded", null, png, "Electronics",
+            10.0, 20, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now);
+        product.setImageHash("d".repeat(64));
+
+        // When
+        Product inserted = repository.insert(product).get();
+        product.setImage(new byte[] { 7 });
+        product.setImageHash("e".repeat(64));
+        Optional<Product> updated = repository.update(product, inserted.getVersion());
+
+        // Then: the returned version is the stored one, so it is still current for the next write
+        assertThat(inserted.getVersion()).isZero();
+        assertThat(inserted.getImageHash()).isEqualTo("d".repeat(64));
+        assertThat(updated).get().extracting(Product::getVersion).isEqualTo(1L);
+        assertThat(repository.findRevisionById(product.getId())).get()
+            .extracting(revision -> revision.version()).isEqualTo(1L);
+        assertThat(imageStore.findByProductId(product.getId())).get()
+            .satisfies(image -> {
+                assertThat(image.content()).isEqualTo(new byte[] { 7 });
+                assertThat(image.metadata().sha256()).isEqualTo("e".repeat(64));
+            });
+
+        // An update without image bytes keeps the stored image
+        product.setImage(null);
+        product.setImageHash(null);
+        assertThat(repository.update(product, 1L)).get().extracting(Product::getImageHash).isEqualTo("e".repeat(64));
+    }
+
+    @Test
+    void shouldWriteBatchImagesOnlyWithTheirRows() {
+        // Given
+        long now = System.currentTimeMillis();
+        repository.save(new Product(ProductId.newId(), "TAKEN-001", "Taken", null, null, "Electronics",
+            10.0, 20, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now));
+        Product landing = new Product(ProductId.newId(), "BATCH-IMG-1", "Landing", null, new byte[] { 1 }, "Electronics",
+            10.0, 20, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now);
+        landing.setImageHash("f".repeat(64));
+        Product clashing = new Product(ProductId.newId(), "TAKEN-001", "Clashing", null, new byte[] { 2 }, "Electronics",
+            10.0, 20, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now);
+        clashing.setImageHash("0".repeat(64));
+
+        // When
+        Map<ProductId, Long> inserted = repository.insertAll(List.of(landing, clashing));
+        landing.setImage(new byte[] { 3 });
+        landing.setImageHash("1".repeat(64));
+        landing.setCode("TAKEN-001");
+        Map<ProductId, Long> updated = repository.updateAll(List.of(landing), Map.of());
+
+        // Then: the skipped rows left no image behind, and the clashing update kept the stored one
+        assertThat(inserted).containsOnlyKeys(landing.getId());
+        assertThat(updated).isEmpty();
+        assertThat(imageStore.findByProductId(clashing.getId())).isEmpty();
+        assertThat(imageStore.findByProductId(landing.getId())).get()
+            .extracting(ProductImage::content).isEqualTo(new byte[] { 1 });
+        assertThat(repository.findById(landing.getId())).get()
+            .extracting(Product::getImageHash).isEqualTo("f".repeat(64));
+    }
+
+    @Test
+    void shouldAdjustStockAtomicallyUnderConcurrency() throws Exception {
+        // Given
+        ProductId productId = ProductId.of(UUID.randomUUID());
+        long now = System.currentTimeMillis();
+        repository.save(new Product(
+            productId, "STOCK-001", "Stocked Product", "Description", null, "Electronics",
+            19.99, 50, "SKU001", 1, InventoryStatus.INSTOCK, 5, now, now
+        ));
+        int threads = 8;
+        int decrementsPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> adjustedCounts = new ArrayList<>();
+
+        // When: 80 single-unit decrements race for 50 units
+        for (int t = 0; t < threads; t++) {
+            adjustedCounts.add(executor.submit(() -> {
+                int adjusted = 0;
+                for (int i = 0; i < decrementsPerThread; i++) {
+                    List<StockLevel> levels = repository.adjustQuantities(Map.of(productId, -1L), System.currentTimeMillis());
+                    assertThat(levels.get(0).quantity()).isNotNegative();
+                    if (levels.get(0).adjusted()) {
+                        adjusted++;
+                    }
+                }
+                return adjusted;
+            }));
+        }
+        int totalAdjusted = 0;
+        for (Future<Integer> count : adjustedCounts) {
+            totalAdjusted += count.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(totalAdjusted).isEqualTo(50);
+        Product drained = repository.findById(productId).get();
+        assertThat(drained.getQuantity()).isZero();
+        assertThat(drained.getInventoryStatus()).isEqualTo(InventoryStatus.OUTOFSTOCK);
+
+        List<StockLevel> restocked = repository.adjustQuantities(
+            Map.of(productId, 4L, ProductId.newId(), 1L), System.currentTimeMillis());
+        assertThat(restocked).singleElement().satisfies(level -> {
+            assertThat(level.adjusted()).isTrue();
+            assertThat(level.quantity()).isEqualTo(4);
+            assertThat(level.inventoryStatus()).isEqualTo(InventoryStatus.LOWSTOCK);
+        });
+        assertThat(repository.adjustQuantities(Map.of(productId, -5L), System.currentTimeMillis()))
+            .singleElement().satisfies(level -> {
+                assertThat(level.adjusted()).isFalse();
+                assertThat(level.quantity()).isEqualTo(4);
+            });
+    }
+
+    @Test
+    void shouldMergeCopiedRowsAndRejectCodeConflicts() throws Exception {
+        // Given
+        long now = System.currentTimeMillis();
+        Product existing = new Product(ProductId.newId(), "BULK-1", "Old name", null, null, "Electronics",
+            10.0, 1, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now);
+        Product taken = new Product(ProductId.newId(), "TAKEN", "Taken", null, null, "Electronics",
+            10.0, 1, "REF-2", 0, InventoryStatus.INSTOCK, 0, now, now);
+        repository.save(existing);
+        repository.save(taken);
+
+        Product renamed = new Product(existing.getId(), "BULK-1", "New \"name\", with comma", "", null, "Electronics",
+            12.5, 4, "REF-1", 0, InventoryStatus.LOWSTOCK, 0, now, now);
+        Product fresh = new Product(ProductId.newId(), "BULK-2", "Fresh", null, null, "Books",
+            5.0, 2, "REF-3", 0, InventoryStatus.INSTOCK, 0, now, now);
+        Product clashing = new Product(ProductId.newId(), "TAKEN", "Clash", null, null, "Books",
+            5.0, 2, "REF-4", 0, InventoryStatus.INSTOCK, 0, now, now);
+
+        // When
+        ProductBulkStore.MergeResult result = bulkStore.merge(sink -> {
+            sink.accept(2, renamed);
+            sink.accept(3, fresh);
+            sink.accept(4, clashing);
+        });
+
+        // Then
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.rejections()).extracting(ProductImportRejection::line).containsExactly(4L);
+        assertThat(repository.findById(existing.getId())).get().extracting(Product::getName).isEqualTo(renamed.getName());
+        assertThat(repository.findById(existing.getId()).get().getDescription()).isEmpty();
+        assertThat(repository.findById(fresh.getId())).isPresent();
+        assertThat(repository.findById(clashing.getId())).isEmpty();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkStore.exportCsv(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).isEqualTo("id,code,name,description,category,price,quantity,internalReference,shellId,inventoryStatus,rating,createdAt,updatedAt");
+        assertThat(lines).hasSize(4);
+    }
+
+    @Test
+    void shouldFeedChangesAndTombstonesAfterAWatermark() {
+        // Given
+        jdbcTemplate.update("DELETE FROM product_tombstones");
+        long now = System.currentTimeMillis();
+        Product kept = repository.save(new Product(ProductId.newId(), "FEED-1", "Kept", null, null, "Electronics",
+            10.0, 1, "REF-1", 0, InventoryStatus.INSTOCK, 0, now, now));
+        Product removed = repository.save(new Product(ProductId.newId(), "FEED-2", "Removed", null, null, "Electronics",
+            10.0, 1, "REF-2", 0, InventoryStatus.INSTOCK, 0, now, now));
+
+        // When
+        ProductChangeLog initial = repository.findChanges(ProductChangeCursor.START, 10);
+        repository.deleteById(removed.getId());
+        kept.setName("Renamed");
+        repository.update(kept, null);
+        ProductChangeLog delta = repository.findChanges(new ProductChangeCursor(initial.horizon(), null), 10);
+        ProductChangeLog firstOnly = repository.findChanges(ProductChangeCursor.START, 1);
+
+        // Then
+        assertThat(initial.entries()).extracting(ProductChangeLog.Entry::id)
+            .containsExactlyInAnyOrder(kept.getId(), removed.getId());
+        assertThat(delta.entries()).hasSize(2);
+        assertThat(delta.entries()).filteredOn(ProductChangeLog.Entry::deleted)
+            .extracting(ProductChangeLog.Entry::id).containsExactly(removed.getId());
+        assertThat(delta.entries()).filteredOn(entry -> !entry.deleted())
+            .extracting(entry -> entry.product().getName()).containsExactly("Renamed");
+        assertThat(delta.horizon()).isGreaterThanOrEqualTo(initial.horizon());
+        assertThat(firstOnly.entries()).hasSize(2);
+    }
+
+    @Test
+    void shouldPruneOldTombstonesAndReportHowFarTheFeedWasPruned() {
+        // Given
+        jdbcTemplate.update("DELETE FROM product_tombstones");
+        jdbcTemplate.update("UPDATE product_tombstone_pruning SET pruned_through = 0");
+        ProductId old = ProductId.newId();
+        ProductId recent = ProductId.newId();
+        jdbcTemplate.update("INSERT INTO product_tombstones (id, change_xid, deleted_at) VALUES " +
+            "(?::uuid, 100, localtimestamp - interval '40 days'), (?::uuid, 200, localtimestamp - interval '1 day')",
+            old.toString(), recent.toString());
+        ProductTombstonePruner pruner = new ProductTombstonePruner(jdbcTemplate, Duration.ofDays(30), Duration.ofHours(1));
+
+        // When
+        int pruned = pruner.prune();
+        int prunedAgain = pruner.prune();
+        ProductChangeLog log = repository.findChanges(ProductChangeCursor.START, 10);
+
+        // Then
+        assertThat(pruned).isEqualTo(1);
+        assertThat(prunedAgain).isZero();
+        assertThat(log.prunedThrough()).isEqualTo(100);
+        assertThat(log.entries()).extracting(ProductChangeLog.Entry::id).containsExactly(recent);
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.infrastructure.product.persistence;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.example.application.product.dto.ProductRevision;
 import com.example.application.product.port.out.ProductRepository;
 import com.example.domain.product.Product;
 import com.example.domain.product.ProductId;
@@ -143,6 +147,105 @@ public abstract class ProductRepositoryContractTest {
         assertThat(retrievedProduct.get().getQuantity()).isEqualTo(50);
     }
 
+    @Test
+    void existsByCodeExcludingId_ShouldIgnoreTheExcludedProduct() {
+        // Given
+        Product savedProduct = getRepository().save(testProduct);
+
+        // When & Then
+        assertThat(getRepository().existsByCodeExcludingId(testProduct.getCode(), savedProduct.getId())).isFalse();
+        assertThat(getRepository().existsByCodeExcludingId(testProduct.getCode(), ProductId.newId())).isTrue();
+    }
+
+    @Test
+    void findRevisionById_ShouldReturnOnlyVersionAndModificationTime() {
+        // Given
+        Product savedProduct = getRepository().save(testProduct);
+
+        // When & Then
+        assertThat(getRepository().findRevisionById(savedProduct.getId()))
+                .contains(new ProductRevision(savedProduct.getVersion(), savedProduct.getUpdatedAt()));
+        assertThat(getRepository().findRevisionById(ProductId.newId())).isEmpty();
+    }
+
+    @Test
+    void update_WithCodeOfAnotherProduct_ShouldThrow() {
+        // Given
+        getRepository().save(testProduct);
+        Product other = getRepository().save(createTestProduct("TEST-002", "Test Product 2"));
+        other.setCode(testProduct.getCode());
+
+        // When & Then
+        assertThatThrownBy(() -> getRepository().update(other, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void insert_WithExistingId_ShouldReturnEmpty() {
+        // Given
+        getRepository().save(testProduct);
+
+        // When
+        Optional<Product> result = getRepository().insert(testProduct);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void insert_WithDuplicateCode_ShouldThrow() {
+        // Given
+        getRepository().save(testProduct);
+
+        // When & Then
+        assertThatThrownBy(() -> getRepository().insert(createTestProduct("TEST-001", "Other Product")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void update_WithUnknownId_ShouldReturnEmpty() {
+        // When
+        Optional<Product> result = getRepository().update(testProduct, null);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void deleteById_WithUnknownId_ShouldReturnFalse() {
+        // When & Then
+        assertThat(getRepository().deleteById(ProductId.newId())).isFalse();
+    }
+
+    @Test
+    void bulkWrites_ShouldSkipConflictingRowsAndReportAppliedIdsWithTheirVersions() {
+        // Given
+        getRepository().save(testProduct);
+        Product fresh = createTestProduct("TEST-002", "Test Product 2");
+        Product duplicateCode = createTestProduct("TEST-001", "Duplicate Code");
+
+        // When
+        Map<ProductId, Long> inserted = getRepository().insertAll(List.of(fresh, duplicateCode));
+        fresh.setName("Renamed");
+        Product stolenCode = createTestProduct("TEST-003", "Stolen Code");
+        getRepository().save(stolenCode);
+        stolenCode.setCode("TEST-001");
+        testProduct.setName("Stale");
+        Map<ProductId, Long> updated = getRepository().updateAll(
+            List.of(fresh, stolenCode, createTestProduct("TEST-004", "Missing"), testProduct),
+            Map.of(fresh.getId(), 0L, testProduct.getId(), 5L));
+        Set<ProductId> deleted = getRepository().deleteAll(List.of(fresh.getId(), ProductId.newId()));
+
+        // Then
+        assertThat(inserted).isEqualTo(Map.of(fresh.getId(), 0L));
+        assertThat(updated).isEqualTo(Map.of(fresh.getId(), 1L));
+        assertThat(deleted).containsExactly(fresh.getId());
+        assertThat(getRepository().findExistingIds(List.of(testProduct.getId(), fresh.getId())))
+                .containsExactly(testProduct.getId());
+    }
+
     protected Product createTestProduct(String code, String name) {
         return new Product(
                 ProductId.newId(),
@@ -0,0 +1,142 @@
+package com.example.infrastructure.product.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.application.product.query.ProductFilter;
+import com.example.domain.product.Product;
+import com.example.domain.product.Product.InventoryStatus;
+import com.example.domain.product.ProductId;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(classes = TestSpringBootApplication.class)
+@Testcontainers
+@ContextConfiguration(
+    initializers = PostgresTestContainerInitializer.class
+)
+class ReactivePostgresProductRepositoryTest {
+
+    @Autowired
+    private PostgresProductRepository blockingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private ReactivePostgresProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products");
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.replaceFirst("^jdbc:", "r2dbc:")).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        repository = new ReactivePostgresProductRepository(DatabaseClient.create(ConnectionFactories.get(options)));
+    }
+
+    @Test
+    void shouldInsertReadUpdateAndDeleteLikeTheBlockingAdapter() {
+        // Given
+        Product product = product("REACTIVE-1", "Books", InventoryStatus.INSTOCK);
+        product.setDescription(null);
+
+        // When
+        Optional<Product> inserted = repository.insert(product).toCompletableFuture().join();
+        Optional<Product> duplicateId = repository.insert(product).toCompletableFuture().join();
+
+        // Then
+        assertThat(inserted).isPresent();
+        assertThat(duplicateId).isEmpty();
+        Product stored = blockingRepository.findById(product.getId()).orElseThrow();
+        Product read = repository.findById(product.getId()).toCompletableFuture().join().orElseThrow();
+        assertThat(read).usingRecursiveComparison().isEqualTo(stored);
+        assertThat(read.getDescription()).isNull();
+
+        // When
+        read.setName("Renamed");
+        Optional<Product> stale = repository.update(read, stored.getVersion() + 1).toCompletableFuture().join();
+        Optional<Product> updated = repository.update(read, stored.getVersion()).toCompletableFuture().join();
+
+        // Then
+        assertThat(stale).isEmpty();
+        assertThat(updated).get().extracting(Product::getName).isEqualTo("Renamed");
+        assertThat(updated.get().getVersion()).isEqualTo(stored.getVersion() + 1);
+        assertThat(repository.findRevisionById(product.getId()).toCompletableFuture().join())
+            .get().extracting(revision -> revision.version()).isEqualTo(stored.getVersion() + 1);
+
+        // When / Then
+        assertThat(repository.deleteById(product.getId()).toCompletableFuture().join()).isTrue();
+        assertThat(repository.deleteById(product.getId()).toCompletableFuture().join()).isFalse();
+        assertThat(repository.findById(product.getId()).toCompletableFuture().join()).isEmpty();
+    }
+
+    @Test
+    void shouldReportDuplicateCodesAsDomainErrors() {
+        // Given
+        repository.insert(product("REACTIVE-DUP", "Books", InventoryStatus.INSTOCK)).toCompletableFuture().join();
+
+        // When / Then
+        assertThatThrownBy(() -> repository.insert(product("REACTIVE-DUP", "Books", InventoryStatus.INSTOCK)).toCompletableFuture().join())
+            .hasCauseInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void shouldStreamMatchingProductsOnDemand() {
+        // Given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            products.add(product("REACTIVE-S" + i, i % 3 == 0 ? "Toys" : "Books", InventoryStatus.INSTOCK));
+        }
+        blockingRepository.insertAll(products);
+
+        // When / Then: a subscriber that stops early cancels the query and frees the connection
+        StepVerifier.create(JdkFlowAdapter.flowPublisherToFlux(repository.findAll(ProductFilter.none())), 0)
+            .thenRequest(10)
+            .expectNextCount(10)
+            .thenCancel()
+            .verify();
+
+        StepVerifier.create(JdkFlowAdapter.flowPublisherToFlux(repository.findAll(new ProductFilter("Toys", InventoryStatus.INSTOCK)))
+                .map(Product::getCategory))
+            .thenConsumeWhile("Toys"::equals)
+            .verifyComplete();
+        assertThat(JdkFlowAdapter.flowPublisherToFlux(repository.findAll(new ProductFilter("Toys", null))).count().block())
+            .isEqualTo(400);
+    }
+
+    private static Product product(String code, String category, InventoryStatus status) {
+        long now = System.currentTimeMillis();
+        return new Product(
+            ProductId.of(UUID.randomUUID()), code, "Reactive Product", "Streamed without blocking", null,
+            category, 12.5, 3, "SKU-R", 1, status, 4, now, now
+        );
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.infrastructure.product.web;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+
+import com.example.application.product.exception.DuplicateProductException;
+import com.example.application.product.exception.ProductNotFoundException;
+import com.example.application.product.exception.ProductVersionConflictException;
+import com.example.domain.product.InvalidProductIdException;
+import com.example.domain.product.ProductId;
+import com.example.domain.product.ProductViolations;
+import com.example.infrastructure.product.dto.ProblemResponse;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(Duration.ofSeconds(10));
+
+    @Test
+    void shouldMapProductExceptionsToProblemsByType() {
+        // When
+        ResponseEntity<ProblemResponse> invalidId = handler.handleIllegalArgumentException(new InvalidProductIdException("42"));
+        ResponseEntity<ProblemResponse> duplicateCode = handler.handleIllegalArgumentException(DuplicateProductException.code("P-1", null));
+        ResponseEntity<ProblemResponse> notFound = handler.handleIllegalArgumentException(ProductNotFoundException.product("42"));
+        ResponseEntity<ProblemResponse> conflict = handler.handleIllegalArgumentException(
+            new ProductVersionConflictException(ProductId.newId(), 2, 3));
+
+        // Then: constant problems are shared, the others carry their occurrence
+        assertThat(invalidId.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(invalidId.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(invalidId.getBody()).isSameAs(ProductProblems.INVALID_UUID_FORMAT);
+        assertThat(duplicateCode.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(duplicateCode.getBody()).isSameAs(ProductProblems.DUPLICATE_PRODUCT_CODE);
+        assertThat(notFound.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(notFound.getBody().detail()).isEqualTo("Product with id 42 does not exist");
+        assertThat(conflict.getBody().errorCode()).isEqualTo("VERSION_CONFLICT");
+        assertThat(conflict.getBody().currentVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldMapProductExceptionsWrappedByRepositoryTranslation() {
+        // When
+        ResponseEntity<?> duplicateCode = handler.handleInvalidDataAccessApiUsage(new InvalidDataAccessApiUsageException(
+            "Product with code P-1 already exists", DuplicateProductException.code("P-1", null)));
+        ResponseEntity<?> misuse = handler.handleInvalidDataAccessApiUsage(new InvalidDataAccessApiUsageException(
+            "Not a product rejection", new IllegalArgumentException("internal detail")));
+
+        // Then: only typed product rejections reach the client
+        assertThat(duplicateCode.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(duplicateCode.getBody()).isSameAs(ProductProblems.DUPLICATE_PRODUCT_CODE);
+        assertThat(misuse.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(misuse.getBody()).isSameAs(ProductProblems.INTERNAL_ERROR);
+    }
+
+    @Test
+    void shouldListEveryViolationAndPassOtherRejectionsThrough() {
+        // Given
+        IllegalArgumentException invalidProduct = catchThrowableOfType(() ->
+            ProductViolations.requireValid(ProductViolations.PRICE_NEGATIVE | ProductViolations.NAME_EMPTY), IllegalArgumentException.class);
+
+        // When
+        ProblemResponse validation = handler.handleIllegalArgumentException(invalidProduct).getBody();
+        ProblemResponse other = handler.handleIllegalArgumentException(new IllegalArgumentException("Page size must be between 1 and 100")).getBody();
+
+        // Then: an untyped rejection's message is its detail, even if it reads like another kind of error
+        assertThat(validation.errorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(validation.violations()).containsExactly("Product price cannot be negative", "Product name cannot be empty");
+        assertThat(other.errorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(other.detail()).isEqualTo("Page size must be between 1 and 100");
+        assertThat(handler.handleIllegalArgumentException(new IllegalArgumentException("Product with code X already exists"))
+            .getBody().errorCode()).isEqualTo("VALIDATION_ERROR");
+    }
+
+    @Test
+    void shouldKeepTheStatusOfSpringRequestErrorsAndHideUnexpectedOnes() {
+        // When
+        ResponseEntity<?> unknownPath = handler.handleGenericException(new NoResourceFoundException(HttpMethod.GET, "nope"));
+        ResponseEntity<?> unexpected = handler.handleGenericException(new IllegalStateException("connection string with secrets"));
+
+        // Then
+        assertThat(unknownPath.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(unexpected.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(unexpected.getBody()).isSameAs(ProductProblems.INTERNAL_ERROR);
+    }
+}
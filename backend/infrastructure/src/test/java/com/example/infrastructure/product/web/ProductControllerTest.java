@@ -0,0 +1,132 @@
+package com.example.infrastructure.product.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.application.product.dto.ProductImage;
+import com.example.application.product.dto.ProductImageMetadata;
+import com.example.application.product.port.in.ProductBulkTransferUseCase;
+import com.example.application.product.port.out.ProductImageStore;
+import com.example.application.product.port.out.ProductRepository;
+import com.example.application.product.query.ProductChangeCursor;
+import com.example.application.product.query.ProductChangeLog;
+import com.example.application.product.query.ProductCursor;
+import com.example.application.product.service.ProductService;
+import com.example.domain.product.ProductId;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ProductControllerTest {
+
+    private ProductRepository repository;
+    private ProductImageStore imageStore;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = mock(ProductImageStore.class);
+        repository = mock(ProductRepository.class);
+        ProductService service = new ProductService(repository, imageStore);
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new ProductController(service, mock(ProductBulkTransferUseCase.class), new ObjectMapper()))
+            .setControllerAdvice(new GlobalExceptionHandler(Duration.ofSeconds(10)))
+            .build();
+    }
+
+    @Test
+    void shouldRejectCursorsNotIssuedForTheQueryBeforeReadingAnything() throws Exception {
+        // Given a cursor issued for a listing sorted by price
+        String priceCursor = new ProductCursor("19.99", ProductId.newId()).encode();
+
+        // When & Then: replayed under another sort key, for a search, or tampered with
+        mockMvc.perform(get("/api/products").param("sort", "createdAt").param("cursor", priceCursor))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+        mockMvc.perform(get("/api/products/search").param("q", "lamp").param("cursor",
+                new ProductCursor("NaN", ProductId.newId()).encode()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+        mockMvc.perform(get("/api/products").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+        mockMvc.perform(get("/api/products").param("sort", "price").param("cursor", priceCursor))
+            .andExpect(status().isOk());
+        verify(repository).findPage(any());
+    }
+
+    @Test
+    void shouldAskForAFullResyncWhenTheWatermarkPredatesPrunedTombstones() throws Exception {
+        // Given
+        when(repository.findChanges(any(), anyInt())).thenReturn(new ProductChangeLog(List.of(), 500, 300));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/changes").param("since", new ProductChangeCursor(250, null).encode()))
+            .andExpect(status().isGone())
+            .andExpect(jsonPath("$.errorCode").value("CHANGES_EXPIRED"));
+        mockMvc.perform(get("/api/products/changes"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectImagesThatAreNotRasterPicturesWhateverTheirDeclaredType() throws Exception {
+        // Given
+        byte[] html = "<html><script>alert(document.cookie)</script></html>".getBytes(StandardCharsets.UTF_8);
+        String id = ProductId.newId().toString();
+
+        // When & Then
+        mockMvc.perform(put("/api/products/{id}/image", id).contentType(MediaType.TEXT_HTML).content(html))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+            .andExpect(jsonPath("$.violations[0]").value("Product image must be a PNG, JPEG, GIF or WebP picture"));
+        mockMvc.perform(put("/api/products/{id}/image", id).contentType(MediaType.IMAGE_PNG).content(html))
+            .andExpect(status().isBadRequest());
+        verify(imageStore, never()).save(any(ProductImage.class));
+    }
+
+    @Test
+    void shouldStoreTheSniffedTypeRatherThanTheDeclaredOne() throws Exception {
+        // Given
+        byte[] gif = new byte[] { 'G', 'I', 'F', '8', '9', 'a' };
+        when(imageStore.save(any(ProductImage.class))).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(put("/api/products/{id}/image", ProductId.newId()).contentType(MediaType.TEXT_HTML).content(gif))
+            .andExpect(status().isNoContent());
+        verify(imageStore).save(argThat(image -> image.metadata().contentType().equals("image/gif")));
+    }
+
+    @Test
+    void shouldNeverServeAStoredNonRasterTypeAndForbidSniffing() throws Exception {
+        // Given an image stored before uploads were sniffed
+        ProductId id = ProductId.newId();
+        byte[] html = "<svg onload=alert(1)>".getBytes(StandardCharsets.UTF_8);
+        ProductImageMetadata metadata = new ProductImageMetadata(id, "image/svg+xml", html.length, "a".repeat(64), 1_000L);
+        when(imageStore.findMetadataByProductId(id)).thenReturn(Optional.of(metadata));
+        when(imageStore.findByProductId(id)).thenReturn(Optional.of(new ProductImage(metadata, html)));
+
+        // When & Then
+        mockMvc.perform(get("/api/products/{id}/image", id))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", ProductImage.DEFAULT_CONTENT_TYPE))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+}
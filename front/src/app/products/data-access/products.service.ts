@@ -1,7 +1,13 @@
 import { Injectable, inject, signal } from "@angular/core";
 import { Product } from "./product.model";
-import { HttpClient } from "@angular/common/http";
-import { catchError, Observable, of, tap } from "rxjs";
+import { HttpClient, HttpParams } from "@angular/common/http";
+import { catchError, EMPTY, expand, map, Observable, of, reduce, tap } from "rxjs";
+
+/** One page of the catalog, and the cursor of the next one (null on the last page). */
+interface ProductsPage {
+    items: Product[];
+    next: string | null;
+}
 
 @Injectable({
     providedIn: "root"
@@ -9,13 +15,18 @@ import { catchError, Observable, of, tap } from "rxjs";
 
     private readonly http = inject(HttpClient);
     private readonly path = "/api/products";
+    /** Largest page the API serves; fewer round trips for the whole catalog. */
+    private readonly pageSize = 500;
     
     private readonly _products = signal<Product[]>([]);
 
     public readonly products = this._products.asReadonly();
 
+    /** Loads the whole catalog, following the X-Next-Cursor of each page until the last one. */
     public get(): Observable<Product[]> {
-        return this.http.get<Product[]>(this.path).pipe(
+        return this.getPage(null).pipe(
+            expand((page) => page.next ? this.getPage(page.next) : EMPTY),
+            reduce((products, page) => products.concat(page.items), [] as Product[]),
             catchError((error) => {
                 return this.http.get<Product[]>("assets/products.json");
             }),
@@ -23,6 +34,16 @@ import { catchError, Observable, of, tap } from "rxjs";
         );
     }
 
+    private getPage(cursor: string | null): Observable<ProductsPage> {
+        let params = new HttpParams().set("size", this.pageSize);
+        if (cursor) {
+            params = params.set("cursor", cursor);
+        }
+        return this.http.get<Product[]>(this.path, { params, observe: "response" }).pipe(
+            map((response) => ({ items: response.body ?? [], next: response.headers.get("X-Next-Cursor") })),
+        );
+    }
+
     public create(product: Product): Observable<boolean> {
         return this.http.post<boolean>(this.path, product).pipe(
             catchError(() => {